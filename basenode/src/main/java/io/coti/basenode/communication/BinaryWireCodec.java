@@ -0,0 +1,357 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.data.*;
+import io.coti.basenode.data.interfaces.IPropagatable;
+import io.coti.basenode.data.interfaces.ITrustScoreNodeValidatable;
+import io.coti.basenode.exceptions.WireCodecException;
+
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+public class BinaryWireCodec {
+
+    public static final byte MAGIC = (byte) 0xC0;
+    public static final int VERSION = 1;
+    private static final int HEADER_LENGTH = 3;
+    private static final int HEARTBEAT_TAG = 1;
+    private static final int ADDRESS_TAG = 2;
+    private static final int TRANSACTION_TAG = 3;
+    private static final int DSP_CONSENSUS_RESULT_TAG = 4;
+    private static final int TRANSACTION_DSP_VOTE_TAG = 5;
+    private static final Map<Class<? extends IPropagatable>, Integer> messageTypeToTagMap = new HashMap<>();
+    private final Map<BaseTransactionName, Constructor<? extends BaseTransactionData>> baseTransactionConstructors = new EnumMap<>(BaseTransactionName.class);
+
+    static {
+        messageTypeToTagMap.put(PublisherHeartBeatData.class, HEARTBEAT_TAG);
+        messageTypeToTagMap.put(AddressData.class, ADDRESS_TAG);
+        messageTypeToTagMap.put(TransactionData.class, TRANSACTION_TAG);
+        messageTypeToTagMap.put(DspConsensusResult.class, DSP_CONSENSUS_RESULT_TAG);
+        messageTypeToTagMap.put(TransactionDspVote.class, TRANSACTION_DSP_VOTE_TAG);
+    }
+
+    public BinaryWireCodec() {
+        for (BaseTransactionName baseTransactionName : BaseTransactionName.values()) {
+            try {
+                Constructor<? extends BaseTransactionData> constructor = baseTransactionName.getBaseTransactionClass().getDeclaredConstructor();
+                constructor.setAccessible(true);
+                baseTransactionConstructors.put(baseTransactionName, constructor);
+            } catch (NoSuchMethodException e) {
+                throw new WireCodecException(String.format("No default constructor for base transaction %s", baseTransactionName), e);
+            }
+        }
+    }
+
+    public static boolean isBinaryMessage(byte[] bytes) {
+        return bytes != null && bytes.length >= HEADER_LENGTH && bytes[0] == MAGIC;
+    }
+
+    public boolean supports(Class<?> messageType) {
+        return messageTypeToTagMap.containsKey(messageType);
+    }
+
+    public byte[] encode(IPropagatable entity) {
+        Integer tag = messageTypeToTagMap.get(entity.getClass());
+        if (tag == null) {
+            throw new WireCodecException(String.format("Message type %s is not supported by binary wire codec", entity.getClass().getSimpleName()));
+        }
+        BinaryWireOutput output = new BinaryWireOutput(tag == TRANSACTION_TAG ? 1024 : 256);
+        output.writeByte(MAGIC);
+        output.writeByte(VERSION);
+        output.writeByte(tag);
+        switch (tag) {
+            case HEARTBEAT_TAG:
+                writeHeartBeat(output, (PublisherHeartBeatData) entity);
+                break;
+            case ADDRESS_TAG:
+                writeAddress(output, (AddressData) entity);
+                break;
+            case TRANSACTION_TAG:
+                writeTransaction(output, (TransactionData) entity);
+                break;
+            case DSP_CONSENSUS_RESULT_TAG:
+                writeDspConsensusResult(output, (DspConsensusResult) entity);
+                break;
+            default:
+                writeTransactionDspVote(output, (TransactionDspVote) entity);
+        }
+        return output.toByteArray();
+    }
+
+    public <T extends IPropagatable> T decode(byte[] bytes) {
+        if (!isBinaryMessage(bytes)) {
+            throw new WireCodecException("Not a binary wire message");
+        }
+        int version = bytes[1] & 0xFF;
+        if (version != VERSION) {
+            throw new WireCodecException(String.format("Unsupported binary wire codec version %d", version));
+        }
+        BinaryWireInput input = new BinaryWireInput(bytes, HEADER_LENGTH);
+        int tag = bytes[2] & 0xFF;
+        IPropagatable entity;
+        switch (tag) {
+            case HEARTBEAT_TAG:
+                entity = readHeartBeat(input);
+                break;
+            case ADDRESS_TAG:
+                entity = readAddress(input);
+                break;
+            case TRANSACTION_TAG:
+                entity = readTransaction(input);
+                break;
+            case DSP_CONSENSUS_RESULT_TAG:
+                entity = readDspConsensusResult(input);
+                break;
+            case TRANSACTION_DSP_VOTE_TAG:
+                entity = readTransactionDspVote(input);
+                break;
+            default:
+                throw new WireCodecException(String.format("Unknown binary wire message type tag %d", tag));
+        }
+        if (!input.isFullyRead()) {
+            throw new WireCodecException("Trailing bytes in binary wire message");
+        }
+        return (T) entity;
+    }
+
+    private void writeHeartBeat(BinaryWireOutput output, PublisherHeartBeatData publisherHeartBeatData) {
+        output.writeInstant(publisherHeartBeatData.getHeartbeatTime());
+        output.writeString(publisherHeartBeatData.getServerAddress());
+    }
+
+    private PublisherHeartBeatData readHeartBeat(BinaryWireInput input) {
+        Instant heartbeatTime = input.readInstant();
+        PublisherHeartBeatData publisherHeartBeatData = new PublisherHeartBeatData(input.readString());
+        publisherHeartBeatData.setHeartbeatTime(heartbeatTime);
+        return publisherHeartBeatData;
+    }
+
+    private void writeAddress(BinaryWireOutput output, AddressData addressData) {
+        output.writeHash(addressData.getHash());
+        output.writeInstant(addressData.getCreationTime());
+    }
+
+    private AddressData readAddress(BinaryWireInput input) {
+        Hash hash = input.readHash();
+        return new AddressData(hash, input.readInstant());
+    }
+
+    private void writeTransaction(BinaryWireOutput output, TransactionData transactionData) {
+        output.writeHash(transactionData.getHash());
+        output.writeBigDecimal(transactionData.getAmount());
+        output.writeEnum(transactionData.getType());
+        output.writeHash(transactionData.getLeftParentHash());
+        output.writeHash(transactionData.getRightParentHash());
+        output.writeBoolean(transactionData.isTrustChainConsensus());
+        output.writeDouble(transactionData.getTrustChainTrustScore());
+        output.writeInstant(transactionData.getTrustChainConsensusTime());
+        output.writeInstant(transactionData.getTransactionConsensusUpdateTime());
+        output.writeInstant(transactionData.getCreateTime());
+        output.writeInstant(transactionData.getAttachmentTime());
+        output.writeDouble(transactionData.getSenderTrustScore());
+        output.writeHash(transactionData.getSenderHash());
+        output.writeSignature(transactionData.getSenderSignature());
+        output.writeHash(transactionData.getNodeHash());
+        output.writeSignature(transactionData.getNodeSignature());
+        output.writeList(transactionData.getChildrenTransactionHashes(), output::writeHash);
+        output.writeNullableBoolean(transactionData.getValid());
+        output.writeBoolean(transactionData.isVisit());
+        output.writeString(transactionData.getTransactionDescription());
+        output.writeBoolean(transactionData.getDspConsensusResult() != null);
+        if (transactionData.getDspConsensusResult() != null) {
+            writeDspConsensusResult(output, transactionData.getDspConsensusResult());
+        }
+        output.writeList(transactionData.getTrustScoreResults(), transactionTrustScoreData -> {
+            output.writeBoolean(transactionTrustScoreData.getTrustScore() != null);
+            if (transactionTrustScoreData.getTrustScore() != null) {
+                output.writeDouble(transactionTrustScoreData.getTrustScore());
+            }
+            output.writeHash(transactionTrustScoreData.getTrustScoreNodeHash());
+            output.writeSignature(transactionTrustScoreData.getTrustScoreNodeSignature());
+        });
+        output.writeIntArray(transactionData.getNonces());
+        output.writeList(transactionData.getBaseTransactions(), baseTransactionData -> writeBaseTransaction(output, baseTransactionData));
+    }
+
+    private TransactionData readTransaction(BinaryWireInput input) {
+        TransactionData transactionData = new TransactionData(null);
+        transactionData.setHash(input.readHash());
+        transactionData.setAmount(input.readBigDecimal());
+        transactionData.setType(input.readEnum(TransactionType.class));
+        transactionData.setLeftParentHash(input.readHash());
+        transactionData.setRightParentHash(input.readHash());
+        transactionData.setTrustChainConsensus(input.readBoolean());
+        transactionData.setTrustChainTrustScore(input.readDouble());
+        transactionData.setTrustChainConsensusTime(input.readInstant());
+        transactionData.setTransactionConsensusUpdateTime(input.readInstant());
+        transactionData.setCreateTime(input.readInstant());
+        transactionData.setAttachmentTime(input.readInstant());
+        transactionData.setSenderTrustScore(input.readDouble());
+        transactionData.setSenderHash(input.readHash());
+        transactionData.setSenderSignature(input.readSignature());
+        transactionData.setNodeHash(input.readHash());
+        transactionData.setNodeSignature(input.readSignature());
+        transactionData.setChildrenTransactionHashes(input.readList(input::readHash));
+        transactionData.setValid(input.readNullableBoolean());
+        transactionData.setVisit(input.readBoolean());
+        transactionData.setTransactionDescription(input.readString());
+        if (input.readBoolean()) {
+            transactionData.setDspConsensusResult(readDspConsensusResult(input));
+        }
+        transactionData.setTrustScoreResults(input.readList(() -> {
+            TransactionTrustScoreData transactionTrustScoreData = new TransactionTrustScoreData(0);
+            transactionTrustScoreData.setTrustScore(input.readBoolean() ? input.readDouble() : null);
+            transactionTrustScoreData.setTrustScoreNodeHash(input.readHash());
+            transactionTrustScoreData.setTrustScoreNodeSignature(input.readSignature());
+            return transactionTrustScoreData;
+        }));
+        transactionData.setNonces(input.readIntArray());
+        transactionData.setBaseTransactions(input.readList(() -> readBaseTransaction(input)));
+        return transactionData;
+    }
+
+    private void writeBaseTransaction(BinaryWireOutput output, BaseTransactionData baseTransactionData) {
+        BaseTransactionName baseTransactionName = BaseTransactionName.getName(baseTransactionData.getClass());
+        if (baseTransactionName == null) {
+            throw new WireCodecException(String.format("Unknown base transaction type %s", baseTransactionData.getClass().getSimpleName()));
+        }
+        output.writeEnum(baseTransactionName);
+        output.writeHash(baseTransactionData.getHash());
+        output.writeHash(baseTransactionData.getAddressHash());
+        output.writeBigDecimal(baseTransactionData.getAmount());
+        output.writeInstant(baseTransactionData.getCreateTime());
+        output.writeSignature(baseTransactionData.getSignatureData());
+        if (baseTransactionData instanceof OutputBaseTransactionData) {
+            output.writeBigDecimal(((OutputBaseTransactionData) baseTransactionData).getOriginalAmount());
+        }
+        if (baseTransactionData instanceof ITrustScoreNodeValidatable) {
+            output.writeList(((ITrustScoreNodeValidatable) baseTransactionData).getTrustScoreNodeResult(), trustScoreNodeResultData -> {
+                output.writeHash(trustScoreNodeResultData.getTrustScoreNodeHash());
+                output.writeSignature(trustScoreNodeResultData.getTrustScoreNodeSignature());
+                output.writeBoolean(trustScoreNodeResultData.isValid());
+            });
+        }
+        if (baseTransactionData instanceof NetworkFeeData) {
+            output.writeBigDecimal(((NetworkFeeData) baseTransactionData).getReducedAmount());
+        } else if (baseTransactionData instanceof RollingReserveData) {
+            output.writeBigDecimal(((RollingReserveData) baseTransactionData).getReducedAmount());
+        } else if (baseTransactionData instanceof ReceiverBaseTransactionData) {
+            output.writeHash(((ReceiverBaseTransactionData) baseTransactionData).getReceiverDescription());
+        } else if (baseTransactionData instanceof PaymentInputBaseTransactionData) {
+            PaymentInputBaseTransactionData paymentInputBaseTransactionData = (PaymentInputBaseTransactionData) baseTransactionData;
+            output.writeList(paymentInputBaseTransactionData.getItems(), paymentItemData -> {
+                output.writeBoolean(paymentItemData.getItemId() != null);
+                if (paymentItemData.getItemId() != null) {
+                    output.writeSignedVarLong(paymentItemData.getItemId());
+                }
+                output.writeBigDecimal(paymentItemData.getItemPrice());
+                output.writeString(paymentItemData.getItemName());
+                output.writeSignedVarLong(paymentItemData.getItemQuantity());
+            });
+            output.writeString(paymentInputBaseTransactionData.getEncryptedMerchantName());
+        }
+    }
+
+    private BaseTransactionData readBaseTransaction(BinaryWireInput input) {
+        BaseTransactionName baseTransactionName = input.readEnum(BaseTransactionName.class);
+        if (baseTransactionName == null) {
+            throw new WireCodecException("Missing base transaction type in binary wire message");
+        }
+        BaseTransactionData baseTransactionData = newBaseTransaction(baseTransactionName);
+        baseTransactionData.setHash(input.readHash());
+        baseTransactionData.setAddressHash(input.readHash());
+        baseTransactionData.setAmount(input.readBigDecimal());
+        baseTransactionData.setCreateTime(input.readInstant());
+        baseTransactionData.setSignatureData(input.readSignature());
+        if (baseTransactionData instanceof OutputBaseTransactionData) {
+            ((OutputBaseTransactionData) baseTransactionData).setOriginalAmount(input.readBigDecimal());
+        }
+        if (baseTransactionData instanceof ITrustScoreNodeValidatable) {
+            ((ITrustScoreNodeValidatable) baseTransactionData).setTrustScoreNodeResult(input.readList(() -> {
+                Hash trustScoreNodeHash = input.readHash();
+                SignatureData trustScoreNodeSignature = input.readSignature();
+                TrustScoreNodeResultData trustScoreNodeResultData = new TrustScoreNodeResultData(trustScoreNodeHash, input.readBoolean());
+                trustScoreNodeResultData.setTrustScoreNodeSignature(trustScoreNodeSignature);
+                return trustScoreNodeResultData;
+            }));
+        }
+        if (baseTransactionData instanceof NetworkFeeData) {
+            ((NetworkFeeData) baseTransactionData).setReducedAmount(input.readBigDecimal());
+        } else if (baseTransactionData instanceof RollingReserveData) {
+            BigDecimal reducedAmount = input.readBigDecimal();
+            if (reducedAmount != null) {
+                ((RollingReserveData) baseTransactionData).setReducedAmount(reducedAmount);
+            }
+        } else if (baseTransactionData instanceof ReceiverBaseTransactionData) {
+            ((ReceiverBaseTransactionData) baseTransactionData).setReceiverDescription(input.readHash());
+        } else if (baseTransactionData instanceof PaymentInputBaseTransactionData) {
+            PaymentInputBaseTransactionData paymentInputBaseTransactionData = (PaymentInputBaseTransactionData) baseTransactionData;
+            paymentInputBaseTransactionData.setItems(input.readList(() -> {
+                PaymentItemData paymentItemData = new PaymentItemData();
+                paymentItemData.setItemId(input.readBoolean() ? input.readSignedVarLong() : null);
+                paymentItemData.setItemPrice(input.readBigDecimal());
+                paymentItemData.setItemName(input.readString());
+                paymentItemData.setItemQuantity((int) input.readSignedVarLong());
+                return paymentItemData;
+            }));
+            paymentInputBaseTransactionData.setEncryptedMerchantName(input.readString());
+        }
+        return baseTransactionData;
+    }
+
+    private BaseTransactionData newBaseTransaction(BaseTransactionName baseTransactionName) {
+        try {
+            return baseTransactionConstructors.get(baseTransactionName).newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new WireCodecException(String.format("Unable to create base transaction %s", baseTransactionName), e);
+        }
+    }
+
+    private void writeDspConsensusResult(BinaryWireOutput output, DspConsensusResult dspConsensusResult) {
+        output.writeHash(dspConsensusResult.getTransactionHash());
+        output.writeHash(dspConsensusResult.getZeroSpendServerHash());
+        output.writeSignedVarLong(dspConsensusResult.getIndex());
+        output.writeInstant(dspConsensusResult.getIndexingTime());
+        output.writeSignature(dspConsensusResult.getZeroSpendSignature());
+        output.writeList(dspConsensusResult.getDspVotes(), dspVote -> {
+            output.writeBoolean(dspVote.isValidTransaction());
+            output.writeHash(dspVote.getVoterDspHash());
+            output.writeSignature(dspVote.getSignature());
+        });
+        output.writeBoolean(dspConsensusResult.isDspConsensus());
+    }
+
+    private DspConsensusResult readDspConsensusResult(BinaryWireInput input) {
+        DspConsensusResult dspConsensusResult = new DspConsensusResult(input.readHash());
+        dspConsensusResult.setZeroSpendServerHash(input.readHash());
+        dspConsensusResult.setIndex(input.readSignedVarLong());
+        dspConsensusResult.setIndexingTime(input.readInstant());
+        dspConsensusResult.setZeroSpendSignature(input.readSignature());
+        dspConsensusResult.setDspVotes(input.readList(() -> {
+            TransactionDspVote transactionDspVote = new TransactionDspVote(null, input.readBoolean());
+            transactionDspVote.setVoterDspHash(input.readHash());
+            transactionDspVote.setSignature(input.readSignature());
+            return new DspVote(transactionDspVote);
+        }));
+        dspConsensusResult.setDspConsensus(input.readBoolean());
+        return dspConsensusResult;
+    }
+
+    private void writeTransactionDspVote(BinaryWireOutput output, TransactionDspVote transactionDspVote) {
+        output.writeHash(transactionDspVote.getTransactionHash());
+        output.writeBoolean(transactionDspVote.isValidTransaction());
+        output.writeHash(transactionDspVote.getVoterDspHash());
+        output.writeSignature(transactionDspVote.getSignature());
+    }
+
+    private TransactionDspVote readTransactionDspVote(BinaryWireInput input) {
+        Hash transactionHash = input.readHash();
+        TransactionDspVote transactionDspVote = new TransactionDspVote(transactionHash, input.readBoolean());
+        transactionDspVote.setVoterDspHash(input.readHash());
+        transactionDspVote.setSignature(input.readSignature());
+        return transactionDspVote;
+    }
+}
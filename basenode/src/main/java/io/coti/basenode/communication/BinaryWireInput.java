@@ -0,0 +1,170 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.SignatureData;
+import io.coti.basenode.exceptions.WireCodecException;
+
+import javax.xml.bind.DatatypeConverter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+public class BinaryWireInput {
+
+    private final byte[] buffer;
+    private int position;
+
+    public BinaryWireInput(byte[] buffer, int position) {
+        this.buffer = buffer;
+        this.position = position;
+    }
+
+    public int readByte() {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    public Boolean readNullableBoolean() {
+        int value = readByte();
+        return value == 0 ? null : value == 2;
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new WireCodecException("Malformed variable length number in binary wire message");
+    }
+
+    public long readSignedVarLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public int readLength() {
+        long length = readVarLong();
+        if (length < 0 || length > buffer.length - position + 1L) {
+            throw new WireCodecException("Invalid length in binary wire message");
+        }
+        return (int) length;
+    }
+
+    public double readDouble() {
+        require(8);
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | (buffer[position++] & 0xFF);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    public byte[] readBytes() {
+        int length = readLength();
+        if (length == 0) {
+            return null;
+        }
+        require(length - 1);
+        byte[] bytes = Arrays.copyOfRange(buffer, position, position + length - 1);
+        position += length - 1;
+        return bytes;
+    }
+
+    public String readString() {
+        byte[] bytes = readBytes();
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public <E extends Enum<E>> E readEnum(Class<E> enumClass) {
+        String name = readString();
+        return name == null ? null : Enum.valueOf(enumClass, name);
+    }
+
+    public Hash readHash() {
+        byte[] bytes = readBytes();
+        return bytes == null ? null : new Hash(bytes);
+    }
+
+    public BigDecimal readBigDecimal() {
+        if (!readBoolean()) {
+            return null;
+        }
+        int scale = (int) readSignedVarLong();
+        byte[] unscaledValue = readBytes();
+        if (unscaledValue == null || unscaledValue.length == 0) {
+            throw new WireCodecException("Invalid decimal in binary wire message");
+        }
+        return new BigDecimal(new BigInteger(unscaledValue), scale);
+    }
+
+    public Instant readInstant() {
+        if (!readBoolean()) {
+            return null;
+        }
+        long epochSecond = readSignedVarLong();
+        return Instant.ofEpochSecond(epochSecond, readVarLong());
+    }
+
+    public SignatureData readSignature() {
+        if (!readBoolean()) {
+            return null;
+        }
+        String r = readHexString();
+        return new SignatureData(r, readHexString());
+    }
+
+    private String readHexString() {
+        if (readByte() == 1) {
+            byte[] bytes = readBytes();
+            return bytes == null ? null : DatatypeConverter.printHexBinary(bytes).toLowerCase();
+        }
+        return readString();
+    }
+
+    public int[] readIntArray() {
+        int length = readLength();
+        if (length == 0) {
+            return null;
+        }
+        int[] values = new int[length - 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (int) readSignedVarLong();
+        }
+        return values;
+    }
+
+    public <T> List<T> readList(Supplier<T> elementReader) {
+        int length = readLength();
+        if (length == 0) {
+            return null;
+        }
+        List<T> values = new ArrayList<>(length - 1);
+        for (int i = 1; i < length; i++) {
+            values.add(elementReader.get());
+        }
+        return values;
+    }
+
+    public boolean isFullyRead() {
+        return position == buffer.length;
+    }
+
+    private void require(int length) {
+        if (length < 0 || position + length > buffer.length) {
+            throw new WireCodecException("Truncated binary wire message");
+        }
+    }
+}
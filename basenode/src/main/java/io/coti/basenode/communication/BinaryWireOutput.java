@@ -0,0 +1,149 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.SignatureData;
+
+import javax.xml.bind.DatatypeConverter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+public class BinaryWireOutput {
+
+    private static final Pattern LOWER_CASE_HEX_PATTERN = Pattern.compile("([0-9a-f]{2})+");
+    private byte[] buffer;
+    private int position;
+
+    public BinaryWireOutput(int initialCapacity) {
+        buffer = new byte[initialCapacity];
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    public void writeNullableBoolean(Boolean value) {
+        writeByte(value == null ? 0 : (value ? 2 : 1));
+    }
+
+    public void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public void writeDouble(double value) {
+        long bits = Double.doubleToLongBits(value);
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (bits >>> shift);
+        }
+    }
+
+    public void writeBytes(byte[] bytes) {
+        if (bytes == null) {
+            writeVarLong(0);
+            return;
+        }
+        writeVarLong(bytes.length + 1L);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    public void writeString(String value) {
+        writeBytes(value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public <E extends Enum<E>> void writeEnum(E value) {
+        writeString(value == null ? null : value.name());
+    }
+
+    public void writeHash(Hash hash) {
+        writeBytes(hash == null ? null : hash.getBytes());
+    }
+
+    public void writeBigDecimal(BigDecimal value) {
+        if (value == null) {
+            writeBoolean(false);
+            return;
+        }
+        writeBoolean(true);
+        writeSignedVarLong(value.scale());
+        writeBytes(value.unscaledValue().toByteArray());
+    }
+
+    public void writeInstant(Instant value) {
+        if (value == null) {
+            writeBoolean(false);
+            return;
+        }
+        writeBoolean(true);
+        writeSignedVarLong(value.getEpochSecond());
+        writeVarLong(value.getNano());
+    }
+
+    public void writeSignature(SignatureData signatureData) {
+        if (signatureData == null) {
+            writeBoolean(false);
+            return;
+        }
+        writeBoolean(true);
+        writeHexString(signatureData.getR());
+        writeHexString(signatureData.getS());
+    }
+
+    private void writeHexString(String value) {
+        if (value != null && LOWER_CASE_HEX_PATTERN.matcher(value).matches()) {
+            writeByte(1);
+            writeBytes(DatatypeConverter.parseHexBinary(value));
+        } else {
+            writeByte(0);
+            writeString(value);
+        }
+    }
+
+    public void writeIntArray(int[] values) {
+        if (values == null) {
+            writeVarLong(0);
+            return;
+        }
+        writeVarLong(values.length + 1L);
+        Arrays.stream(values).forEach(this::writeSignedVarLong);
+    }
+
+    public <T> void writeList(List<T> values, Consumer<T> elementWriter) {
+        if (values == null) {
+            writeVarLong(0);
+            return;
+        }
+        writeVarLong(values.size() + 1L);
+        values.forEach(elementWriter);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void ensureCapacity(int length) {
+        if (position + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.data.Hash;
+
+import java.util.Arrays;
+
+public class PropagationFrameHeader {
+
+    public static final byte MAGIC = (byte) 0xC2;
+    private static final int MAXIMUM_HASH_LENGTH = 255;
+
+    private PropagationFrameHeader() {
+    }
+
+    public static byte[] addHeader(Hash hash, byte[] message) {
+        byte[] hashBytes = hash != null ? hash.getBytes() : null;
+        if (hashBytes == null || hashBytes.length > MAXIMUM_HASH_LENGTH) {
+            return message;
+        }
+        byte[] frame = new byte[2 + hashBytes.length + message.length];
+        frame[0] = MAGIC;
+        frame[1] = (byte) hashBytes.length;
+        System.arraycopy(hashBytes, 0, frame, 2, hashBytes.length);
+        System.arraycopy(message, 0, frame, 2 + hashBytes.length, message.length);
+        return frame;
+    }
+
+    public static boolean hasHeader(byte[] frame) {
+        return frame != null && frame.length >= 2 && frame[0] == MAGIC && frame.length >= 2 + (frame[1] & 0xFF);
+    }
+
+    public static Hash getHash(byte[] frame) {
+        return new Hash(Arrays.copyOfRange(frame, 2, 2 + (frame[1] & 0xFF)));
+    }
+
+    public static byte[] getMessage(byte[] frame) {
+        return Arrays.copyOfRange(frame, 2 + (frame[1] & 0xFF), frame.length);
+    }
+}
@@ -0,0 +1,29 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.data.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public enum PropagationPriority {
+    HIGH,
+    NORMAL,
+    LOW;
+
+    private static final Map<String, PropagationPriority> messageTypeNameToPriorityMap = new HashMap<>();
+
+    static {
+        messageTypeNameToPriorityMap.put(PublisherHeartBeatData.class.getName(), HIGH);
+        messageTypeNameToPriorityMap.put(NetworkData.class.getName(), HIGH);
+        messageTypeNameToPriorityMap.put(TransactionDspVote.class.getName(), HIGH);
+        messageTypeNameToPriorityMap.put(AddressData.class.getName(), LOW);
+    }
+
+    public static PropagationPriority getByMessageType(Class<?> messageType) {
+        return getByMessageTypeName(messageType.getName());
+    }
+
+    public static PropagationPriority getByMessageTypeName(String messageTypeName) {
+        return messageTypeNameToPriorityMap.getOrDefault(messageTypeName, NORMAL);
+    }
+}
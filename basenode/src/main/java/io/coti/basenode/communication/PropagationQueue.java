@@ -0,0 +1,161 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.communication.data.PropagationQueueStatisticsData;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+@Slf4j
+public class PropagationQueue<E> {
+
+    private final String queueName;
+    private final int capacity;
+    private final QueueOverflowPolicy overflowPolicy;
+    private final Function<E, PropagationPriority> priorityResolver;
+    private final List<ArrayDeque<E>> priorityLanes = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private int size;
+    private int highWaterMark;
+    private long enqueuedMessages;
+    private long droppedMessages;
+    private long blockedPuts;
+
+    public PropagationQueue(String queueName, int capacity, QueueOverflowPolicy overflowPolicy, Function<E, PropagationPriority> priorityResolver) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid capacity %d of propagation queue %s", capacity, queueName));
+        }
+        this.queueName = queueName;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.priorityResolver = priorityResolver;
+        for (int i = 0; i < PropagationPriority.values().length; i++) {
+            priorityLanes.add(new ArrayDeque<>());
+        }
+    }
+
+    public boolean put(E element) throws InterruptedException {
+        ArrayDeque<E> priorityLane = priorityLanes.get(priorityResolver.apply(element).ordinal());
+        lock.lockInterruptibly();
+        try {
+            if (priorityLane.size() >= capacity) {
+                switch (overflowPolicy) {
+                    case DROP_NEWEST:
+                        droppedMessages++;
+                        log.debug("Propagation queue {} is full. Newest message is dropped", queueName);
+                        return false;
+                    case DROP_OLDEST:
+                        priorityLane.pollFirst();
+                        size--;
+                        droppedMessages++;
+                        log.debug("Propagation queue {} is full. Oldest message is dropped", queueName);
+                        break;
+                    default:
+                        blockedPuts++;
+                        while (priorityLane.size() >= capacity) {
+                            notFull.await();
+                        }
+                }
+            }
+            priorityLane.addLast(element);
+            size++;
+            enqueuedMessages++;
+            highWaterMark = Math.max(highWaterMark, size);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public E take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private E dequeue() {
+        for (ArrayDeque<E> priorityLane : priorityLanes) {
+            E element = priorityLane.pollFirst();
+            if (element != null) {
+                size--;
+                notFull.signalAll();
+                return element;
+            }
+        }
+        throw new IllegalStateException(String.format("Propagation queue %s size is inconsistent", queueName));
+    }
+
+    public int drainTo(Collection<? super E> collection) {
+        lock.lock();
+        try {
+            int drained = size;
+            priorityLanes.forEach(priorityLane -> {
+                collection.addAll(priorityLane);
+                priorityLane.clear();
+            });
+            size = 0;
+            notFull.signalAll();
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isFull() {
+        lock.lock();
+        try {
+            return priorityLanes.stream().anyMatch(priorityLane -> priorityLane.size() >= capacity);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public PropagationQueueStatisticsData getStatistics() {
+        lock.lock();
+        try {
+            return new PropagationQueueStatisticsData(queueName, size, highWaterMark, enqueuedMessages, droppedMessages, blockedPuts);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.data.Hash;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class PropagationSeenSet {
+
+    private final long window;
+    private final int capacity;
+    private final LinkedHashMap<Hash, Long> hashToSeenTimeMap = new LinkedHashMap<>();
+
+    public PropagationSeenSet(long window, int capacity) {
+        this.window = window;
+        this.capacity = capacity;
+    }
+
+    public synchronized boolean add(Hash hash, long currentTime) {
+        evict(currentTime);
+        if (hashToSeenTimeMap.containsKey(hash)) {
+            return false;
+        }
+        hashToSeenTimeMap.put(hash, currentTime);
+        return true;
+    }
+
+    public synchronized void remove(Hash hash) {
+        hashToSeenTimeMap.remove(hash);
+    }
+
+    private void evict(long currentTime) {
+        Iterator<Map.Entry<Hash, Long>> iterator = hashToSeenTimeMap.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Hash, Long> eldestEntry = iterator.next();
+            if (hashToSeenTimeMap.size() < capacity && currentTime - eldestEntry.getValue() < window) {
+                return;
+            }
+            iterator.remove();
+        }
+    }
+
+    public synchronized int size() {
+        return hashToSeenTimeMap.size();
+    }
+}
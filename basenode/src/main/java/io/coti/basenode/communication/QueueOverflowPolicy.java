@@ -0,0 +1,7 @@
+package io.coti.basenode.communication;
+
+public enum QueueOverflowPolicy {
+    BLOCK,
+    DROP_NEWEST,
+    DROP_OLDEST
+}
@@ -0,0 +1,29 @@
+package io.coti.basenode.communication;
+
+import java.io.*;
+
+public class RecordStreamReader {
+
+    private static final int BUFFER_SIZE = 65536;
+    private final DataInputStream input;
+    private final int maxRecordSize;
+
+    public RecordStreamReader(InputStream inputStream, int maxRecordSize) {
+        input = new DataInputStream(new BufferedInputStream(inputStream, BUFFER_SIZE));
+        this.maxRecordSize = maxRecordSize;
+    }
+
+    public byte[] readRecord() throws IOException {
+        int firstByte = input.read();
+        if (firstByte < 0) {
+            return null;
+        }
+        int recordSize = (firstByte << 24) | (input.readUnsignedByte() << 16) | (input.readUnsignedByte() << 8) | input.readUnsignedByte();
+        if (recordSize < 0 || recordSize > maxRecordSize) {
+            throw new IOException(String.format("Invalid record size %d, maximum record size is %d", recordSize, maxRecordSize));
+        }
+        byte[] record = new byte[recordSize];
+        input.readFully(record);
+        return record;
+    }
+}
@@ -0,0 +1,42 @@
+package io.coti.basenode.communication;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class RecordStreamWriter {
+
+    private static final int BUFFER_SIZE = 65536;
+    private final DataOutputStream output;
+    private final int flushRecords;
+    private final long flushBytes;
+    private int unflushedRecords;
+    private long unflushedBytes;
+
+    public RecordStreamWriter(OutputStream outputStream, int flushRecords, long flushBytes) {
+        output = new DataOutputStream(new BufferedOutputStream(outputStream, BUFFER_SIZE));
+        this.flushRecords = flushRecords;
+        this.flushBytes = flushBytes;
+    }
+
+    public void writeRecord(byte[] record) throws IOException {
+        output.writeInt(record.length);
+        output.write(record);
+        unflushedRecords++;
+        unflushedBytes += record.length;
+        if (unflushedRecords >= flushRecords || unflushedBytes >= flushBytes) {
+            flush();
+        }
+    }
+
+    public void flush() throws IOException {
+        output.flush();
+        unflushedRecords = 0;
+        unflushedBytes = 0;
+    }
+
+    public void close() throws IOException {
+        output.close();
+    }
+}
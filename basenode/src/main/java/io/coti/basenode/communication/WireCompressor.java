@@ -0,0 +1,71 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.exceptions.WireCodecException;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public class WireCompressor {
+
+    public static final byte MAGIC = (byte) 0xC1;
+    private static final int HEADER_LENGTH = 5;
+    private static final int MAXIMUM_DECOMPRESSED_SIZE = 64 * 1024 * 1024;
+    private static final int BUFFER_SIZE = 8192;
+    private final ThreadLocal<Deflater> deflater;
+    private final ThreadLocal<Inflater> inflater = ThreadLocal.withInitial(Inflater::new);
+
+    public WireCompressor(int compressionLevel) {
+        deflater = ThreadLocal.withInitial(() -> new Deflater(compressionLevel));
+    }
+
+    public static boolean isCompressedMessage(byte[] bytes) {
+        return bytes != null && bytes.length >= HEADER_LENGTH && bytes[0] == MAGIC;
+    }
+
+    public byte[] compress(byte[] bytes) {
+        Deflater threadDeflater = deflater.get();
+        threadDeflater.reset();
+        threadDeflater.setInput(bytes);
+        threadDeflater.finish();
+        ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length / 2 + HEADER_LENGTH);
+        output.write(MAGIC);
+        output.write(bytes.length >>> 24);
+        output.write(bytes.length >>> 16);
+        output.write(bytes.length >>> 8);
+        output.write(bytes.length);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        while (!threadDeflater.finished()) {
+            output.write(buffer, 0, threadDeflater.deflate(buffer));
+        }
+        return output.toByteArray();
+    }
+
+    public byte[] decompress(byte[] bytes) {
+        int decompressedSize = ((bytes[1] & 0xFF) << 24) | ((bytes[2] & 0xFF) << 16) | ((bytes[3] & 0xFF) << 8) | (bytes[4] & 0xFF);
+        if (decompressedSize < 0 || decompressedSize > MAXIMUM_DECOMPRESSED_SIZE) {
+            throw new WireCodecException(String.format("Invalid decompressed size %d", decompressedSize));
+        }
+        Inflater threadInflater = inflater.get();
+        threadInflater.reset();
+        threadInflater.setInput(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+        byte[] decompressed = new byte[decompressedSize];
+        try {
+            int offset = 0;
+            while (offset < decompressedSize) {
+                int inflated = threadInflater.inflate(decompressed, offset, decompressedSize - offset);
+                if (inflated == 0 && (threadInflater.finished() || threadInflater.needsInput())) {
+                    break;
+                }
+                offset += inflated;
+            }
+            if (offset != decompressedSize || !threadInflater.finished()) {
+                throw new WireCodecException("Compressed message size mismatch");
+            }
+        } catch (DataFormatException e) {
+            throw new WireCodecException("Invalid compressed message", e);
+        }
+        return decompressed;
+    }
+}
@@ -0,0 +1,149 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.communication.interfaces.ISerializer;
+import io.coti.basenode.data.NetworkData;
+import io.coti.basenode.data.NetworkNodeData;
+import io.coti.basenode.data.WireCodec;
+import io.coti.basenode.data.interfaces.IPropagatable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.stream.Stream;
+
+@Slf4j
+@Primary
+@Service
+public class WireSerializer implements ISerializer {
+
+    private static final List<WireCodec> SUPPORTED_WIRE_CODECS = Collections.unmodifiableList(Arrays.asList(WireCodec.JSON, WireCodec.BINARY, WireCodec.DEFLATE, WireCodec.HASH_HEADER));
+    @Value("${propagation.wire.codec:JSON}")
+    private WireCodec configuredWireCodec;
+    @Value("${propagation.compression.enabled:false}")
+    private boolean compressionEnabled;
+    @Value("${propagation.compression.threshold:1024}")
+    private int compressionThreshold;
+    @Value("${propagation.compression.level:1}")
+    private int compressionLevel;
+    @Value("${propagation.hash.header.enabled:false}")
+    private boolean hashHeaderEnabled;
+    @Autowired
+    private JacksonSerializer jacksonSerializer;
+    private final BinaryWireCodec binaryWireCodec = new BinaryWireCodec();
+    private WireCompressor wireCompressor;
+    private volatile WireCodec activeWireCodec = WireCodec.JSON;
+    private volatile boolean compressionActive;
+    private volatile boolean hashHeaderActive;
+
+    @PostConstruct
+    private void init() {
+        wireCompressor = new WireCompressor(compressionLevel);
+    }
+
+    @Override
+    public byte[] serialize(IPropagatable entity) {
+        byte[] bytes = encode(entity);
+        if (compressionActive && bytes != null && bytes.length >= compressionThreshold) {
+            byte[] compressedBytes = wireCompressor.compress(bytes);
+            if (compressedBytes.length < bytes.length) {
+                return compressedBytes;
+            }
+        }
+        return bytes;
+    }
+
+    private byte[] encode(IPropagatable entity) {
+        if (activeWireCodec == WireCodec.BINARY && binaryWireCodec.supports(entity.getClass())) {
+            try {
+                return binaryWireCodec.encode(entity);
+            } catch (Exception e) {
+                log.error("Error at binary wire serializer, falling back to json", e);
+            }
+        }
+        return jacksonSerializer.serialize(entity);
+    }
+
+    @Override
+    public String serializeAsString(IPropagatable entity) {
+        return jacksonSerializer.serializeAsString(entity);
+    }
+
+    @Override
+    public <T extends IPropagatable> T deserialize(byte[] bytes) {
+        if (PropagationFrameHeader.hasHeader(bytes)) {
+            bytes = PropagationFrameHeader.getMessage(bytes);
+        }
+        if (WireCompressor.isCompressedMessage(bytes)) {
+            try {
+                bytes = wireCompressor.decompress(bytes);
+            } catch (Exception e) {
+                log.error("Error at wire decompression: {}", e.getMessage());
+                return null;
+            }
+        }
+        if (BinaryWireCodec.isBinaryMessage(bytes)) {
+            try {
+                return binaryWireCodec.decode(bytes);
+            } catch (Exception e) {
+                log.error("Error at binary wire deserializer: {}", e.getMessage());
+                return null;
+            }
+        }
+        return jacksonSerializer.deserialize(bytes);
+    }
+
+    @Override
+    public <T extends IPropagatable> T deserialize(String string) {
+        return jacksonSerializer.deserialize(string);
+    }
+
+    public List<WireCodec> getSupportedWireCodecs() {
+        return SUPPORTED_WIRE_CODECS;
+    }
+
+    public WireCodec getActiveWireCodec() {
+        return activeWireCodec;
+    }
+
+    public void updateActiveWireCodec(NetworkData networkData) {
+        WireCodec wireCodec = WireCodec.JSON;
+        if (configuredWireCodec == WireCodec.BINARY && isSupportedByAllNodes(networkData, WireCodec.BINARY)) {
+            wireCodec = WireCodec.BINARY;
+        }
+        if (wireCodec != activeWireCodec) {
+            log.info("Outbound wire codec changed from {} to {}", activeWireCodec, wireCodec);
+            activeWireCodec = wireCodec;
+        }
+        boolean compression = compressionEnabled && isSupportedByAllNodes(networkData, WireCodec.DEFLATE);
+        if (compression != compressionActive) {
+            log.info("Outbound wire compression is {}", compression ? "active" : "inactive");
+            compressionActive = compression;
+        }
+        boolean hashHeader = hashHeaderEnabled && isSupportedByAllNodes(networkData, WireCodec.HASH_HEADER);
+        if (hashHeader != hashHeaderActive) {
+            log.info("Outbound propagation hash header is {}", hashHeader ? "active" : "inactive");
+            hashHeaderActive = hashHeader;
+        }
+    }
+
+    public boolean isHashHeaderActive() {
+        return hashHeaderActive;
+    }
+
+    private boolean isSupportedByAllNodes(NetworkData networkData, WireCodec wireCodec) {
+        return getNetworkNodes(networkData).allMatch(networkNodeData ->
+                networkNodeData.getWireCodecs() != null && networkNodeData.getWireCodecs().contains(wireCodec));
+    }
+
+    private Stream<NetworkNodeData> getNetworkNodes(NetworkData networkData) {
+        Stream<NetworkNodeData> multipleNodes = networkData.getMultipleNodeMaps() == null ? Stream.empty() :
+                networkData.getMultipleNodeMaps().values().stream().filter(Objects::nonNull).flatMap(nodeMap -> nodeMap.values().stream());
+        Stream<NetworkNodeData> singleNodes = networkData.getSingleNodeNetworkDataMap() == null ? Stream.empty() :
+                networkData.getSingleNodeNetworkDataMap().values().stream().filter(Objects::nonNull);
+        return Stream.concat(multipleNodes, singleNodes);
+    }
+}
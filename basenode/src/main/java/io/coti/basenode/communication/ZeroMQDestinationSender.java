@@ -0,0 +1,119 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.communication.data.ZeroMQSenderMessageData;
+import io.coti.basenode.communication.data.ZeroMQSenderStatisticsData;
+import io.coti.basenode.data.interfaces.IPropagatable;
+import lombok.extern.slf4j.Slf4j;
+import org.zeromq.SocketType;
+import org.zeromq.ZMQ;
+import org.zeromq.ZMQException;
+
+import java.util.LinkedList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+@Slf4j
+public class ZeroMQDestinationSender {
+
+    private static final long POLL_TIMEOUT = 100;
+    private final String receivingAddress;
+    private final BlockingQueue<ZeroMQSenderMessageData> messageQueue;
+    private final int sendTimeout;
+    private final BiConsumer<String, IPropagatable> sendFailureHandler;
+    private final AtomicLong sentMessages = new AtomicLong(0);
+    private final AtomicLong failedMessages = new AtomicLong(0);
+    private final AtomicLong droppedMessages = new AtomicLong(0);
+    private volatile boolean running;
+    private Thread senderThread;
+
+    public ZeroMQDestinationSender(String receivingAddress, int queueSize, int sendTimeout, BiConsumer<String, IPropagatable> sendFailureHandler) {
+        this.receivingAddress = receivingAddress;
+        this.messageQueue = new ArrayBlockingQueue<>(queueSize);
+        this.sendTimeout = sendTimeout;
+        this.sendFailureHandler = sendFailureHandler;
+    }
+
+    public void start(ZMQ.Context zeroMQContext) {
+        running = true;
+        senderThread = new Thread(() -> sendMessagesTask(zeroMQContext), "ZeroMQ Sender " + receivingAddress);
+        senderThread.start();
+    }
+
+    public void send(IPropagatable entity, byte[] message) {
+        if (!running || !messageQueue.offer(new ZeroMQSenderMessageData(entity, message))) {
+            droppedMessages.incrementAndGet();
+            log.error("Message {} of type {} to {} is dropped", entity.getHash(), entity.getClass().getSimpleName(), receivingAddress);
+            handleSendFailure(entity);
+        }
+    }
+
+    private void sendMessagesTask(ZMQ.Context zeroMQContext) {
+        ZMQ.Socket sender = zeroMQContext.socket(SocketType.DEALER);
+        sender.setSendTimeOut(sendTimeout);
+        sender.setLinger(0);
+        ZeroMQUtils.bindToRandomPort(sender);
+        sender.connect(receivingAddress);
+        while (running) {
+            try {
+                ZeroMQSenderMessageData messageData = messageQueue.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+                if (messageData != null) {
+                    sendMessage(sender, messageData);
+                }
+            } catch (InterruptedException e) {
+                running = false;
+                Thread.currentThread().interrupt();
+            }
+        }
+        sender.close();
+        LinkedList<ZeroMQSenderMessageData> remainingMessages = new LinkedList<>();
+        messageQueue.drainTo(remainingMessages);
+        if (!remainingMessages.isEmpty()) {
+            log.info("{} unsent messages to {} are dropped", remainingMessages.size(), receivingAddress);
+            remainingMessages.forEach(messageData -> {
+                droppedMessages.incrementAndGet();
+                handleSendFailure(messageData.getEntity());
+            });
+        }
+    }
+
+    private void sendMessage(ZMQ.Socket sender, ZeroMQSenderMessageData messageData) {
+        IPropagatable entity = messageData.getEntity();
+        try {
+            if (sender.sendMore(entity.getClass().getName()) && sender.send(messageData.getMessage())) {
+                sentMessages.incrementAndGet();
+                log.debug("Message {} was sent to {}", entity.getHash(), receivingAddress);
+                return;
+            }
+            log.error("Send timeout of message {} of type {} to {}", entity.getHash(), entity.getClass().getSimpleName(), receivingAddress);
+        } catch (ZMQException e) {
+            log.error("Exception in sending to {}", receivingAddress, e);
+        }
+        failedMessages.incrementAndGet();
+        handleSendFailure(entity);
+    }
+
+    private void handleSendFailure(IPropagatable entity) {
+        try {
+            sendFailureHandler.accept(receivingAddress, entity);
+        } catch (Exception e) {
+            log.error("Send failure handler error for {}", receivingAddress, e);
+        }
+    }
+
+    public void stop() {
+        running = false;
+        try {
+            senderThread.join();
+        } catch (InterruptedException e) {
+            log.error("Interrupted stopping sender to {}", receivingAddress);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public ZeroMQSenderStatisticsData getStatistics() {
+        return new ZeroMQSenderStatisticsData(receivingAddress, messageQueue.size(), sentMessages.get(), failedMessages.get(), droppedMessages.get());
+    }
+}
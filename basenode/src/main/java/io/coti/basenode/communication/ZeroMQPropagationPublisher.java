@@ -1,6 +1,8 @@
 package io.coti.basenode.communication;
 
-import io.coti.basenode.communication.data.ZeroMQMessageData;
+import io.coti.basenode.communication.data.PropagationQueueStatisticsData;
+import io.coti.basenode.communication.data.ZeroMQMessageBatchData;
+import io.coti.basenode.communication.data.ZeroMQPublisherMessageData;
 import io.coti.basenode.communication.interfaces.IPropagationPublisher;
 import io.coti.basenode.communication.interfaces.ISerializer;
 import io.coti.basenode.data.NodeType;
@@ -15,10 +17,9 @@ import org.zeromq.SocketType;
 import org.zeromq.ZMQ;
 import org.zeromq.ZMQException;
 
-import java.util.LinkedList;
-import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
@@ -33,15 +34,35 @@ public class ZeroMQPropagationPublisher implements IPropagationPublisher {
     @Value("${server.ip}")
     private String publisherIp;
     private Thread publishMessageThread;
-    private BlockingQueue<ZeroMQMessageData> publishMessageQueue;
+    @Value("${propagation.publisher.queue.size:10000}")
+    private int publisherQueueSize;
+    @Value("${propagation.publisher.queue.overflow.policy:BLOCK}")
+    private QueueOverflowPolicy publisherQueueOverflowPolicy;
+    @Value("${propagation.publisher.batch.enabled:false}")
+    private boolean batchEnabled;
+    @Value("${propagation.publisher.batch.window:5}")
+    private long batchWindow;
+    @Value("${propagation.publisher.batch.max.messages:100}")
+    private int batchMaxMessages;
+    @Value("${propagation.publisher.batch.max.bytes:1048576}")
+    private long batchMaxBytes;
+    private PropagationQueue<ZeroMQPublisherMessageData> publishMessageQueue;
+    private String serverAddress;
+    private byte[] heartBeatChannel;
+    private final Map<Class<?>, Map<NodeType, byte[]>> messageTypeToChannelsMap = new ConcurrentHashMap<>();
     private boolean contextTerminated;
     @Autowired
     private ISerializer serializer;
+    @Autowired
+    private WireSerializer wireSerializer;
 
     public void init(String propagationPort, NodeType publisherNodeType) {
-        publishMessageQueue = new LinkedBlockingQueue<>();
+        publishMessageQueue = new PropagationQueue<>("PUBLISHER", publisherQueueSize, publisherQueueOverflowPolicy,
+                zeroMQPublisherMessageData -> PropagationPriority.getByMessageType(zeroMQPublisherMessageData.getMessageType()));
         this.publisherNodeType = publisherNodeType;
         this.propagationPort = propagationPort;
+        serverAddress = "tcp://" + publisherIp + ":" + propagationPort;
+        heartBeatChannel = Channel.getChannelString(PublisherHeartBeatData.class, serverAddress).getBytes();
         init();
         contextTerminated = false;
         log.info("ZeroMQ Publisher is up");
@@ -56,27 +77,37 @@ public class ZeroMQPropagationPublisher implements IPropagationPublisher {
     }
 
     public <T extends IPropagatable> void propagate(T toPropagate, List<NodeType> subscriberNodeTypes) {
-
-        subscriberNodeTypes.forEach(subscriberNodeType -> propagateToNode(toPropagate, subscriberNodeType));
-
+        if (subscriberNodeTypes.isEmpty()) {
+            return;
+        }
+        log.debug("Propagating {} of type {} to {}", toPropagate.getHash(), toPropagate.getClass().getSimpleName(), subscriberNodeTypes);
+        Map<NodeType, byte[]> subscriberNodeTypeToChannelMap = messageTypeToChannelsMap.computeIfAbsent(toPropagate.getClass(), messageType -> new ConcurrentHashMap<>());
+        List<byte[]> channels = new ArrayList<>(subscriberNodeTypes.size());
+        subscriberNodeTypes.forEach(subscriberNodeType -> channels.add(subscriberNodeTypeToChannelMap.computeIfAbsent(subscriberNodeType,
+                nodeType -> Channel.getChannelString(toPropagate.getClass(), serverAddress, publisherNodeType, nodeType).getBytes())));
+        byte[] message = serializer.serialize(toPropagate);
+        if (wireSerializer.isHashHeaderActive()) {
+            message = PropagationFrameHeader.addHeader(toPropagate.getHash(), message);
+        }
+        addToPublishMessageQueue(new ZeroMQPublisherMessageData(toPropagate.getClass(), channels, message));
     }
 
-    private <T extends IPropagatable> void propagateToNode(T toPropagate, NodeType subscriberNodeType) {
-        String serverAddress = "tcp://" + publisherIp + ":" + propagationPort;
-        log.debug("Propagating {} to {}", toPropagate.getHash(), Channel.getChannelString(toPropagate.getClass(), serverAddress, publisherNodeType, subscriberNodeType));
-        byte[] message = serializer.serialize(toPropagate);
-        if (!zeroMQContext.isClosed()) {
-            publishMessageQueue.add(new ZeroMQMessageData(Channel.getChannelString(toPropagate.getClass(), serverAddress, publisherNodeType, subscriberNodeType), message));
+    private void addToPublishMessageQueue(ZeroMQPublisherMessageData messageData) {
+        if (zeroMQContext.isClosed()) {
+            return;
+        }
+        try {
+            publishMessageQueue.put(messageData);
+        } catch (InterruptedException e) {
+            log.error("Interrupted adding {} to publisher queue", messageData.getMessageType().getSimpleName());
+            Thread.currentThread().interrupt();
         }
     }
 
     @Scheduled(initialDelay = INITIAL_DELAY, fixedDelay = HEARTBEAT_INTERVAL)
     public void propagateHeartBeatMessage() {
         if (propagator != null) {
-            String serverAddress = "tcp://" + publisherIp + ":" + propagationPort;
-            if (!zeroMQContext.isClosed()) {
-                publishMessageQueue.add(new ZeroMQMessageData(Channel.getChannelString(PublisherHeartBeatData.class, serverAddress), serializer.serialize(new PublisherHeartBeatData(serverAddress))));
-            }
+            addToPublishMessageQueue(new ZeroMQPublisherMessageData(PublisherHeartBeatData.class, Collections.singletonList(heartBeatChannel), serializer.serialize(new PublisherHeartBeatData(serverAddress))));
         }
     }
 
@@ -85,8 +116,12 @@ public class ZeroMQPropagationPublisher implements IPropagationPublisher {
         publishMessageThread = new Thread(() -> {
             while (!contextTerminated && !Thread.currentThread().isInterrupted()) {
                 try {
-                    ZeroMQMessageData messageData = publishMessageQueue.take();
-                    publish(messageData);
+                    ZeroMQPublisherMessageData messageData = publishMessageQueue.take();
+                    if (batchEnabled) {
+                        publishBatches(messageData);
+                    } else {
+                        publish(messageData);
+                    }
                 } catch (InterruptedException e) {
                     log.info("Publisher thread interrupted");
                     Thread.currentThread().interrupt();
@@ -104,13 +139,68 @@ public class ZeroMQPropagationPublisher implements IPropagationPublisher {
         publishMessageThread.start();
     }
 
-    private void publish(ZeroMQMessageData messageData) {
-        propagator.sendMore(messageData.getChannel().getBytes());
-        propagator.send(messageData.getMessage());
+    private void publish(ZeroMQPublisherMessageData messageData) {
+        byte[] message = messageData.getMessage();
+        messageData.getChannels().forEach(channel -> {
+            propagator.sendMore(channel);
+            propagator.send(message);
+        });
+    }
+
+    private void publishBatches(ZeroMQPublisherMessageData firstMessageData) throws InterruptedException {
+        Map<byte[], ZeroMQMessageBatchData> channelToBatchMap = new LinkedHashMap<>();
+        addToBatches(channelToBatchMap, firstMessageData);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchWindow);
+        try {
+            long remainingTime;
+            while ((remainingTime = deadline - System.nanoTime()) > 0) {
+                ZeroMQPublisherMessageData messageData = publishMessageQueue.poll(remainingTime, TimeUnit.NANOSECONDS);
+                if (messageData == null) {
+                    break;
+                }
+                addToBatches(channelToBatchMap, messageData);
+            }
+        } finally {
+            publishBatches(channelToBatchMap);
+        }
+    }
+
+    private void publishBatches(Map<byte[], ZeroMQMessageBatchData> channelToBatchMap) {
+        channelToBatchMap.forEach(this::publishBatch);
+        channelToBatchMap.clear();
+    }
+
+    private void addToBatches(Map<byte[], ZeroMQMessageBatchData> channelToBatchMap, ZeroMQPublisherMessageData messageData) {
+        if (!isBatchedChannels(channelToBatchMap, messageData.getChannels())) {
+            publishBatches(channelToBatchMap);
+        }
+        byte[] message = messageData.getMessage();
+        boolean batchFull = false;
+        for (byte[] channel : messageData.getChannels()) {
+            ZeroMQMessageBatchData messageBatchData = channelToBatchMap.computeIfAbsent(channel, batchChannel -> new ZeroMQMessageBatchData());
+            messageBatchData.addMessage(message);
+            batchFull |= messageBatchData.getMessages().size() >= batchMaxMessages || messageBatchData.getBatchBytes() >= batchMaxBytes;
+        }
+        if (batchFull) {
+            publishBatches(channelToBatchMap);
+        }
+    }
+
+    private boolean isBatchedChannels(Map<byte[], ZeroMQMessageBatchData> channelToBatchMap, List<byte[]> channels) {
+        return channelToBatchMap.isEmpty() || (channelToBatchMap.size() == channels.size() && channelToBatchMap.keySet().containsAll(channels));
+    }
+
+    private void publishBatch(byte[] channel, ZeroMQMessageBatchData messageBatchData) {
+        List<byte[]> messages = messageBatchData.getMessages();
+        propagator.sendMore(channel);
+        for (int i = 0; i < messages.size() - 1; i++) {
+            propagator.sendMore(messages.get(i));
+        }
+        propagator.send(messages.get(messages.size() - 1));
     }
 
     private void publishRemainingMessages() {
-        LinkedList<ZeroMQMessageData> remainingMessages = new LinkedList<>();
+        LinkedList<ZeroMQPublisherMessageData> remainingMessages = new LinkedList<>();
         publishMessageQueue.drainTo(remainingMessages);
         if (!remainingMessages.isEmpty()) {
             log.info("Please wait to publish {} remaining messages", remainingMessages.size());
@@ -118,6 +208,11 @@ public class ZeroMQPropagationPublisher implements IPropagationPublisher {
         }
     }
 
+    @Override
+    public PropagationQueueStatisticsData getQueueStatistics() {
+        return publishMessageQueue != null ? publishMessageQueue.getStatistics() : null;
+    }
+
     public void shutdown() {
         if (propagator != null) {
             log.info("Shutting down {}", this.getClass().getSimpleName());
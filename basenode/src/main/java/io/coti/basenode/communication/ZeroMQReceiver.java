@@ -1,42 +1,60 @@
 package io.coti.basenode.communication;
 
-import io.coti.basenode.communication.data.ZeroMQMessageData;
+import io.coti.basenode.communication.data.PropagationQueueStatisticsData;
 import io.coti.basenode.communication.interfaces.IReceiver;
 import io.coti.basenode.communication.interfaces.ISerializer;
+import io.coti.basenode.data.interfaces.IPropagatable;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 import org.zeromq.SocketType;
 import org.zeromq.ZMQ;
 import org.zeromq.ZMQException;
 
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 @Slf4j
 @Service
 public class ZeroMQReceiver implements IReceiver {
 
-    private HashMap<String, Consumer<Object>> classNameToHandlerMapping;
+    private static final String WORKERS_PROPERTY_PREFIX = "propagation.receiver.workers";
+    private final Map<String, ZeroMQReceiverWorkerPool> classNameToWorkerPoolMap = new HashMap<>();
     private ZMQ.Context zeroMQContext;
     private ZMQ.Socket receiver;
-    private BlockingQueue<ZeroMQMessageData> messageQueue;
+    @Value("${propagation.receiver.queue.size:10000}")
+    private int receiverQueueSize;
+    @Value("${propagation.receiver.queue.overflow.policy:BLOCK}")
+    private QueueOverflowPolicy receiverQueueOverflowPolicy;
     private Thread receiverThread;
-    private Thread messagesQueueHandlerThread;
     @Autowired
     private ISerializer serializer;
+    @Autowired
+    private Environment environment;
 
     @Override
     public void init(String receivingPort, HashMap<String, Consumer<Object>> classNameToHandlerMapping) {
-        this.classNameToHandlerMapping = classNameToHandlerMapping;
+        classNameToHandlerMapping.forEach((className, handler) ->
+                classNameToWorkerPoolMap.put(className, new ZeroMQReceiverWorkerPool(className, handler, this::getOrderingKey,
+                        getWorkers(className), receiverQueueSize, receiverQueueOverflowPolicy)));
         zeroMQContext = ZMQ.context(1);
         receiver = zeroMQContext.socket(SocketType.ROUTER);
         receiver.bind("tcp://*:" + receivingPort);
         log.info("Zero MQ Client Connected!");
-        messageQueue = new LinkedBlockingQueue<>();
+    }
+
+    private int getWorkers(String className) {
+        Integer workers = environment.getProperty(WORKERS_PROPERTY_PREFIX + "." + className.substring(className.lastIndexOf('.') + 1), Integer.class);
+        return workers != null ? workers : environment.getProperty(WORKERS_PROPERTY_PREFIX, Integer.class, 1);
+    }
+
+    private Object getOrderingKey(Object message) {
+        return message instanceof IPropagatable ? ((IPropagatable) message).getHash() : null;
     }
 
     @Override
@@ -46,9 +64,10 @@ public class ZeroMQReceiver implements IReceiver {
             while (!contextTerminated && !Thread.currentThread().isInterrupted()) {
                 try {
                     String classType = receiver.recvStr();
-                    if (classNameToHandlerMapping.containsKey(classType)) {
+                    ZeroMQReceiverWorkerPool workerPool = classNameToWorkerPoolMap.get(classType);
+                    if (workerPool != null) {
                         byte[] message = receiver.recv();
-                        messageQueue.put(new ZeroMQMessageData(classType, message));
+                        workerPool.put(serializer.deserialize(message));
                     }
                 } catch (InterruptedException e) {
                     log.info("ZMQ receiver interrupted");
@@ -70,40 +89,14 @@ public class ZeroMQReceiver implements IReceiver {
 
     @Override
     public void initReceiverHandler() {
-        messagesQueueHandlerThread = new Thread(this::handleMessagesQueueTask);
-        messagesQueueHandlerThread.start();
+        classNameToWorkerPoolMap.values().forEach(ZeroMQReceiverWorkerPool::start);
     }
 
-    private void handleMessagesQueueTask() {
-        while (!Thread.currentThread().isInterrupted()) {
-            try {
-                ZeroMQMessageData zeroMQMessageData = messageQueue.take();
-                Consumer<Object> consumer = classNameToHandlerMapping.get(zeroMQMessageData.getChannel());
-                if (consumer != null) {
-                    consumer.accept(serializer.deserialize(zeroMQMessageData.getMessage()));
-                }
-            } catch (InterruptedException e) {
-                log.info("ZMQ receiver message handler interrupted");
-                Thread.currentThread().interrupt();
-            } catch (Exception e) {
-                log.error("ZMQ receiver message handler task error", e);
-            }
-        }
-        LinkedList<ZeroMQMessageData> remainingMessages = new LinkedList<>();
-        messageQueue.drainTo(remainingMessages);
-        if (!remainingMessages.isEmpty()) {
-            log.info("Please wait to process {} remaining messages", remainingMessages.size());
-            remainingMessages.forEach(zeroMQMessageData -> {
-                try {
-                    Consumer<Object> consumer = classNameToHandlerMapping.get(zeroMQMessageData.getChannel());
-                    if (consumer != null) {
-                        consumer.accept(serializer.deserialize(zeroMQMessageData.getMessage()));
-                    }
-                } catch (Exception e) {
-                    log.error("ZMQ receiver message handler task error", e);
-                }
-            });
-        }
+    @Override
+    public List<PropagationQueueStatisticsData> getQueueStatistics() {
+        List<PropagationQueueStatisticsData> queueStatistics = new ArrayList<>();
+        classNameToWorkerPoolMap.values().forEach(workerPool -> queueStatistics.addAll(workerPool.getQueueStatistics()));
+        return queueStatistics;
     }
 
     @Override
@@ -114,8 +107,9 @@ public class ZeroMQReceiver implements IReceiver {
                 zeroMQContext.term();
                 receiverThread.interrupt();
                 receiverThread.join();
-                messagesQueueHandlerThread.interrupt();
-                messagesQueueHandlerThread.join();
+                for (ZeroMQReceiverWorkerPool workerPool : classNameToWorkerPoolMap.values()) {
+                    workerPool.shutdown();
+                }
             }
         } catch (InterruptedException e) {
             log.error("Interrupted shutdown ZeroMQ receiver");
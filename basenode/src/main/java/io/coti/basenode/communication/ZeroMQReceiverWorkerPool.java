@@ -0,0 +1,87 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.communication.data.PropagationQueueStatisticsData;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@Slf4j
+public class ZeroMQReceiverWorkerPool {
+
+    private final String messageTypeName;
+    private final Consumer<Object> handler;
+    private final Function<Object, Object> orderingKeyResolver;
+    private final List<PropagationQueue<Object>> workerQueues = new ArrayList<>();
+    private final List<Thread> workerThreads = new ArrayList<>();
+    private final AtomicInteger nextWorker = new AtomicInteger();
+
+    public ZeroMQReceiverWorkerPool(String className, Consumer<Object> handler, Function<Object, Object> orderingKeyResolver,
+                                    int parallelism, int queueSize, QueueOverflowPolicy overflowPolicy) {
+        messageTypeName = className.substring(className.lastIndexOf('.') + 1);
+        this.handler = handler;
+        this.orderingKeyResolver = orderingKeyResolver;
+        PropagationPriority priority = PropagationPriority.getByMessageTypeName(className);
+        for (int i = 0; i < Math.max(parallelism, 1); i++) {
+            PropagationQueue<Object> workerQueue = new PropagationQueue<>("RECEIVER " + messageTypeName + "-" + i, queueSize, overflowPolicy, message -> priority);
+            workerQueues.add(workerQueue);
+            workerThreads.add(new Thread(() -> handleWorkerQueueTask(workerQueue), "ZeroMQ Receiver " + messageTypeName + "-" + i));
+        }
+    }
+
+    public void start() {
+        workerThreads.forEach(Thread::start);
+    }
+
+    public void put(Object message) throws InterruptedException {
+        Object orderingKey = orderingKeyResolver.apply(message);
+        int workerIndex = orderingKey != null ? Math.floorMod(orderingKey.hashCode(), workerQueues.size()) : Math.floorMod(nextWorker.getAndIncrement(), workerQueues.size());
+        workerQueues.get(workerIndex).put(message);
+    }
+
+    private void handleWorkerQueueTask(PropagationQueue<Object> workerQueue) {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                handler.accept(workerQueue.take());
+            } catch (InterruptedException e) {
+                log.info("ZMQ receiver {} worker interrupted", messageTypeName);
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("ZMQ receiver {} worker task error", messageTypeName, e);
+            }
+        }
+        LinkedList<Object> remainingMessages = new LinkedList<>();
+        workerQueue.drainTo(remainingMessages);
+        if (!remainingMessages.isEmpty()) {
+            log.info("Please wait to process {} remaining {} messages", remainingMessages.size(), messageTypeName);
+            remainingMessages.forEach(message -> {
+                try {
+                    handler.accept(message);
+                } catch (Exception e) {
+                    log.error("ZMQ receiver {} worker task error", messageTypeName, e);
+                }
+            });
+        }
+    }
+
+    public List<PropagationQueueStatisticsData> getQueueStatistics() {
+        List<PropagationQueueStatisticsData> queueStatistics = new ArrayList<>();
+        workerQueues.forEach(workerQueue -> queueStatistics.add(workerQueue.getStatistics()));
+        return queueStatistics;
+    }
+
+    public void shutdown() throws InterruptedException {
+        for (Thread workerThread : workerThreads) {
+            workerThread.interrupt();
+        }
+        for (Thread workerThread : workerThreads) {
+            if (workerThread.isAlive()) {
+                workerThread.join();
+            }
+        }
+    }
+}
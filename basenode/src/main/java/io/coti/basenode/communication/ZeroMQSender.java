@@ -1,76 +1,91 @@
 package io.coti.basenode.communication;
 
+import io.coti.basenode.communication.data.ZeroMQSenderStatisticsData;
 import io.coti.basenode.communication.interfaces.ISender;
 import io.coti.basenode.communication.interfaces.ISerializer;
 import io.coti.basenode.data.NodeType;
 import io.coti.basenode.data.interfaces.IPropagatable;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.zeromq.SocketType;
 import org.zeromq.ZMQ;
-import org.zeromq.ZMQException;
 
 import javax.annotation.PostConstruct;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class ZeroMQSender implements ISender {
 
     private ZMQ.Context zeroMQContext;
-    private Map<String, ZMQ.Socket> receivingAddressToSenderSocketMapping;
-
+    private Map<String, ZeroMQDestinationSender> receivingAddressToDestinationSenderMapping;
+    @Value("${propagation.sender.queue.size:10000}")
+    private int senderQueueSize;
+    @Value("${propagation.sender.send.timeout:1000}")
+    private int sendTimeout;
     @Autowired
     private ISerializer serializer;
 
     @PostConstruct
     private void init() {
         zeroMQContext = ZMQ.context(1);
-        receivingAddressToSenderSocketMapping = new ConcurrentHashMap<>();
+        receivingAddressToDestinationSenderMapping = new ConcurrentHashMap<>();
     }
 
     @Override
     public void connectToNode(String receivingServerAddress) {
-        initializeSenderSocket(receivingServerAddress);
+        connectToNode(receivingServerAddress, (receivingAddress, entity) ->
+                log.warn("Failed to send {} of type {} to {}", entity.getHash(), entity.getClass().getSimpleName(), receivingAddress));
+    }
+
+    @Override
+    public void connectToNode(String receivingServerAddress, BiConsumer<String, IPropagatable> sendFailureHandler) {
+        receivingAddressToDestinationSenderMapping.computeIfAbsent(receivingServerAddress, receivingAddress -> {
+            ZeroMQDestinationSender destinationSender = new ZeroMQDestinationSender(receivingAddress, senderQueueSize, sendTimeout, sendFailureHandler);
+            destinationSender.start(zeroMQContext);
+            log.debug("Sender to {} is started", receivingAddress);
+            return destinationSender;
+        });
     }
 
     @Override
     public <T extends IPropagatable> void send(T toSend, String address) {
-        byte[] message = serializer.serialize(toSend);
-        synchronized (zeroMQContext) {
-            try {
-                receivingAddressToSenderSocketMapping.get(address).sendMore(toSend.getClass().getName());
-                receivingAddressToSenderSocketMapping.get(address).send(message);
-                log.debug("Message {} was sent to {}", toSend, toSend.getClass().getName());
-            } catch (ZMQException exception) {
-                log.error("Exception in sending", exception);
-            }
+        ZeroMQDestinationSender destinationSender = receivingAddressToDestinationSenderMapping.get(address);
+        if (destinationSender == null) {
+            log.error("Message {} of type {} can not be sent. No sender to {}", toSend.getHash(), toSend.getClass().getSimpleName(), address);
+            return;
         }
+        destinationSender.send(toSend, serializer.serialize(toSend));
     }
 
     @Override
     public void disconnectFromNode(String receivingFullAddress, NodeType nodeType) {
-        ZMQ.Socket sender = receivingAddressToSenderSocketMapping.get(receivingFullAddress);
-        if (sender != null) {
+        ZeroMQDestinationSender destinationSender = receivingAddressToDestinationSenderMapping.remove(receivingFullAddress);
+        if (destinationSender != null) {
             log.debug("{} with address  {} is about to be removed from sending to zmq", nodeType, receivingFullAddress);
-            if (!sender.disconnect(receivingFullAddress)) {
-                log.error("{} with address  {} sender failed to be removed from zmq", nodeType, receivingFullAddress);
-            }
-            receivingAddressToSenderSocketMapping.remove(receivingFullAddress);
+            destinationSender.stop();
         } else {
-            log.error("{} with address  {} was about to be removed but doesn't exit in receivingAddressToSenderSocketMapping ",
+            log.error("{} with address  {} was about to be removed but doesn't exit in receivingAddressToDestinationSenderMapping ",
                     nodeType, receivingFullAddress);
         }
 
     }
 
-    private void initializeSenderSocket(String addressAndPort) {
-        ZMQ.Socket sender = zeroMQContext.socket(SocketType.DEALER);
-        ZeroMQUtils.bindToRandomPort(sender);
-        sender.connect(addressAndPort);
-        receivingAddressToSenderSocketMapping.putIfAbsent(addressAndPort, sender);
-        log.debug("Receiver  {} is about to be removed from sending to zmq", addressAndPort);
+    @Override
+    public List<ZeroMQSenderStatisticsData> getSenderStatistics() {
+        return receivingAddressToDestinationSenderMapping.values().stream().map(ZeroMQDestinationSender::getStatistics).collect(Collectors.toList());
+    }
+
+    @Override
+    public void shutdown() {
+        log.info("Shutting down {}", this.getClass().getSimpleName());
+        receivingAddressToDestinationSenderMapping.values().forEach(ZeroMQDestinationSender::stop);
+        receivingAddressToDestinationSenderMapping.clear();
+        zeroMQContext.term();
     }
-}
\ No newline at end of file
+}
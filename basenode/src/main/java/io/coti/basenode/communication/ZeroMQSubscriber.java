@@ -1,15 +1,19 @@
 package io.coti.basenode.communication;
 
 import io.coti.basenode.communication.data.ConnectedNodeData;
-import io.coti.basenode.communication.data.ZeroMQMessageData;
+import io.coti.basenode.communication.data.PropagationQueueStatisticsData;
+import io.coti.basenode.communication.data.ZeroMQChannelRoute;
+import io.coti.basenode.communication.data.ZeroMQSubscriberMessageData;
 import io.coti.basenode.communication.interfaces.IPropagationSubscriber;
 import io.coti.basenode.communication.interfaces.ISerializer;
 import io.coti.basenode.communication.interfaces.ISubscriberHandler;
+import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.NodeType;
 import io.coti.basenode.data.PublisherHeartBeatData;
 import io.coti.basenode.data.interfaces.IPropagatable;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.zeromq.SocketType;
@@ -19,8 +23,9 @@ import org.zeromq.ZMQException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
@@ -40,12 +45,30 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
     private NodeType subscriberNodeType;
     @Autowired
     private ISubscriberHandler subscriberHandler;
-
+    @Value("${propagation.subscriber.decode.threads:4}")
+    private int decodeThreads;
+    @Value("${propagation.subscriber.decode.queue.size:10000}")
+    private int decodeQueueSize;
+    @Value("${propagation.subscriber.queue.size:10000}")
+    private int subscriberQueueSize;
+    @Value("${propagation.subscriber.queue.overflow.policy:BLOCK}")
+    private QueueOverflowPolicy subscriberQueueOverflowPolicy;
+    private ThreadPoolExecutor decodeExecutor;
+    @Value("#{'${propagation.subscriber.dedup.message.types:TransactionData,AddressData}'.split(',')}")
+    private Set<String> dedupMessageTypes;
+    @Value("${propagation.subscriber.dedup.window:60000}")
+    private long dedupWindow;
+    @Value("${propagation.subscriber.dedup.capacity:100000}")
+    private int dedupCapacity;
+    private final Map<String, ZeroMQChannelRoute> channelToRouteMap = new ConcurrentHashMap<>();
+    private final Map<Class<? extends IPropagatable>, PropagationSeenSet> messageTypeToSeenSetMap = new ConcurrentHashMap<>();
 
     @Override
     public void init() {
         initSockets();
-        BlockingQueue<ZeroMQMessageData> messageQueue = ZeroMQSubscriberQueue.HEARTBEAT.getQueue();
+        initDecodeExecutor();
+        EnumSet.allOf(ZeroMQSubscriberQueue.class).forEach(queueEnum -> queueEnum.initQueue(subscriberQueueSize, subscriberQueueOverflowPolicy));
+        PropagationQueue<ZeroMQSubscriberMessageData> messageQueue = ZeroMQSubscriberQueue.HEARTBEAT.getQueue();
         queueNameToThreadMap.put(ZeroMQSubscriberQueue.HEARTBEAT.name(), new Thread(() -> this.handleMessagesQueueTask(messageQueue)));
         subscriberHandler.init();
     }
@@ -57,6 +80,12 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
         ZeroMQUtils.bindToRandomPort(propagationReceiver);
     }
 
+    private void initDecodeExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger(0);
+        decodeExecutor = new ThreadPoolExecutor(decodeThreads, decodeThreads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(decodeQueueSize),
+                runnable -> new Thread(runnable, "ZeroMQ Subscriber Decode-" + threadNumber.incrementAndGet()), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
     @Override
     public void setSubscriberNodeType(NodeType subscriberNodeType) {
         this.subscriberNodeType = subscriberNodeType;
@@ -79,10 +108,17 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
                 try {
                     String channel = propagationReceiver.recvStr();
                     log.debug("Received a new message on channel: {}", channel);
-                    String[] channelArray = channel.split("-");
-                    Class<? extends IPropagatable> propagatedMessageType = (Class<? extends IPropagatable>) Class.forName(channelArray[0]);
-                    byte[] message = propagationReceiver.recv();
-                    ZeroMQSubscriberQueue.getQueue(propagatedMessageType).put(new ZeroMQMessageData(channel, message));
+                    List<byte[]> messages = receiveMessages();
+                    ZeroMQChannelRoute channelRoute = getChannelRoute(channel);
+                    updatePublisherLastConnectionTime(channelRoute.getPublisherAddress());
+                    for (byte[] message : messages) {
+                        Hash headerHash = getDedupHeaderHash(channelRoute, message);
+                        if (headerHash != null && isDuplicate(channelRoute, headerHash)) {
+                            continue;
+                        }
+                        Future<IPropagatable> decodedMessage = decodeExecutor.submit(() -> serializer.deserialize(message));
+                        channelRoute.getSubscriberQueue().getQueue().put(new ZeroMQSubscriberMessageData(channelRoute, decodedMessage, headerHash));
+                    }
                 } catch (InterruptedException e) {
                     log.info("ZMQ subscriber propagation receiver interrupted");
                     Thread.currentThread().interrupt();
@@ -108,11 +144,86 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
         queueNameToThreadMap.values().forEach(Thread::start);
     }
 
-    private void handleMessagesQueueTask(BlockingQueue<ZeroMQMessageData> messageQueue) {
+    private List<byte[]> receiveMessages() {
+        byte[] message = propagationReceiver.recv();
+        if (!propagationReceiver.hasReceiveMore()) {
+            return Collections.singletonList(message);
+        }
+        List<byte[]> messages = new ArrayList<>();
+        messages.add(message);
+        while (propagationReceiver.hasReceiveMore()) {
+            messages.add(propagationReceiver.recv());
+        }
+        return messages;
+    }
+
+    private Hash getDedupHeaderHash(ZeroMQChannelRoute channelRoute, byte[] message) {
+        if (channelRoute.getSeenSet() == null || !PropagationFrameHeader.hasHeader(message)) {
+            return null;
+        }
+        return PropagationFrameHeader.getHash(message);
+    }
+
+    private boolean isDuplicate(ZeroMQChannelRoute channelRoute, Hash headerHash) {
+        if (channelRoute.getSeenSet().add(headerHash, System.currentTimeMillis())) {
+            return false;
+        }
+        log.debug("Duplicate {} {} dropped", channelRoute.getMessageType().getSimpleName(), headerHash);
+        return true;
+    }
+
+    private boolean isConfirmedHeaderHash(ZeroMQSubscriberMessageData zeroMQMessageData, IPropagatable messageData) {
+        Hash headerHash = zeroMQMessageData.getHeaderHash();
+        if (headerHash == null || (messageData != null && headerHash.equals(messageData.getHash()))) {
+            return true;
+        }
+        ZeroMQChannelRoute channelRoute = zeroMQMessageData.getChannelRoute();
+        releaseHeaderHash(zeroMQMessageData);
+        log.error("Header hash {} doesn't match the decoded {} {}", headerHash, channelRoute.getMessageType().getSimpleName(), messageData != null ? messageData.getHash() : null);
+        return false;
+    }
+
+    private void releaseHeaderHash(ZeroMQSubscriberMessageData zeroMQMessageData) {
+        if (zeroMQMessageData.getHeaderHash() != null) {
+            zeroMQMessageData.getChannelRoute().getSeenSet().remove(zeroMQMessageData.getHeaderHash());
+        }
+    }
+
+    private ZeroMQChannelRoute getChannelRoute(String channel) {
+        ZeroMQChannelRoute channelRoute = channelToRouteMap.get(channel);
+        return channelRoute != null ? channelRoute : channelToRouteMap.computeIfAbsent(channel, this::createChannelRoute);
+    }
+
+    private ZeroMQChannelRoute createChannelRoute(String channel) {
+        String[] channelArray = channel.split("-");
+        Class<? extends IPropagatable> messageType;
+        try {
+            messageType = (Class<? extends IPropagatable>) Class.forName(channelArray[0]);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException(String.format("Unknown message type at channel %s", channel), e);
+        }
+        ZeroMQChannelRoute channelRoute = new ZeroMQChannelRoute(channel, messageType, ZeroMQSubscriberQueue.getQueueEnum(messageType), channelArray[1]);
+        if (messageType.equals(PublisherHeartBeatData.class)) {
+            channelRoute.setHeartBeat(true);
+        } else {
+            NodeType publisherNodeType = NodeType.valueOf(channelArray[2]);
+            channelRoute.setPublisherNodeType(publisherNodeType);
+            List<Class<? extends IPropagatable>> messageTypes = publisherNodeTypeToMessageTypesMap.get(publisherNodeType);
+            if (messageTypes != null && messageTypes.contains(messageType)) {
+                channelRoute.setHandler(subscriberHandler.get(messageType.getSimpleName()).apply(publisherNodeType));
+            }
+            if (dedupMessageTypes.contains(messageType.getSimpleName())) {
+                channelRoute.setSeenSet(messageTypeToSeenSetMap.computeIfAbsent(messageType, seenSetMessageType -> new PropagationSeenSet(dedupWindow, dedupCapacity)));
+            }
+        }
+        return channelRoute;
+    }
+
+    private void handleMessagesQueueTask(PropagationQueue<ZeroMQSubscriberMessageData> messageQueue) {
         while (!Thread.currentThread().isInterrupted()) {
             try {
-                ZeroMQMessageData zeroMQMessageData = messageQueue.take();
-                log.debug("ZMQ message arrived: {}", zeroMQMessageData);
+                ZeroMQSubscriberMessageData zeroMQMessageData = messageQueue.take();
+                log.debug("ZMQ message arrived: {}", zeroMQMessageData.getChannelRoute().getChannel());
                 propagationProcess(zeroMQMessageData);
             } catch (InterruptedException e) {
                 log.info("ZMQ subscriber message handler interrupted");
@@ -121,7 +232,7 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
                 log.error("ZMQ subscriber message handler task error", e);
             }
         }
-        LinkedList<ZeroMQMessageData> remainingMessages = new LinkedList<>();
+        LinkedList<ZeroMQSubscriberMessageData> remainingMessages = new LinkedList<>();
         messageQueue.drainTo(remainingMessages);
         if (!remainingMessages.isEmpty()) {
             log.info("Please wait to process {} remaining messages", remainingMessages.size());
@@ -136,25 +247,26 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
 
     }
 
-    private void propagationProcess(ZeroMQMessageData zeroMQMessageData) throws ClassNotFoundException {
-        String channel = zeroMQMessageData.getChannel();
-        byte[] message = zeroMQMessageData.getMessage();
-        IPropagatable messageData = serializer.deserialize(message);
-        String[] channelArray = channel.split("-");
-        Class<? extends IPropagatable> propagatedMessageType = (Class<? extends IPropagatable>) Class.forName(channelArray[0]);
-        if (propagatedMessageType.equals(PublisherHeartBeatData.class)) {
+    private void propagationProcess(ZeroMQSubscriberMessageData zeroMQMessageData) throws InterruptedException, ExecutionException {
+        ZeroMQChannelRoute channelRoute = zeroMQMessageData.getChannelRoute();
+        IPropagatable messageData;
+        try {
+            messageData = zeroMQMessageData.getMessage().get();
+        } catch (ExecutionException e) {
+            isConfirmedHeaderHash(zeroMQMessageData, null);
+            throw e;
+        }
+        if (!isConfirmedHeaderHash(zeroMQMessageData, messageData)) {
+            return;
+        }
+        if (channelRoute.isHeartBeat()) {
             String serverAddress = ((PublisherHeartBeatData) messageData).getServerAddress();
             updatePublisherLastConnectionTime(serverAddress);
         } else {
-            String serverAddress = channelArray[1];
-            NodeType publisherNodeType = NodeType.valueOf(channelArray[2]);
-            updatePublisherLastConnectionTime(serverAddress);
-            publisherNodeTypeToMessageTypesMap.get(publisherNodeType).forEach(messageType -> {
-
-                if (messageType.equals(propagatedMessageType)) {
-                    handleMessageData(messageData, propagatedMessageType, publisherNodeType);
-                }
-            });
+            Consumer<Object> handler = channelRoute.getHandler();
+            if (handler != null && !handleMessageData(messageData, handler)) {
+                releaseHeaderHash(zeroMQMessageData);
+            }
         }
     }
 
@@ -165,14 +277,16 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
         }
     }
 
-    private void handleMessageData(IPropagatable messageData, Class<? extends IPropagatable> propagatedMessageType, NodeType publisherNodeType) {
+    private boolean handleMessageData(IPropagatable messageData, Consumer<Object> handler) {
         try {
-            subscriberHandler.get(propagatedMessageType.getSimpleName()).apply(publisherNodeType).accept(messageData);
+            handler.accept(messageData);
+            return true;
         } catch (ClassCastException e) {
             log.error("Invalid request received: " + e.getMessage());
         } catch (Exception e) {
             log.error("ZMQ subscriber message handler error", e);
         }
+        return false;
     }
 
     @Override
@@ -189,10 +303,13 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
     }
 
     private void subscribeAll(String publisherAddressAndPort, NodeType publisherNodeType) {
-        propagationReceiver.subscribe(Channel.getChannelString(PublisherHeartBeatData.class, publisherAddressAndPort));
+        String heartBeatChannel = Channel.getChannelString(PublisherHeartBeatData.class, publisherAddressAndPort);
+        getChannelRoute(heartBeatChannel);
+        propagationReceiver.subscribe(heartBeatChannel);
         publisherNodeTypeToMessageTypesMap.get(publisherNodeType).forEach(messageType ->
         {
             String channel = Channel.getChannelString(messageType, publisherAddressAndPort, publisherNodeType, subscriberNodeType);
+            getChannelRoute(channel);
             if (propagationReceiver.subscribe(channel)) {
                 log.info("Subscribed to server {} and channel {}", publisherAddressAndPort, channel);
             } else {
@@ -227,6 +344,10 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
 
     @Scheduled(initialDelay = INITIAL_DELAY, fixedDelay = FIXED_DELAY)
     public void reconnectToPublisher() {
+        if (EnumSet.allOf(ZeroMQSubscriberQueue.class).stream().anyMatch(queueEnum -> queueEnum.getQueue().isFull())) {
+            log.info("Subscriber queues are full. Publisher heartbeat timeout check is skipped");
+            return;
+        }
         connectedNodes.forEach((serverAddress, connectedNodeData) -> {
             if (Duration.between(connectedNodeData.getLastConnectionTime(), Instant.now()).toMillis() > HEARTBEAT_INTERVAL) {
                 log.info("Publisher heartbeat message timeout: server = {}, lastHeartBeat = {}", serverAddress, connectedNodeData.getLastConnectionTime());
@@ -241,6 +362,13 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
         return zeroMQSubscriberQueue.getQueue().size();
     }
 
+    @Override
+    public List<PropagationQueueStatisticsData> getQueueStatistics() {
+        List<PropagationQueueStatisticsData> queueStatistics = new ArrayList<>();
+        EnumSet.allOf(ZeroMQSubscriberQueue.class).forEach(queueEnum -> queueStatistics.add(queueEnum.getQueue().getStatistics()));
+        return queueStatistics;
+    }
+
     @Override
     public void shutdown() {
         try {
@@ -258,6 +386,7 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
                         Thread.currentThread().interrupt();
                     }
                 });
+                decodeExecutor.shutdown();
             }
         } catch (InterruptedException e) {
             log.error("Interrupted shutdown ZeroMQ subscriber");
@@ -1,12 +1,10 @@
 package io.coti.basenode.communication;
 
-import io.coti.basenode.communication.data.ZeroMQMessageData;
+import io.coti.basenode.communication.data.ZeroMQSubscriberMessageData;
 import io.coti.basenode.data.*;
 import io.coti.basenode.data.interfaces.IPropagatable;
 
 import java.util.*;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 
 public enum ZeroMQSubscriberQueue {
     HEARTBEAT(new HashSet<>(Collections.singletonList(PublisherHeartBeatData.class))),
@@ -14,7 +12,9 @@ public enum ZeroMQSubscriberQueue {
     ADDRESS(new HashSet<>(Collections.singletonList(AddressData.class))),
     TRANSACTION(new HashSet<>(Arrays.asList(TransactionData.class, DspConsensusResult.class)));
 
-    private BlockingQueue<ZeroMQMessageData> queue = new LinkedBlockingQueue<>();
+    private static final int DEFAULT_QUEUE_SIZE = 10000;
+    private PropagationQueue<ZeroMQSubscriberMessageData> queue;
+    private final PropagationPriority priority;
 
     private static class ZeroMQSubscriberQueues {
         private static final Map<Class<? extends IPropagatable>, ZeroMQSubscriberQueue> messageTypeToQueueMap = new HashMap<>();
@@ -22,14 +22,19 @@ public enum ZeroMQSubscriberQueue {
 
     ZeroMQSubscriberQueue(Set<Class<? extends IPropagatable>> messageTypeSet) {
         messageTypeSet.forEach(messageType -> ZeroMQSubscriberQueues.messageTypeToQueueMap.put(messageType, this));
+        priority = messageTypeSet.size() == 1 ? PropagationPriority.getByMessageType(messageTypeSet.iterator().next()) : PropagationPriority.NORMAL;
+        initQueue(DEFAULT_QUEUE_SIZE, QueueOverflowPolicy.BLOCK);
+    }
 
+    public void initQueue(int queueSize, QueueOverflowPolicy overflowPolicy) {
+        queue = new PropagationQueue<>(name(), queueSize, overflowPolicy, zeroMQSubscriberMessageData -> priority);
     }
 
-    public BlockingQueue<ZeroMQMessageData> getQueue() {
+    public PropagationQueue<ZeroMQSubscriberMessageData> getQueue() {
         return this.queue;
     }
 
-    public static <T extends IPropagatable> BlockingQueue<ZeroMQMessageData> getQueue(Class<T> messageType) {
+    public static <T extends IPropagatable> PropagationQueue<ZeroMQSubscriberMessageData> getQueue(Class<T> messageType) {
         return getQueueEnum(messageType).queue;
     }
 
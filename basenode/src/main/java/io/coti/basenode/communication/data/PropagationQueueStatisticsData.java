@@ -0,0 +1,22 @@
+package io.coti.basenode.communication.data;
+
+import lombok.Data;
+
+@Data
+public class PropagationQueueStatisticsData {
+    private String queueName;
+    private int size;
+    private int highWaterMark;
+    private long enqueuedMessages;
+    private long droppedMessages;
+    private long blockedPuts;
+
+    public PropagationQueueStatisticsData(String queueName, int size, int highWaterMark, long enqueuedMessages, long droppedMessages, long blockedPuts) {
+        this.queueName = queueName;
+        this.size = size;
+        this.highWaterMark = highWaterMark;
+        this.enqueuedMessages = enqueuedMessages;
+        this.droppedMessages = droppedMessages;
+        this.blockedPuts = blockedPuts;
+    }
+}
@@ -0,0 +1,29 @@
+package io.coti.basenode.communication.data;
+
+import io.coti.basenode.communication.PropagationSeenSet;
+import io.coti.basenode.communication.ZeroMQSubscriberQueue;
+import io.coti.basenode.data.NodeType;
+import io.coti.basenode.data.interfaces.IPropagatable;
+import lombok.Data;
+
+import java.util.function.Consumer;
+
+@Data
+public class ZeroMQChannelRoute {
+
+    private String channel;
+    private Class<? extends IPropagatable> messageType;
+    private ZeroMQSubscriberQueue subscriberQueue;
+    private String publisherAddress;
+    private NodeType publisherNodeType;
+    private boolean heartBeat;
+    private Consumer<Object> handler;
+    private PropagationSeenSet seenSet;
+
+    public ZeroMQChannelRoute(String channel, Class<? extends IPropagatable> messageType, ZeroMQSubscriberQueue subscriberQueue, String publisherAddress) {
+        this.channel = channel;
+        this.messageType = messageType;
+        this.subscriberQueue = subscriberQueue;
+        this.publisherAddress = publisherAddress;
+    }
+}
@@ -0,0 +1,17 @@
+package io.coti.basenode.communication.data;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ZeroMQMessageBatchData {
+    private List<byte[]> messages = new ArrayList<>();
+    private long batchBytes;
+
+    public void addMessage(byte[] message) {
+        messages.add(message);
+        batchBytes += message.length;
+    }
+}
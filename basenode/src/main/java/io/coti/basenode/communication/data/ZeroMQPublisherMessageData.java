@@ -0,0 +1,18 @@
+package io.coti.basenode.communication.data;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ZeroMQPublisherMessageData {
+    private Class<?> messageType;
+    private List<byte[]> channels;
+    private byte[] message;
+
+    public ZeroMQPublisherMessageData(Class<?> messageType, List<byte[]> channels, byte[] message) {
+        this.messageType = messageType;
+        this.channels = channels;
+        this.message = message;
+    }
+}
@@ -0,0 +1,15 @@
+package io.coti.basenode.communication.data;
+
+import io.coti.basenode.data.interfaces.IPropagatable;
+import lombok.Data;
+
+@Data
+public class ZeroMQSenderMessageData {
+    private IPropagatable entity;
+    private byte[] message;
+
+    public ZeroMQSenderMessageData(IPropagatable entity, byte[] message) {
+        this.entity = entity;
+        this.message = message;
+    }
+}
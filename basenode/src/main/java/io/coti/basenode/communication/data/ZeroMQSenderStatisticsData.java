@@ -0,0 +1,20 @@
+package io.coti.basenode.communication.data;
+
+import lombok.Data;
+
+@Data
+public class ZeroMQSenderStatisticsData {
+    private String receivingAddress;
+    private int queueSize;
+    private long sentMessages;
+    private long failedMessages;
+    private long droppedMessages;
+
+    public ZeroMQSenderStatisticsData(String receivingAddress, int queueSize, long sentMessages, long failedMessages, long droppedMessages) {
+        this.receivingAddress = receivingAddress;
+        this.queueSize = queueSize;
+        this.sentMessages = sentMessages;
+        this.failedMessages = failedMessages;
+        this.droppedMessages = droppedMessages;
+    }
+}
@@ -0,0 +1,21 @@
+package io.coti.basenode.communication.data;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.interfaces.IPropagatable;
+import lombok.Data;
+
+import java.util.concurrent.Future;
+
+@Data
+public class ZeroMQSubscriberMessageData {
+
+    private ZeroMQChannelRoute channelRoute;
+    private Future<IPropagatable> message;
+    private Hash headerHash;
+
+    public ZeroMQSubscriberMessageData(ZeroMQChannelRoute channelRoute, Future<IPropagatable> message, Hash headerHash) {
+        this.channelRoute = channelRoute;
+        this.message = message;
+        this.headerHash = headerHash;
+    }
+}
@@ -1,5 +1,6 @@
 package io.coti.basenode.communication.interfaces;
 
+import io.coti.basenode.communication.data.PropagationQueueStatisticsData;
 import io.coti.basenode.data.NodeType;
 import io.coti.basenode.data.interfaces.IPropagatable;
 
@@ -11,5 +12,7 @@ public interface IPropagationPublisher {
 
     <T extends IPropagatable> void propagate(T toPropagate, List<NodeType> subscriberNodeTypes);
 
+    PropagationQueueStatisticsData getQueueStatistics();
+
     void shutdown();
 }
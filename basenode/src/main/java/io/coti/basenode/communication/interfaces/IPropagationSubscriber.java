@@ -1,6 +1,7 @@
 package io.coti.basenode.communication.interfaces;
 
 import io.coti.basenode.communication.ZeroMQSubscriberQueue;
+import io.coti.basenode.communication.data.PropagationQueueStatisticsData;
 import io.coti.basenode.data.NodeType;
 import io.coti.basenode.data.interfaces.IPropagatable;
 
@@ -25,5 +26,7 @@ public interface IPropagationSubscriber {
 
     int getMessageQueueSize(ZeroMQSubscriberQueue zeroMQSubscriberQueue);
 
+    List<PropagationQueueStatisticsData> getQueueStatistics();
+
     void shutdown();
 }
\ No newline at end of file
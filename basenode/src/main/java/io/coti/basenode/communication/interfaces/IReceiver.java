@@ -1,6 +1,9 @@
 package io.coti.basenode.communication.interfaces;
 
+import io.coti.basenode.communication.data.PropagationQueueStatisticsData;
+
 import java.util.HashMap;
+import java.util.List;
 import java.util.function.Consumer;
 
 public interface IReceiver {
@@ -10,5 +13,7 @@ public interface IReceiver {
 
     void initReceiverHandler();
 
+    List<PropagationQueueStatisticsData> getQueueStatistics();
+
     void shutdown();
 }
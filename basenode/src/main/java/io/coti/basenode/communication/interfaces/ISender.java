@@ -1,13 +1,23 @@
 package io.coti.basenode.communication.interfaces;
 
+import io.coti.basenode.communication.data.ZeroMQSenderStatisticsData;
 import io.coti.basenode.data.NodeType;
 import io.coti.basenode.data.interfaces.IPropagatable;
 
+import java.util.List;
+import java.util.function.BiConsumer;
+
 public interface ISender {
 
     void connectToNode(String receivingServerAddress);
 
+    void connectToNode(String receivingServerAddress, BiConsumer<String, IPropagatable> sendFailureHandler);
+
     <T extends IPropagatable> void send(T toSend, String address);
 
     void disconnectFromNode(String receivingFullAddress, NodeType nodeType);
+
+    List<ZeroMQSenderStatisticsData> getSenderStatistics();
+
+    void shutdown();
 }
@@ -0,0 +1,31 @@
+package io.coti.basenode.crypto;
+
+import io.coti.basenode.data.BalanceSnapshotData;
+import io.coti.basenode.data.Hash;
+import org.bouncycastle.jcajce.provider.digest.Keccak;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+
+@Service
+public class BalanceSnapshotCrypto extends SignatureCrypto<BalanceSnapshotData> {
+
+    @Override
+    public byte[] getSignatureMessage(BalanceSnapshotData balanceSnapshotData) {
+        Keccak.Digest256 digest = new Keccak.Digest256();
+        digest.update(ByteBuffer.allocate(Long.BYTES + Long.BYTES).putLong(balanceSnapshotData.getIndex()).putLong(balanceSnapshotData.getCreateTime().toEpochMilli()).array());
+        digest.update(balanceSnapshotData.getAccumulatedHash());
+        balanceSnapshotData.getBalances().entrySet().stream().sorted(Comparator.comparing(balanceEntry -> balanceEntry.getKey().toHexString()))
+                .forEach(balanceEntry -> {
+                    byte[] addressHashInBytes = balanceEntry.getKey().getBytes();
+                    byte[] amountInBytes = balanceEntry.getValue().stripTrailingZeros().toPlainString().getBytes(StandardCharsets.UTF_8);
+                    digest.update(ByteBuffer.allocate(Integer.BYTES + addressHashInBytes.length + Integer.BYTES + amountInBytes.length)
+                            .putInt(addressHashInBytes.length).put(addressHashInBytes).putInt(amountInBytes.length).put(amountInBytes).array());
+                });
+        balanceSnapshotData.getUnconfirmedTransactionHashes().stream().sorted(Comparator.comparing(Hash::toHexString))
+                .forEach(transactionHash -> digest.update(transactionHash.getBytes()));
+        return digest.digest();
+    }
+}
@@ -0,0 +1,30 @@
+package io.coti.basenode.data;
+
+import io.coti.basenode.data.interfaces.IEntity;
+import lombok.Data;
+
+@Data
+public class AccumulatedHashCheckpointData implements IEntity {
+
+    private static final long serialVersionUID = -6071468390287751042L;
+    private long index;
+    private byte[] accumulatedHash;
+
+    private AccumulatedHashCheckpointData() {
+    }
+
+    public AccumulatedHashCheckpointData(TransactionIndexData transactionIndexData) {
+        this.index = transactionIndexData.getIndex();
+        this.accumulatedHash = transactionIndexData.getAccumulatedHash();
+    }
+
+    @Override
+    public Hash getHash() {
+        return new Hash(index);
+    }
+
+    @Override
+    public void setHash(Hash hash) {
+        //no implementation
+    }
+}
@@ -0,0 +1,43 @@
+package io.coti.basenode.data;
+
+import io.coti.basenode.data.interfaces.IEntity;
+import lombok.Data;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+@Data
+public class AddressTransactionData implements IEntity {
+
+    private static final long serialVersionUID = -2617245823617497561L;
+    private transient Hash addressHash;
+    private transient Hash transactionHash;
+
+    private AddressTransactionData() {
+    }
+
+    public AddressTransactionData(Hash addressHash, Hash transactionHash) {
+        this.addressHash = addressHash;
+        this.transactionHash = transactionHash;
+    }
+
+    public static byte[] getAddressPrefix(Hash addressHash) {
+        byte[] addressHashBytes = addressHash.getBytes();
+        return ByteBuffer.allocate(1 + addressHashBytes.length).put((byte) addressHashBytes.length).put(addressHashBytes).array();
+    }
+
+    @Override
+    public Hash getHash() {
+        byte[] addressPrefix = getAddressPrefix(addressHash);
+        byte[] transactionHashBytes = transactionHash.getBytes();
+        return new Hash(ByteBuffer.allocate(addressPrefix.length + transactionHashBytes.length).put(addressPrefix).put(transactionHashBytes).array());
+    }
+
+    @Override
+    public void setHash(Hash hash) {
+        byte[] keyBytes = hash.getBytes();
+        int addressHashLength = Byte.toUnsignedInt(keyBytes[0]);
+        addressHash = new Hash(Arrays.copyOfRange(keyBytes, 1, 1 + addressHashLength));
+        transactionHash = new Hash(Arrays.copyOfRange(keyBytes, 1 + addressHashLength, keyBytes.length));
+    }
+}
@@ -0,0 +1,47 @@
+package io.coti.basenode.data;
+
+import io.coti.basenode.data.interfaces.IEntity;
+import io.coti.basenode.data.interfaces.ISignValidatable;
+import io.coti.basenode.data.interfaces.ISignable;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+@Data
+public class BalanceSnapshotData implements IEntity, ISignable, ISignValidatable {
+
+    private static final long serialVersionUID = -2470958391716243086L;
+    private long index;
+    private byte[] accumulatedHash;
+    private Map<Hash, BigDecimal> balances;
+    private Set<Hash> unconfirmedTransactionHashes;
+    private Instant createTime;
+    private Hash signerHash;
+    private SignatureData signature;
+
+    private BalanceSnapshotData() {
+    }
+
+    public BalanceSnapshotData(TransactionIndexData transactionIndexData, Map<Hash, BigDecimal> balances, Set<Hash> unconfirmedTransactionHashes) {
+        this.index = transactionIndexData.getIndex();
+        this.accumulatedHash = transactionIndexData.getAccumulatedHash();
+        this.balances = new HashMap<>(balances);
+        this.unconfirmedTransactionHashes = new HashSet<>(unconfirmedTransactionHashes);
+        this.createTime = Instant.now();
+    }
+
+    @Override
+    public Hash getHash() {
+        return new Hash(index);
+    }
+
+    @Override
+    public void setHash(Hash hash) {
+        //no implementation
+    }
+}
@@ -0,0 +1,25 @@
+package io.coti.basenode.data;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+@Data
+public class DbCheckpointFileData implements Serializable {
+
+    private static final long serialVersionUID = -6140719934683215312L;
+    private String fileName;
+    private String storagePath;
+    private long size;
+    private boolean shared;
+
+    private DbCheckpointFileData() {
+    }
+
+    public DbCheckpointFileData(String fileName, String storagePath, long size, boolean shared) {
+        this.fileName = fileName;
+        this.storagePath = storagePath;
+        this.size = size;
+        this.shared = shared;
+    }
+}
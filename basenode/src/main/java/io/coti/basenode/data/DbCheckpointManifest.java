@@ -0,0 +1,25 @@
+package io.coti.basenode.data;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class DbCheckpointManifest implements Serializable {
+
+    private static final long serialVersionUID = 2905365102632818425L;
+    private long timestamp;
+    private String identity;
+    private List<DbCheckpointFileData> files = new ArrayList<>();
+    private long uploadedBytes;
+
+    private DbCheckpointManifest() {
+    }
+
+    public DbCheckpointManifest(long timestamp, String identity) {
+        this.timestamp = timestamp;
+        this.identity = identity;
+    }
+}
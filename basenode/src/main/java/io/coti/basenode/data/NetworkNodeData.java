@@ -6,6 +6,7 @@ import io.coti.basenode.data.interfaces.ISignValidatable;
 import io.coti.basenode.data.interfaces.ISignable;
 import lombok.Data;
 
+import java.util.List;
 import java.util.Objects;
 
 @Data
@@ -24,6 +25,7 @@ public class NetworkNodeData implements IEntity, ISignable, ISignValidatable {
     private FeeData feeData;
     private SignatureData nodeSignature;
     private NodeRegistrationData nodeRegistrationData;
+    private List<WireCodec> wireCodecs;
 
     public NetworkNodeData() {
     }
@@ -109,5 +111,6 @@ public class NetworkNodeData implements IEntity, ISignable, ISignValidatable {
         feeData = networkNodeData.getFeeData();
         nodeSignature = networkNodeData.getNodeSignature();
         nodeRegistrationData = networkNodeData.getNodeRegistrationData();
+        wireCodecs = networkNodeData.getWireCodecs();
     }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package io.coti.basenode.data;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class TrustChainNodeData {
+
+    private Hash hash;
+    private double senderTrustScore;
+    private double trustChainTrustScore;
+    private Instant trustChainConsensusTime;
+    private List<Hash> parentHashes = new ArrayList<>(2);
+    private boolean trustChainConsensus;
+
+    public TrustChainNodeData(TransactionData transactionData) {
+        hash = transactionData.getHash();
+        senderTrustScore = transactionData.getSenderTrustScore();
+        trustChainTrustScore = transactionData.getTrustChainTrustScore();
+        trustChainConsensusTime = transactionData.getTrustChainConsensusTime();
+        if (transactionData.getLeftParentHash() != null) {
+            parentHashes.add(transactionData.getLeftParentHash());
+        }
+        if (transactionData.getRightParentHash() != null) {
+            parentHashes.add(transactionData.getRightParentHash());
+        }
+    }
+}
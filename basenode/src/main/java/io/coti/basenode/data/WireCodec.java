@@ -0,0 +1,8 @@
+package io.coti.basenode.data;
+
+public enum WireCodec {
+    JSON,
+    BINARY,
+    DEFLATE,
+    HASH_HEADER
+}
@@ -0,0 +1,55 @@
+package io.coti.basenode.database;
+
+import io.coti.basenode.data.interfaces.IEntity;
+import io.coti.basenode.database.interfaces.IEntityCodec;
+import io.coti.basenode.exceptions.DataBaseException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.SerializationUtils;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+public class BaseNodeEntityCodec implements IEntityCodec {
+
+    @Value("${db.entity.codec.compact}")
+    private boolean compactCodec;
+    private final CompactEntitySerializer compactEntitySerializer = new CompactEntitySerializer();
+    private final Set<Class<?>> notCompactableEntityClasses = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public byte[] serialize(IEntity entity) {
+        if (compactCodec && !notCompactableEntityClasses.contains(entity.getClass())) {
+            try {
+                return compactEntitySerializer.serialize(entity);
+            } catch (Exception e) {
+                notCompactableEntityClasses.add(entity.getClass());
+                log.warn("Entity class {} can not be compact serialized and falls back to java serialization. {}: {}", entity.getClass().getName(), e.getClass().getName(), e.getMessage());
+            }
+        }
+        return SerializationUtils.serialize(entity);
+    }
+
+    @Override
+    public <T extends IEntity> T deserialize(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            if (compactEntitySerializer.isCompactEncoding(bytes)) {
+                return (T) compactEntitySerializer.deserialize(bytes);
+            }
+            return (T) SerializationUtils.deserialize(bytes);
+        } catch (Exception e) {
+            throw new DataBaseException("Error at deserializing entity.", e);
+        }
+    }
+
+    @Override
+    public boolean isMigrationRequired(byte[] bytes) {
+        return compactCodec && bytes != null && !compactEntitySerializer.isCompactEncoding(bytes);
+    }
+}
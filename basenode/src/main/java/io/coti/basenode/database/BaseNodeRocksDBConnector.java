@@ -1,28 +1,41 @@
 package io.coti.basenode.database;
 
+import com.google.common.cache.CacheStats;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.interfaces.IEntity;
 import io.coti.basenode.database.interfaces.IDatabaseConnector;
+import io.coti.basenode.database.interfaces.IEntityCodec;
 import io.coti.basenode.exceptions.DataBaseException;
 import io.coti.basenode.model.Collection;
 import io.coti.basenode.model.*;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
 import org.rocksdb.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
-import org.springframework.util.SerializationUtils;
 
 import java.io.File;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class BaseNodeRocksDBConnector implements IDatabaseConnector {
 
+    private static final String COLUMN_FAMILY_PROPERTY_PREFIX = "db.column.family.";
+    private static final String DEFAULT_COLUMN_FAMILY_PROFILE = "default";
+    private static final int RANGES_PER_ITERATION_THREAD = 4;
+    private static final String CHECKPOINT_CURRENT_FILE_NAME = "CURRENT";
+
     @Value("${database.folder.name}")
     private String databaseFolderName;
     @Value("${application.name}")
@@ -31,14 +44,37 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
     private boolean dropNotListedColumnFamilies;
     @Value("${reset.transactions}")
     private boolean resetTransactions;
+    @Value("${db.entity.codec.migrate}")
+    private boolean migrateEntityEncoding;
+    @Value("${db.block.cache.size}")
+    private long blockCacheSize;
+    @Value("${db.iteration.threads}")
+    private int iterationThreads;
+    @Value("${db.write.sync}")
+    private boolean syncWrites;
+    @Value("${db.group.commit}")
+    private boolean groupCommit;
+    @Value("${db.group.commit.max.size}")
+    private int groupCommitMaxSize;
     @Autowired
     private ApplicationContext ctx;
+    @Autowired
+    private Environment environment;
+    @Autowired
+    private IEntityCodec entityCodec;
     private String dbPath;
     private RocksDB db;
     protected List<String> columnFamilyClassNames;
     protected List<String> resetColumnFamilyNames = new ArrayList<>();
     private List<String> resetTransactionColumnFamilyNames;
     private Map<String, ColumnFamilyHandle> classNameToColumnFamilyHandleMapping = new LinkedHashMap<>();
+    private Map<String, ColumnFamilyOptions> columnFamilyNameToOptionsMapping = new HashMap<>();
+    private List<AbstractNativeReference> columnFamilyNativeReferences = new ArrayList<>();
+    private Cache blockCache;
+    private WriteOptions defaultWriteOptions;
+    private GroupCommitWriter groupCommitWriter;
+    private ExecutorService iterationExecutor;
+    private final ThreadLocal<Boolean> iterationThread = ThreadLocal.withInitial(() -> false);
 
     public void init() {
         setColumnFamily();
@@ -57,14 +93,20 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
                 Transactions.class.getName(),
                 Addresses.class.getName(),
                 AddressTransactionsHistories.class.getName(),
+                AddressTransactions.class.getName(),
                 TransactionIndexes.class.getName(),
                 TransactionVotes.class.getName(),
-                NodeRegistrations.class.getName()
+                NodeRegistrations.class.getName(),
+                BalanceSnapshots.class.getName(),
+                AccumulatedHashCheckpoints.class.getName()
         ));
         resetTransactionColumnFamilyNames = new ArrayList<>(Arrays.asList(
                 Transactions.class.getName(),
                 AddressTransactionsHistories.class.getName(),
-                TransactionIndexes.class.getName()
+                AddressTransactions.class.getName(),
+                TransactionIndexes.class.getName(),
+                BalanceSnapshots.class.getName(),
+                AccumulatedHashCheckpoints.class.getName()
         ));
     }
 
@@ -72,8 +114,11 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
         this.dbPath = dbPath;
         try {
             initColumnFamilyClasses();
+            initIterationExecutor();
             loadLibrary();
+            initDefaultWriteOptions();
             createDbDirectory();
+            initColumnFamilyOptions();
             if (dropNotListedColumnFamilies) {
                 openDBAndDropNotListedColumnFamilies();
             } else {
@@ -82,6 +127,11 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
 
             populateResetColumnFamilyNames();
             resetColumnFamilies();
+            if (migrateEntityEncoding) {
+                migrateEntityEncoding();
+            }
+            migrateAddressTransactionsHistories();
+            initWriters();
 
         } catch (DataBaseException e) {
             throw new DataBaseException("Error initiating Rocks DB.\n" + e.getMessage(), e);
@@ -153,7 +203,7 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
                     columnFamilyHandle.close();
                     classNameToColumnFamilyHandleMapping.remove(columnFamilyName);
                     if (create) {
-                        columnFamilyHandle = db.createColumnFamily(new ColumnFamilyDescriptor(columnFamilyName.getBytes()));
+                        columnFamilyHandle = db.createColumnFamily(getColumnFamilyDescriptor(columnFamilyName));
                         classNameToColumnFamilyHandleMapping.put(columnFamilyName, columnFamilyHandle);
                         log.info("Column family {} reset", columnFamilyName);
                     } else {
@@ -197,6 +247,75 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
         }
     }
 
+    private void migrateEntityEncoding() {
+        for (int i = 1; i < columnFamilyClassNames.size(); i++) {
+            try {
+                log.info("Starting to migrate entity encoding of column family {}", columnFamilyClassNames.get(i));
+                long migratedEntities = ((Collection) ctx.getBean(Class.forName(columnFamilyClassNames.get(i)))).migrateEntityEncoding();
+                log.info("Finished to migrate entity encoding of column family {}. Migrated entities: {}", columnFamilyClassNames.get(i), migratedEntities);
+            } catch (Exception e) {
+                throw new DataBaseException("Error at migrating entity encoding.", e);
+            }
+        }
+    }
+
+    private void migrateAddressTransactionsHistories() {
+        if (!columnFamilyClassNames.contains(AddressTransactionsHistories.class.getName()) || !columnFamilyClassNames.contains(AddressTransactions.class.getName())) {
+            return;
+        }
+        AddressTransactionsHistories addressTransactionsHistories = ctx.getBean(AddressTransactionsHistories.class);
+        if (addressTransactionsHistories.isEmpty()) {
+            return;
+        }
+        try {
+            log.info("Starting to migrate address transactions histories to key per entry layout");
+            long migratedEntries = ctx.getBean(AddressTransactions.class).migrateAddressTransactionsHistories(addressTransactionsHistories);
+            addressTransactionsHistories.deleteAll();
+            log.info("Finished to migrate address transactions histories. Migrated entries: {}", migratedEntries);
+        } catch (Exception e) {
+            throw new DataBaseException("Error at migrating address transactions histories.", e);
+        }
+    }
+
+    private void initDefaultWriteOptions() {
+        if (defaultWriteOptions == null) {
+            defaultWriteOptions = new WriteOptions().setSync(syncWrites);
+        }
+    }
+
+    private void initWriters() {
+        if (groupCommit && groupCommitWriter == null) {
+            WriteOptions writeOptions = defaultWriteOptions;
+            groupCommitWriter = new GroupCommitWriter(writeBatch -> db.write(writeOptions, writeBatch), groupCommitMaxSize);
+            groupCommitWriter.start();
+        }
+        log.info("RocksDB writes: sync = {}, group commit = {}", syncWrites, groupCommit);
+    }
+
+    private void invalidateCollectionCaches() {
+        for (int i = 1; i < columnFamilyClassNames.size(); i++) {
+            getCollection(columnFamilyClassNames.get(i)).invalidateCache();
+        }
+    }
+
+    private void logCollectionCacheStats() {
+        for (int i = 1; i < columnFamilyClassNames.size(); i++) {
+            String columnFamilyName = columnFamilyClassNames.get(i);
+            CacheStats cacheStats = getCollection(columnFamilyName).getCacheStats();
+            if (cacheStats != null) {
+                log.info("Column family {} cache hits: {}, misses: {}, hit rate: {}, evictions: {}", columnFamilyName, cacheStats.hitCount(), cacheStats.missCount(), cacheStats.hitRate(), cacheStats.evictionCount());
+            }
+        }
+    }
+
+    private Collection getCollection(String columnFamilyName) {
+        try {
+            return (Collection) ctx.getBean(Class.forName(columnFamilyName));
+        } catch (Exception e) {
+            throw new DataBaseException(String.format("Error at getting collection of column family %s.", columnFamilyName), e);
+        }
+    }
+
     private void populateColumnFamilies(List<String> dbColumnFamilyNames, List<ColumnFamilyHandle> columnFamilyHandles) {
         List<String> columnFamilyNamesToPopulate = Optional.ofNullable(dbColumnFamilyNames).orElse(columnFamilyClassNames);
         for (int i = 1; i < columnFamilyNamesToPopulate.size(); i++) {
@@ -207,7 +326,56 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
 
     private void initiateColumnFamilyDescriptors(List<String> dbColumnFamilies, List<ColumnFamilyDescriptor> columnFamilyDescriptors) {
         List<String> columnFamilyNamesToInit = Optional.ofNullable(dbColumnFamilies).orElse(columnFamilyClassNames);
-        columnFamilyNamesToInit.forEach(columnFamilyName -> columnFamilyDescriptors.add(new ColumnFamilyDescriptor(columnFamilyName.getBytes())));
+        columnFamilyNamesToInit.forEach(columnFamilyName -> columnFamilyDescriptors.add(getColumnFamilyDescriptor(columnFamilyName)));
+    }
+
+    private ColumnFamilyDescriptor getColumnFamilyDescriptor(String columnFamilyName) {
+        ColumnFamilyOptions columnFamilyOptions = columnFamilyNameToOptionsMapping.get(columnFamilyName);
+        if (columnFamilyOptions == null) {
+            columnFamilyOptions = getColumnFamilyProfile(columnFamilyName).createColumnFamilyOptions(blockCache, columnFamilyNativeReferences);
+            columnFamilyNameToOptionsMapping.put(columnFamilyName, columnFamilyOptions);
+        }
+        return new ColumnFamilyDescriptor(columnFamilyName.getBytes(), columnFamilyOptions);
+    }
+
+    private void initColumnFamilyOptions() {
+        if (blockCache == null && blockCacheSize > 0) {
+            blockCache = new LRUCache(blockCacheSize);
+            log.info("RocksDB shared block cache size: {} bytes", blockCacheSize);
+        }
+        columnFamilyClassNames.forEach(columnFamilyName -> {
+            if (!columnFamilyNameToOptionsMapping.containsKey(columnFamilyName)) {
+                ColumnFamilyProfile columnFamilyProfile = getColumnFamilyProfile(columnFamilyName);
+                columnFamilyNameToOptionsMapping.put(columnFamilyName, columnFamilyProfile.createColumnFamilyOptions(blockCache, columnFamilyNativeReferences));
+                log.info("Column family {} profile: {}", columnFamilyName, columnFamilyProfile.getDescription());
+            }
+        });
+    }
+
+    protected ColumnFamilyProfile getColumnFamilyProfile(String columnFamilyName) {
+        String profileName = columnFamilyName.substring(columnFamilyName.lastIndexOf('.') + 1);
+        ColumnFamilyProfile columnFamilyProfile = new ColumnFamilyProfile();
+        columnFamilyProfile.setColumnFamilyName(columnFamilyName);
+        columnFamilyProfile.setWriteBufferSize(getColumnFamilyProperty(profileName, "write.buffer.size", Long.class));
+        columnFamilyProfile.setMaxWriteBufferNumber(getColumnFamilyProperty(profileName, "max.write.buffer.number", Integer.class));
+        columnFamilyProfile.setBlockSize(getColumnFamilyProperty(profileName, "block.size", Long.class));
+        columnFamilyProfile.setBloomFilterBitsPerKey(getColumnFamilyProperty(profileName, "bloom.filter.bits", Integer.class));
+        columnFamilyProfile.setPrefixLength(getColumnFamilyProperty(profileName, "prefix.length", Integer.class));
+        columnFamilyProfile.setCacheIndexAndFilterBlocks(getColumnFamilyProperty(profileName, "cache.index.and.filter.blocks", Boolean.class));
+        columnFamilyProfile.setOptimizeFiltersForHits(getColumnFamilyProperty(profileName, "optimize.filters.for.hits", Boolean.class));
+        String compressionPerLevel = getColumnFamilyProperty(profileName, "compression.per.level", String.class);
+        Arrays.stream(compressionPerLevel.split(",")).map(String::trim).filter(compression -> !compression.isEmpty())
+                .forEach(compression -> columnFamilyProfile.getCompressionPerLevel().add(CompressionType.valueOf(compression)));
+        String bottommostCompression = getColumnFamilyProperty(profileName, "bottommost.compression", String.class).trim();
+        if (!bottommostCompression.isEmpty()) {
+            columnFamilyProfile.setBottommostCompression(CompressionType.valueOf(bottommostCompression));
+        }
+        return columnFamilyProfile;
+    }
+
+    private <T> T getColumnFamilyProperty(String profileName, String propertyName, Class<T> propertyType) {
+        T value = environment.getProperty(COLUMN_FAMILY_PROPERTY_PREFIX + profileName + "." + propertyName, propertyType);
+        return value != null ? value : environment.getRequiredProperty(COLUMN_FAMILY_PROPERTY_PREFIX + DEFAULT_COLUMN_FAMILY_PROFILE + "." + propertyName, propertyType);
     }
 
     @Override
@@ -222,8 +390,23 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
         }
     }
 
+    @Override
+    public void generateDataBaseCheckpoint(String checkpointPath) {
+        log.info("Starting database checkpoint to {}", checkpointPath);
+        try (Checkpoint checkpoint = Checkpoint.create(db)) {
+            checkpoint.createCheckpoint(checkpointPath);
+            log.info("Finished database checkpoint to {}", checkpointPath);
+        } catch (Exception e) {
+            throw new DataBaseException("Failed to generate database checkpoint.", e);
+        }
+    }
+
     @Override
     public void restoreDataBase(String backupPath) {
+        if (new File(backupPath, CHECKPOINT_CURRENT_FILE_NAME).isFile()) {
+            restoreDataBaseFromCheckpoint(backupPath);
+            return;
+        }
         log.info("Starting database restore from {}", backupPath);
         try (BackupableDBOptions backupableDBOptions = new BackupableDBOptions(backupPath);
              BackupEngine rocksBackupEngine = BackupEngine.open(Env.getDefault(), backupableDBOptions);
@@ -233,6 +416,7 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
             rocksBackupEngine.restoreDbFromLatestBackup(applicationName + databaseFolderName, applicationName + databaseFolderName, restoreOpt);
             checkIfBackupHasNotListedColumnFamilies();
             openDB();
+            invalidateCollectionCaches();
             log.info("Finished database restore from {}", backupPath);
         } catch (DataBaseException e) {
             throw new DataBaseException("Failed to restore database.\n" + e.getMessage(), e);
@@ -241,6 +425,28 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
         }
     }
 
+    private void restoreDataBaseFromCheckpoint(String checkpointPath) {
+        log.info("Starting database restore from checkpoint {}", checkpointPath);
+        try {
+            closeDB();
+            File dbDirectory = new File(dbPath);
+            for (File dbFile : Optional.ofNullable(dbDirectory.listFiles(File::isFile)).orElse(new File[0])) {
+                FileUtils.forceDelete(dbFile);
+            }
+            for (File checkpointFile : Optional.ofNullable(new File(checkpointPath).listFiles(File::isFile)).orElse(new File[0])) {
+                FileUtils.copyFileToDirectory(checkpointFile, dbDirectory);
+            }
+            checkIfBackupHasNotListedColumnFamilies();
+            openDB();
+            invalidateCollectionCaches();
+            log.info("Finished database restore from checkpoint {}", checkpointPath);
+        } catch (DataBaseException e) {
+            throw new DataBaseException("Failed to restore database from checkpoint.\n" + e.getMessage(), e);
+        } catch (Exception e) {
+            throw new DataBaseException("Failed to restore database from checkpoint", e);
+        }
+    }
+
     private void checkIfBackupHasNotListedColumnFamilies() {
         List<String> dbColumnFamilyNames = getColumnFamilyNamesFromDB();
         List<String> notListedColumnFamilyNames = getNotListedColumnNames(dbColumnFamilyNames);
@@ -259,9 +465,19 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
         }
     }
 
+    @Override
+    public Map<byte[], byte[]> getByKeys(String columnFamilyName, List<byte[]> keys) {
+        try {
+            return db.multiGet(Collections.nCopies(keys.size(), classNameToColumnFamilyHandleMapping.get(columnFamilyName)), keys);
+        } catch (RocksDBException e) {
+            log.error("Error at getting by keys from db", e);
+            return Collections.emptyMap();
+        }
+    }
+
     public RocksIterator getIterator(String columnFamilyName) {
         RocksIterator it = null;
-        try (ReadOptions readOptions = new ReadOptions()) {
+        try (ReadOptions readOptions = new ReadOptions().setTotalOrderSeek(true)) {
             ColumnFamilyHandle columnFamilyHandler = classNameToColumnFamilyHandleMapping.get(columnFamilyName);
             it = db.newIterator(columnFamilyHandler, readOptions);
             if (columnFamilyHandler == null) {
@@ -273,6 +489,126 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
         return it;
     }
 
+    @Override
+    public void forEach(String columnFamilyName, boolean parallel, boolean keysOnly, BiConsumer<byte[], byte[]> consumer) {
+        ColumnFamilyHandle columnFamilyHandle = classNameToColumnFamilyHandleMapping.get(columnFamilyName);
+        if (columnFamilyHandle == null) {
+            throw new DataBaseException(String.format("Column family %s wasn't found", columnFamilyName));
+        }
+        Snapshot snapshot = db.getSnapshot();
+        try {
+            int numberOfThreads = parallel && !iterationThread.get() ? getNumberOfIterationThreads() : 1;
+            if (numberOfThreads == 1) {
+                forEachInRange(columnFamilyHandle, snapshot, null, null, keysOnly, consumer);
+            } else {
+                parallelForEachInRanges(columnFamilyHandle, snapshot, numberOfThreads, keysOnly, consumer);
+            }
+        } finally {
+            db.releaseSnapshot(snapshot);
+        }
+    }
+
+    @Override
+    public void forEachByPrefix(String columnFamilyName, byte[] prefix, boolean keysOnly, BiConsumer<byte[], byte[]> consumer) {
+        ColumnFamilyHandle columnFamilyHandle = classNameToColumnFamilyHandleMapping.get(columnFamilyName);
+        if (columnFamilyHandle == null) {
+            throw new DataBaseException(String.format("Column family %s wasn't found", columnFamilyName));
+        }
+        forEachInRange(columnFamilyHandle, null, prefix, getPrefixUpperBound(prefix), keysOnly, (key, value) -> {
+            if (hasPrefix(key, prefix)) {
+                consumer.accept(key, value);
+            }
+        });
+    }
+
+    private boolean hasPrefix(byte[] key, byte[] prefix) {
+        if (key.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (key[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int getNumberOfIterationThreads() {
+        return iterationThreads > 0 ? iterationThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    private void initIterationExecutor() {
+        if (iterationExecutor == null) {
+            AtomicInteger threadNumber = new AtomicInteger(0);
+            iterationExecutor = Executors.newFixedThreadPool(getNumberOfIterationThreads(), runnable -> {
+                Thread thread = new Thread(() -> {
+                    iterationThread.set(true);
+                    runnable.run();
+                }, "DB Iteration-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private void parallelForEachInRanges(ColumnFamilyHandle columnFamilyHandle, Snapshot snapshot, int numberOfThreads, boolean keysOnly, BiConsumer<byte[], byte[]> consumer) {
+        List<byte[]> rangeBoundaries = getRangeBoundaries(numberOfThreads * RANGES_PER_ITERATION_THREAD);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i <= rangeBoundaries.size(); i++) {
+                byte[] lowerBound = i == 0 ? null : rangeBoundaries.get(i - 1);
+                byte[] upperBound = i == rangeBoundaries.size() ? null : rangeBoundaries.get(i);
+                futures.add(iterationExecutor.submit(() -> forEachInRange(columnFamilyHandle, snapshot, lowerBound, upperBound, keysOnly, consumer)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataBaseException("Parallel iteration was interrupted.", e);
+        } catch (Exception e) {
+            throw new DataBaseException("Error at parallel iteration.", e.getCause() != null ? e.getCause() : e);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private List<byte[]> getRangeBoundaries(int numberOfRanges) {
+        int rangeSize = Math.max(1, 256 / numberOfRanges);
+        List<byte[]> rangeBoundaries = new ArrayList<>();
+        for (int firstByte = rangeSize; firstByte < 256; firstByte += rangeSize) {
+            rangeBoundaries.add(new byte[]{(byte) firstByte});
+        }
+        return rangeBoundaries;
+    }
+
+    private void forEachInRange(ColumnFamilyHandle columnFamilyHandle, Snapshot snapshot, byte[] lowerBound, byte[] upperBound, boolean keysOnly, BiConsumer<byte[], byte[]> consumer) {
+        Slice upperBoundSlice = upperBound != null ? new Slice(upperBound) : null;
+        try (ReadOptions readOptions = new ReadOptions().setTotalOrderSeek(true).setFillCache(snapshot == null)) {
+            if (snapshot != null) {
+                readOptions.setSnapshot(snapshot);
+            }
+            if (upperBoundSlice != null) {
+                readOptions.setIterateUpperBound(upperBoundSlice);
+            }
+            try (RocksIterator iterator = db.newIterator(columnFamilyHandle, readOptions)) {
+                if (lowerBound != null) {
+                    iterator.seek(lowerBound);
+                } else {
+                    iterator.seekToFirst();
+                }
+                while (iterator.isValid()) {
+                    consumer.accept(iterator.key(), keysOnly ? null : iterator.value());
+                    iterator.next();
+                }
+            }
+        } finally {
+            if (upperBoundSlice != null) {
+                upperBoundSlice.close();
+            }
+        }
+    }
+
     @Override
     public boolean isEmpty(String columnFamilyName) {
         RocksIterator iterator = getIterator(columnFamilyName);
@@ -282,8 +618,11 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
 
     @Override
     public boolean put(String columnFamilyName, byte[] key, byte[] value) {
+        if (groupCommitWriter != null && groupCommitWriter.isRunning()) {
+            return groupCommitWriter.put(classNameToColumnFamilyHandleMapping.get(columnFamilyName), key, value);
+        }
         try {
-            db.put(classNameToColumnFamilyHandleMapping.get(columnFamilyName), key, value);
+            db.put(classNameToColumnFamilyHandleMapping.get(columnFamilyName), defaultWriteOptions, key, value);
             return true;
         } catch (Exception e) {
             log.error("Error at putting to db", e);
@@ -314,8 +653,11 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
 
     @Override
     public boolean putBatch(WriteBatch writeBatch) {
+        if (groupCommitWriter != null && groupCommitWriter.isRunning()) {
+            return groupCommitWriter.write(writeBatch);
+        }
         try {
-            db.write(new WriteOptions(), writeBatch);
+            db.write(defaultWriteOptions, writeBatch);
             return true;
         } catch (RocksDBException e) {
             log.error("Error at putting by batch to db", e);
@@ -326,18 +668,91 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
     @Override
     public void delete(String columnFamilyName, byte[] key) {
         try {
-            db.delete(classNameToColumnFamilyHandleMapping.get(columnFamilyName), key);
+            db.delete(classNameToColumnFamilyHandleMapping.get(columnFamilyName), defaultWriteOptions, key);
         } catch (RocksDBException e) {
             log.error("Error at deleting from db", e);
         }
     }
 
+    @Override
+    public void deleteRange(String columnFamilyName, byte[] beginKey, byte[] endKey) {
+        try {
+            db.deleteRange(classNameToColumnFamilyHandleMapping.get(columnFamilyName), beginKey, endKey);
+        } catch (RocksDBException e) {
+            throw new DataBaseException(String.format("Error at deleting range from column family %s.", columnFamilyName), e);
+        }
+    }
+
+    @Override
+    public void deleteByPrefix(String columnFamilyName, byte[] prefix) {
+        byte[] endKey = getPrefixUpperBound(prefix);
+        if (endKey != null) {
+            deleteRange(columnFamilyName, prefix, endKey);
+            return;
+        }
+        byte[] lastKey = getLastKey(columnFamilyName);
+        if (lastKey != null && compareKeys(lastKey, prefix) >= 0) {
+            deleteRange(columnFamilyName, prefix, getKeySuccessor(lastKey));
+        }
+    }
+
+    @Override
+    public void deleteAll(String columnFamilyName) {
+        byte[] firstKey;
+        byte[] lastKey;
+        try (RocksIterator iterator = getIterator(columnFamilyName)) {
+            iterator.seekToFirst();
+            if (!iterator.isValid()) {
+                return;
+            }
+            firstKey = iterator.key();
+            iterator.seekToLast();
+            lastKey = iterator.key();
+        }
+        deleteRange(columnFamilyName, firstKey, getKeySuccessor(lastKey));
+        log.debug("Range deleted all keys of column family {}", columnFamilyName);
+    }
+
+    private byte[] getLastKey(String columnFamilyName) {
+        try (RocksIterator iterator = getIterator(columnFamilyName)) {
+            iterator.seekToLast();
+            return iterator.isValid() ? iterator.key() : null;
+        }
+    }
+
+    private byte[] getPrefixUpperBound(byte[] prefix) {
+        byte[] upperBound = Arrays.copyOf(prefix, prefix.length);
+        for (int i = upperBound.length - 1; i >= 0; i--) {
+            if (upperBound[i] != (byte) 0xFF) {
+                upperBound[i]++;
+                return Arrays.copyOf(upperBound, i + 1);
+            }
+        }
+        return null;
+    }
+
+    private byte[] getKeySuccessor(byte[] key) {
+        return Arrays.copyOf(key, key.length + 1);
+    }
+
+    private int compareKeys(byte[] key, byte[] otherKey) {
+        for (int i = 0; i < Math.min(key.length, otherKey.length); i++) {
+            int compare = Integer.compare(Byte.toUnsignedInt(key[i]), Byte.toUnsignedInt(otherKey[i]));
+            if (compare != 0) {
+                return compare;
+            }
+        }
+        return Integer.compare(key.length, otherKey.length);
+    }
+
     @Override
     public IEntity get(Class<?> entityClass, Hash key) {
         try {
-            Hash entityHash = new Hash(db.get(
-                    classNameToColumnFamilyHandleMapping.get(entityClass.getName()), key.getBytes()));
-            return (IEntity) SerializationUtils.deserialize(entityHash.getBytes());
+            IEntity entity = entityCodec.deserialize(db.get(classNameToColumnFamilyHandleMapping.get(entityClass.getName()), key.getBytes()));
+            if (entity != null) {
+                entity.setHash(key);
+            }
+            return entity;
         } catch (RocksDBException e) {
             log.error("Error at getting from db", e);
             return null;
@@ -382,10 +797,34 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
         db = null;
     }
 
+    private void closeColumnFamilyOptions() {
+        columnFamilyNameToOptionsMapping.clear();
+        columnFamilyNativeReferences.forEach(AbstractNativeReference::close);
+        columnFamilyNativeReferences.clear();
+        if (blockCache != null) {
+            blockCache.close();
+            blockCache = null;
+        }
+    }
+
     @Override
     public void shutdown() {
         log.info("Shutting down {}", this.getClass().getSimpleName());
+        logCollectionCacheStats();
+        if (groupCommitWriter != null) {
+            groupCommitWriter.shutdown();
+            groupCommitWriter = null;
+        }
+        if (iterationExecutor != null) {
+            iterationExecutor.shutdownNow();
+            iterationExecutor = null;
+        }
         closeDB();
+        if (defaultWriteOptions != null) {
+            defaultWriteOptions.close();
+            defaultWriteOptions = null;
+        }
+        closeColumnFamilyOptions();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package io.coti.basenode.database;
+
+import lombok.Data;
+import org.rocksdb.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ColumnFamilyProfile {
+
+    private String columnFamilyName;
+    private long writeBufferSize;
+    private int maxWriteBufferNumber;
+    private long blockSize;
+    private int bloomFilterBitsPerKey;
+    private int prefixLength;
+    private boolean cacheIndexAndFilterBlocks;
+    private boolean optimizeFiltersForHits;
+    private List<CompressionType> compressionPerLevel = new ArrayList<>();
+    private CompressionType bottommostCompression;
+
+    public ColumnFamilyOptions createColumnFamilyOptions(Cache blockCache, List<AbstractNativeReference> nativeReferences) {
+        ColumnFamilyOptions columnFamilyOptions = new ColumnFamilyOptions();
+        nativeReferences.add(columnFamilyOptions);
+        columnFamilyOptions.setWriteBufferSize(writeBufferSize);
+        columnFamilyOptions.setMaxWriteBufferNumber(maxWriteBufferNumber);
+        columnFamilyOptions.setOptimizeFiltersForHits(optimizeFiltersForHits);
+        if (!compressionPerLevel.isEmpty()) {
+            columnFamilyOptions.setNumLevels(compressionPerLevel.size());
+            columnFamilyOptions.setCompressionPerLevel(compressionPerLevel);
+        }
+        if (bottommostCompression != null) {
+            columnFamilyOptions.setBottommostCompressionType(bottommostCompression);
+        }
+        if (prefixLength > 0) {
+            columnFamilyOptions.useCappedPrefixExtractor(prefixLength);
+        }
+
+        BlockBasedTableConfig tableConfig = new BlockBasedTableConfig();
+        tableConfig.setBlockSize(blockSize);
+        if (blockCache != null) {
+            tableConfig.setBlockCache(blockCache);
+            tableConfig.setCacheIndexAndFilterBlocks(cacheIndexAndFilterBlocks);
+            tableConfig.setPinL0FilterAndIndexBlocksInCache(cacheIndexAndFilterBlocks);
+        }
+        if (bloomFilterBitsPerKey > 0) {
+            Filter bloomFilter = new BloomFilter(bloomFilterBitsPerKey, false);
+            nativeReferences.add(bloomFilter);
+            tableConfig.setFilter(bloomFilter);
+            tableConfig.setWholeKeyFiltering(true);
+        }
+        columnFamilyOptions.setTableFormatConfig(tableConfig);
+        return columnFamilyOptions;
+    }
+
+    public String getDescription() {
+        return String.format("writeBuffer=%d x %d, blockSize=%d, bloomBitsPerKey=%d, prefixLength=%d, cacheIndexAndFilterBlocks=%b, optimizeFiltersForHits=%b, compressionPerLevel=%s, bottommostCompression=%s",
+                writeBufferSize, maxWriteBufferNumber, blockSize, bloomFilterBitsPerKey, prefixLength, cacheIndexAndFilterBlocks, optimizeFiltersForHits, compressionPerLevel, bottommostCompression);
+    }
+}
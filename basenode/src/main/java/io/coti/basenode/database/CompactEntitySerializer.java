@@ -0,0 +1,791 @@
+package io.coti.basenode.database;
+
+import com.google.common.collect.Sets;
+import io.coti.basenode.data.Hash;
+import org.springframework.objenesis.SpringObjenesis;
+import org.springframework.util.SerializationUtils;
+
+import java.io.Serializable;
+import java.lang.reflect.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Schema aware binary encoding of entities. The schema of every class is derived once by reflection from its
+ * serializable fields, and every field is written as a 16 bit field tag followed by a self describing value, so fields
+ * added or removed in later versions are skipped or left at their default value. Values the encoding can not represent
+ * faithfully are embedded with java serialization.
+ */
+public class CompactEntitySerializer {
+
+    private static final byte MAGIC = (byte) 0xC0;
+    private static final byte VERSION = 1;
+    private static final int MAX_DEPTH = 64;
+
+    private static final int NULL = 0;
+    private static final int TRUE = 1;
+    private static final int FALSE = 2;
+    private static final int BYTE = 3;
+    private static final int SHORT = 4;
+    private static final int CHAR = 5;
+    private static final int INT = 6;
+    private static final int LONG = 7;
+    private static final int FLOAT = 8;
+    private static final int DOUBLE = 9;
+    private static final int STRING = 10;
+    private static final int BYTES = 11;
+    private static final int INTS = 12;
+    private static final int LONGS = 13;
+    private static final int HASH = 14;
+    private static final int BIG_DECIMAL = 15;
+    private static final int BIG_INTEGER = 16;
+    private static final int INSTANT = 17;
+    private static final int ENUM = 18;
+    private static final int LIST = 19;
+    private static final int SET = 20;
+    private static final int MAP = 21;
+    private static final int OBJECT = 22;
+    private static final int SERIALIZED = 23;
+
+    private static final Set<String> SERIALIZATION_HOOKS = new HashSet<>(Arrays.asList("writeObject", "readObject", "readObjectNoData", "writeReplace", "readResolve"));
+
+    private final Map<Class<?>, ClassSchema> classSchemas = new ConcurrentHashMap<>();
+    private final SpringObjenesis objenesis = new SpringObjenesis();
+
+    private enum CollectionKind {
+        ARRAY_LIST, LINKED_LIST, HASH_SET, LINKED_HASH_SET, TREE_SET, CONCURRENT_SET, HASH_MAP, LINKED_HASH_MAP, TREE_MAP, CONCURRENT_HASH_MAP
+    }
+
+    private static class ClassSchema {
+
+        private final boolean compactable;
+        private final List<Field> fields;
+        private final List<Integer> fieldTags;
+        private final Map<Integer, Field> fieldTagToFieldMap;
+
+        private ClassSchema(boolean compactable, List<Field> fields, List<Integer> fieldTags, Map<Integer, Field> fieldTagToFieldMap) {
+            this.compactable = compactable;
+            this.fields = fields;
+            this.fieldTags = fieldTags;
+            this.fieldTagToFieldMap = fieldTagToFieldMap;
+        }
+    }
+
+    public boolean isCompactEncoding(byte[] bytes) {
+        return bytes != null && bytes.length > 1 && bytes[0] == MAGIC;
+    }
+
+    public byte[] serialize(Object entity) {
+        Output output = new Output();
+        output.writeByte(MAGIC);
+        output.writeByte(VERSION);
+        writeValue(output, entity, Object.class, 0);
+        return output.toByteArray();
+    }
+
+    public Object deserialize(byte[] bytes) {
+        if (!isCompactEncoding(bytes)) {
+            throw new IllegalArgumentException("Not a compact entity encoding");
+        }
+        if (bytes[1] != VERSION) {
+            throw new IllegalArgumentException(String.format("Unsupported compact entity encoding version %s", bytes[1]));
+        }
+        Input input = new Input(bytes, 2);
+        return readValue(input, input.readByte(), Object.class);
+    }
+
+    private void writeValue(Output output, Object value, Type declaredType, int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Maximum entity depth exceeded");
+        }
+        if (value == null) {
+            output.writeByte(NULL);
+            return;
+        }
+        Class<?> valueClass = value.getClass();
+        if (valueClass == Boolean.class) {
+            output.writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (valueClass == Byte.class) {
+            output.writeByte(BYTE);
+            output.writeByte((Byte) value);
+        } else if (valueClass == Short.class) {
+            output.writeByte(SHORT);
+            output.writeVarLong((Short) value);
+        } else if (valueClass == Character.class) {
+            output.writeByte(CHAR);
+            output.writeVarLong((Character) value);
+        } else if (valueClass == Integer.class) {
+            output.writeByte(INT);
+            output.writeVarLong((Integer) value);
+        } else if (valueClass == Long.class) {
+            output.writeByte(LONG);
+            output.writeVarLong((Long) value);
+        } else if (valueClass == Float.class) {
+            output.writeByte(FLOAT);
+            output.writeFixedLong(Float.floatToIntBits((Float) value), Integer.BYTES);
+        } else if (valueClass == Double.class) {
+            output.writeByte(DOUBLE);
+            output.writeFixedLong(Double.doubleToLongBits((Double) value), Long.BYTES);
+        } else if (valueClass == String.class) {
+            output.writeByte(STRING);
+            output.writeString((String) value);
+        } else if (valueClass == byte[].class) {
+            output.writeByte(BYTES);
+            output.writeBytes((byte[]) value);
+        } else if (valueClass == int[].class) {
+            output.writeByte(INTS);
+            int[] ints = (int[]) value;
+            output.writeVarLong(ints.length);
+            for (int element : ints) {
+                output.writeVarLong(element);
+            }
+        } else if (valueClass == long[].class) {
+            output.writeByte(LONGS);
+            long[] longs = (long[]) value;
+            output.writeVarLong(longs.length);
+            for (long element : longs) {
+                output.writeVarLong(element);
+            }
+        } else if (valueClass == Hash.class) {
+            output.writeByte(HASH);
+            byte[] hashBytes = ((Hash) value).getBytes();
+            output.writeVarLong(hashBytes == null ? 0 : hashBytes.length + 1L);
+            if (hashBytes != null) {
+                output.writeRawBytes(hashBytes);
+            }
+        } else if (valueClass == BigDecimal.class) {
+            output.writeByte(BIG_DECIMAL);
+            output.writeVarLong(((BigDecimal) value).scale());
+            output.writeBytes(((BigDecimal) value).unscaledValue().toByteArray());
+        } else if (valueClass == BigInteger.class) {
+            output.writeByte(BIG_INTEGER);
+            output.writeBytes(((BigInteger) value).toByteArray());
+        } else if (valueClass == Instant.class) {
+            output.writeByte(INSTANT);
+            output.writeVarLong(((Instant) value).getEpochSecond());
+            output.writeVarLong(((Instant) value).getNano());
+        } else if (value instanceof Enum) {
+            output.writeByte(ENUM);
+            output.writeClass(((Enum<?>) value).getDeclaringClass(), getRawClass(declaredType));
+            output.writeString(((Enum<?>) value).name());
+        } else if (value instanceof Collection || value instanceof Map) {
+            writeCollection(output, value, declaredType, depth);
+        } else if (getClassSchema(valueClass).compactable) {
+            writeObject(output, value, declaredType, depth);
+        } else {
+            writeSerialized(output, value);
+        }
+    }
+
+    private void writeCollection(Output output, Object value, Type declaredType, int depth) {
+        CollectionKind collectionKind = getCollectionKind(value);
+        if (collectionKind == null) {
+            writeSerialized(output, value);
+            return;
+        }
+        if (value instanceof Map) {
+            output.writeByte(MAP);
+            output.writeByte(collectionKind.ordinal());
+            Map<?, ?> map = (Map<?, ?>) value;
+            Type keyType = getTypeArgument(declaredType, 0);
+            Type valueType = getTypeArgument(declaredType, 1);
+            output.writeVarLong(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(output, entry.getKey(), keyType, depth + 1);
+                writeValue(output, entry.getValue(), valueType, depth + 1);
+            }
+        } else {
+            output.writeByte(value instanceof List ? LIST : SET);
+            output.writeByte(collectionKind.ordinal());
+            Collection<?> collection = (Collection<?>) value;
+            Type elementType = getTypeArgument(declaredType, 0);
+            output.writeVarLong(collection.size());
+            for (Object element : collection) {
+                writeValue(output, element, elementType, depth + 1);
+            }
+        }
+    }
+
+    private void writeObject(Output output, Object value, Type declaredType, int depth) {
+        ClassSchema classSchema = getClassSchema(value.getClass());
+        output.writeByte(OBJECT);
+        output.writeClass(value.getClass(), getRawClass(declaredType));
+        try {
+            List<Object> fieldValues = new ArrayList<>(classSchema.fields.size());
+            int presentFields = 0;
+            for (Field field : classSchema.fields) {
+                Object fieldValue = field.get(value);
+                if (isDefaultValue(field, fieldValue)) {
+                    fieldValue = null;
+                } else {
+                    presentFields++;
+                }
+                fieldValues.add(fieldValue);
+            }
+            output.writeVarLong(presentFields);
+            for (int i = 0; i < classSchema.fields.size(); i++) {
+                Object fieldValue = fieldValues.get(i);
+                if (fieldValue != null) {
+                    output.writeFieldTag(classSchema.fieldTags.get(i));
+                    writeValue(output, fieldValue, classSchema.fields.get(i).getGenericType(), depth + 1);
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(String.format("Unable to access fields of %s", value.getClass().getName()), e);
+        }
+    }
+
+    private void writeSerialized(Output output, Object value) {
+        if (!(value instanceof Serializable)) {
+            throw new IllegalArgumentException(String.format("Class %s is not serializable", value.getClass().getName()));
+        }
+        output.writeByte(SERIALIZED);
+        output.writeBytes(SerializationUtils.serialize(value));
+    }
+
+    private boolean isDefaultValue(Field field, Object fieldValue) {
+        if (fieldValue == null) {
+            return true;
+        }
+        if (!field.getType().isPrimitive()) {
+            return false;
+        }
+        if (fieldValue instanceof Boolean) {
+            return !(Boolean) fieldValue;
+        }
+        if (fieldValue instanceof Character) {
+            return (Character) fieldValue == 0;
+        }
+        if (fieldValue instanceof Float || fieldValue instanceof Double) {
+            return Double.doubleToRawLongBits(((Number) fieldValue).doubleValue()) == 0;
+        }
+        return ((Number) fieldValue).longValue() == 0;
+    }
+
+    private Object readValue(Input input, int tag, Type declaredType) {
+        switch (tag) {
+            case NULL:
+                return null;
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case BYTE:
+                return input.readByte();
+            case SHORT:
+                return (short) input.readVarLong();
+            case CHAR:
+                return (char) input.readVarLong();
+            case INT:
+                return (int) input.readVarLong();
+            case LONG:
+                return input.readVarLong();
+            case FLOAT:
+                return Float.intBitsToFloat((int) input.readFixedLong(Integer.BYTES));
+            case DOUBLE:
+                return Double.longBitsToDouble(input.readFixedLong(Long.BYTES));
+            case STRING:
+                return input.readString();
+            case BYTES:
+                return input.readBytes();
+            case INTS:
+                int[] ints = new int[(int) input.readVarLong()];
+                for (int i = 0; i < ints.length; i++) {
+                    ints[i] = (int) input.readVarLong();
+                }
+                return ints;
+            case LONGS:
+                long[] longs = new long[(int) input.readVarLong()];
+                for (int i = 0; i < longs.length; i++) {
+                    longs[i] = input.readVarLong();
+                }
+                return longs;
+            case HASH:
+                int hashLength = (int) input.readVarLong();
+                return new Hash(hashLength == 0 ? null : input.readRawBytes(hashLength - 1));
+            case BIG_DECIMAL:
+                int scale = (int) input.readVarLong();
+                return new BigDecimal(new BigInteger(input.readBytes()), scale);
+            case BIG_INTEGER:
+                return new BigInteger(input.readBytes());
+            case INSTANT:
+                long epochSecond = input.readVarLong();
+                return Instant.ofEpochSecond(epochSecond, input.readVarLong());
+            case ENUM:
+                return readEnum(input, declaredType);
+            case LIST:
+            case SET:
+            case MAP:
+                return readCollection(input, tag, declaredType);
+            case OBJECT:
+                return readObject(input, declaredType);
+            case SERIALIZED:
+                return SerializationUtils.deserialize(input.readBytes());
+            default:
+                throw new IllegalArgumentException(String.format("Unknown compact value tag %s", tag));
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object readEnum(Input input, Type declaredType) {
+        Class enumClass = input.readClass(getRawClass(declaredType));
+        return Enum.valueOf(enumClass, input.readString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readCollection(Input input, int tag, Type declaredType) {
+        CollectionKind collectionKind = CollectionKind.values()[input.readByte()];
+        int size = (int) input.readVarLong();
+        if (tag == MAP) {
+            Map<Object, Object> map = (Map<Object, Object>) newCollection(collectionKind, size);
+            Type keyType = getTypeArgument(declaredType, 0);
+            Type valueType = getTypeArgument(declaredType, 1);
+            for (int i = 0; i < size; i++) {
+                Object key = readValue(input, input.readByte(), keyType);
+                map.put(key, readValue(input, input.readByte(), valueType));
+            }
+            return map;
+        }
+        Collection<Object> collection = (Collection<Object>) newCollection(collectionKind, size);
+        Type elementType = getTypeArgument(declaredType, 0);
+        for (int i = 0; i < size; i++) {
+            collection.add(readValue(input, input.readByte(), elementType));
+        }
+        return collection;
+    }
+
+    private Object readObject(Input input, Type declaredType) {
+        Class<?> objectClass = input.readClass(getRawClass(declaredType));
+        ClassSchema classSchema = getClassSchema(objectClass);
+        Object instance = objenesis.newInstance(objectClass);
+        int presentFields = (int) input.readVarLong();
+        for (int i = 0; i < presentFields; i++) {
+            Field field = classSchema.fieldTagToFieldMap.get(input.readFieldTag());
+            int valueTag = input.readByte();
+            if (field == null) {
+                skipValue(input, valueTag);
+            } else {
+                setField(field, instance, readValue(input, valueTag, field.getGenericType()));
+            }
+        }
+        return instance;
+    }
+
+    private void setField(Field field, Object instance, Object value) {
+        Class<?> fieldType = field.getType();
+        try {
+            if (value == null) {
+                if (!fieldType.isPrimitive()) {
+                    field.set(instance, null);
+                }
+            } else if (fieldType.isPrimitive()) {
+                Object primitiveValue = toPrimitive(fieldType, value);
+                if (primitiveValue == null) {
+                    throw new IllegalArgumentException(String.format("Value of type %s doesn't match field type %s", value.getClass().getName(), fieldType.getName()));
+                }
+                field.set(instance, primitiveValue);
+            } else if (fieldType.isInstance(value)) {
+                field.set(instance, value);
+            } else {
+                throw new IllegalArgumentException(String.format("Value of type %s doesn't match field type %s", value.getClass().getName(), fieldType.getName()));
+            }
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Unable to set field %s of %s", field.getName(), field.getDeclaringClass().getName()), e);
+        }
+    }
+
+    private Object toPrimitive(Class<?> primitiveType, Object value) {
+        if (primitiveType == boolean.class) {
+            return value instanceof Boolean ? value : null;
+        }
+        if (primitiveType == char.class) {
+            return value instanceof Character ? value : null;
+        }
+        if (!(value instanceof Number)) {
+            return null;
+        }
+        Number number = (Number) value;
+        if (primitiveType == int.class) {
+            return number.intValue();
+        } else if (primitiveType == long.class) {
+            return number.longValue();
+        } else if (primitiveType == double.class) {
+            return number.doubleValue();
+        } else if (primitiveType == float.class) {
+            return number.floatValue();
+        } else if (primitiveType == short.class) {
+            return number.shortValue();
+        }
+        return number.byteValue();
+    }
+
+    private void skipValue(Input input, int tag) {
+        switch (tag) {
+            case NULL:
+            case TRUE:
+            case FALSE:
+                break;
+            case BYTE:
+                input.readByte();
+                break;
+            case SHORT:
+            case CHAR:
+            case INT:
+            case LONG:
+                input.readVarLong();
+                break;
+            case FLOAT:
+                input.readFixedLong(Integer.BYTES);
+                break;
+            case DOUBLE:
+                input.readFixedLong(Long.BYTES);
+                break;
+            case STRING:
+            case BYTES:
+            case BIG_INTEGER:
+            case SERIALIZED:
+                input.readBytes();
+                break;
+            case INTS:
+            case LONGS:
+                long length = input.readVarLong();
+                for (long i = 0; i < length; i++) {
+                    input.readVarLong();
+                }
+                break;
+            case HASH:
+                int hashLength = (int) input.readVarLong();
+                if (hashLength > 0) {
+                    input.readRawBytes(hashLength - 1);
+                }
+                break;
+            case BIG_DECIMAL:
+                input.readVarLong();
+                input.readBytes();
+                break;
+            case INSTANT:
+                input.readVarLong();
+                input.readVarLong();
+                break;
+            case ENUM:
+                input.skipClass();
+                input.readBytes();
+                break;
+            case LIST:
+            case SET:
+            case MAP:
+                input.readByte();
+                long elements = input.readVarLong() * (tag == MAP ? 2 : 1);
+                for (long i = 0; i < elements; i++) {
+                    skipValue(input, input.readByte());
+                }
+                break;
+            case OBJECT:
+                input.skipClass();
+                long presentFields = input.readVarLong();
+                for (long i = 0; i < presentFields; i++) {
+                    input.readFieldTag();
+                    skipValue(input, input.readByte());
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown compact value tag %s", tag));
+        }
+    }
+
+    private CollectionKind getCollectionKind(Object value) {
+        Class<?> valueClass = value.getClass();
+        String valueClassName = valueClass.getName();
+        if (valueClassName.startsWith("java.util.concurrent.")) {
+            if (valueClass == ConcurrentHashMap.class) {
+                return CollectionKind.CONCURRENT_HASH_MAP;
+            }
+            return valueClassName.equals("java.util.concurrent.ConcurrentHashMap$KeySetView") ? CollectionKind.CONCURRENT_SET : null;
+        }
+        if (!valueClassName.startsWith("java.util.")) {
+            return null;
+        }
+        if (valueClassName.startsWith("java.util.Collections$")) {
+            return valueClassName.equals("java.util.Collections$SetFromMap") ? CollectionKind.CONCURRENT_SET : null;
+        }
+        if (value instanceof List) {
+            return valueClass == LinkedList.class ? CollectionKind.LINKED_LIST : CollectionKind.ARRAY_LIST;
+        }
+        if (value instanceof Set) {
+            if (valueClass == HashSet.class) {
+                return CollectionKind.HASH_SET;
+            } else if (valueClass == TreeSet.class) {
+                return ((TreeSet<?>) value).comparator() == null ? CollectionKind.TREE_SET : null;
+            }
+            return value instanceof SortedSet || value instanceof EnumSet ? null : CollectionKind.LINKED_HASH_SET;
+        }
+        if (value instanceof Map) {
+            if (valueClass == HashMap.class) {
+                return CollectionKind.HASH_MAP;
+            } else if (valueClass == TreeMap.class) {
+                return ((TreeMap<?, ?>) value).comparator() == null ? CollectionKind.TREE_MAP : null;
+            }
+            return value instanceof SortedMap || value instanceof EnumMap || value instanceof IdentityHashMap || value instanceof WeakHashMap ? null : CollectionKind.LINKED_HASH_MAP;
+        }
+        return null;
+    }
+
+    private Object newCollection(CollectionKind collectionKind, int size) {
+        switch (collectionKind) {
+            case ARRAY_LIST:
+                return new ArrayList<>(size);
+            case LINKED_LIST:
+                return new LinkedList<>();
+            case HASH_SET:
+                return new HashSet<>();
+            case LINKED_HASH_SET:
+                return new LinkedHashSet<>();
+            case TREE_SET:
+                return new TreeSet<>();
+            case CONCURRENT_SET:
+                return Sets.newConcurrentHashSet();
+            case HASH_MAP:
+                return new HashMap<>();
+            case LINKED_HASH_MAP:
+                return new LinkedHashMap<>();
+            case TREE_MAP:
+                return new TreeMap<>();
+            default:
+                return new ConcurrentHashMap<>();
+        }
+    }
+
+    private ClassSchema getClassSchema(Class<?> type) {
+        return classSchemas.computeIfAbsent(type, this::createClassSchema);
+    }
+
+    private ClassSchema createClassSchema(Class<?> type) {
+        ClassSchema notCompactable = new ClassSchema(false, Collections.emptyList(), Collections.emptyList(), Collections.emptyMap());
+        if (!Serializable.class.isAssignableFrom(type) || type.isArray() || type.isInterface() || Modifier.isAbstract(type.getModifiers())
+                || type.getName().startsWith("java.") || type.getName().startsWith("javax.")) {
+            return notCompactable;
+        }
+        List<Field> fields = new ArrayList<>();
+        List<Integer> fieldTags = new ArrayList<>();
+        Map<Integer, Field> fieldTagToFieldMap = new HashMap<>();
+        for (Class<?> currentClass = type; currentClass != Object.class; currentClass = currentClass.getSuperclass()) {
+            if (!Serializable.class.isAssignableFrom(currentClass) || hasSerializationHooks(currentClass)) {
+                return notCompactable;
+            }
+            for (Field field : currentClass.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)) {
+                    continue;
+                }
+                int fieldTag = field.getName().hashCode() & 0xFFFF;
+                if (field.isSynthetic() || fieldTagToFieldMap.containsKey(fieldTag)) {
+                    return notCompactable;
+                }
+                field.setAccessible(true);
+                fields.add(field);
+                fieldTags.add(fieldTag);
+                fieldTagToFieldMap.put(fieldTag, field);
+            }
+        }
+        return new ClassSchema(true, fields, fieldTags, fieldTagToFieldMap);
+    }
+
+    private boolean hasSerializationHooks(Class<?> type) {
+        for (Method method : type.getDeclaredMethods()) {
+            if (SERIALIZATION_HOOKS.contains(method.getName()) && !Modifier.isStatic(method.getModifiers())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Type getTypeArgument(Type type, int index) {
+        if (type instanceof ParameterizedType) {
+            Type[] typeArguments = ((ParameterizedType) type).getActualTypeArguments();
+            if (typeArguments.length > index) {
+                return typeArguments[index];
+            }
+        }
+        return Object.class;
+    }
+
+    private Class<?> getRawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return getRawClass(((ParameterizedType) type).getRawType());
+        }
+        return Object.class;
+    }
+
+    private static class Output {
+
+        private byte[] buffer = new byte[256];
+        private int position;
+        private final Map<Class<?>, Integer> classToIndexMap = new HashMap<>();
+
+        private void ensureCapacity(int length) {
+            if (position + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+            }
+        }
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeRawBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            writeRawBytes(bytes);
+        }
+
+        private void writeString(String value) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void writeVarLong(long value) {
+            long zigZag = (value << 1) ^ (value >> 63);
+            while ((zigZag & ~0x7FL) != 0) {
+                writeByte((int) ((zigZag & 0x7F) | 0x80));
+                zigZag >>>= 7;
+            }
+            writeByte((int) zigZag);
+        }
+
+        private void writeFixedLong(long value, int length) {
+            for (int i = length - 1; i >= 0; i--) {
+                writeByte((int) (value >>> (i * 8)));
+            }
+        }
+
+        private void writeFieldTag(int fieldTag) {
+            writeByte(fieldTag >>> 8);
+            writeByte(fieldTag);
+        }
+
+        private void writeClass(Class<?> type, Class<?> expectedType) {
+            if (type == expectedType) {
+                writeVarLong(0);
+                return;
+            }
+            Integer classIndex = classToIndexMap.get(type);
+            if (classIndex != null) {
+                writeVarLong(classIndex + 1L);
+                return;
+            }
+            writeVarLong(classToIndexMap.size() + 1L);
+            classToIndexMap.put(type, classToIndexMap.size());
+            writeString(type.getName());
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static class Input {
+
+        private final byte[] buffer;
+        private int position;
+        private final List<String> classNames = new ArrayList<>();
+        private final Map<String, Class<?>> classNameToClassMap = new HashMap<>();
+
+        private Input(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        private int readByte() {
+            if (position >= buffer.length) {
+                throw new IllegalArgumentException("Unexpected end of compact entity encoding");
+            }
+            return buffer[position++];
+        }
+
+        private byte[] readRawBytes(int length) {
+            if (length < 0 || position + length > buffer.length) {
+                throw new IllegalArgumentException("Unexpected end of compact entity encoding");
+            }
+            byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        private byte[] readBytes() {
+            return readRawBytes((int) readVarLong());
+        }
+
+        private String readString() {
+            return new String(readBytes(), StandardCharsets.UTF_8);
+        }
+
+        private long readVarLong() {
+            long zigZag = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int current = readByte();
+                zigZag |= (long) (current & 0x7F) << shift;
+                if ((current & 0x80) == 0) {
+                    return (zigZag >>> 1) ^ -(zigZag & 1);
+                }
+            }
+            throw new IllegalArgumentException("Malformed variable length number");
+        }
+
+        private long readFixedLong(int length) {
+            long value = 0;
+            for (int i = 0; i < length; i++) {
+                value = (value << 8) | (readByte() & 0xFF);
+            }
+            return value;
+        }
+
+        private int readFieldTag() {
+            int high = readByte() & 0xFF;
+            return (high << 8) | (readByte() & 0xFF);
+        }
+
+        private String readClassName() {
+            int classReference = (int) readVarLong();
+            if (classReference == 0) {
+                return null;
+            }
+            int classIndex = classReference - 1;
+            if (classIndex == classNames.size()) {
+                classNames.add(readString());
+            } else if (classIndex > classNames.size()) {
+                throw new IllegalArgumentException("Invalid class reference in compact entity encoding");
+            }
+            return classNames.get(classIndex);
+        }
+
+        private void skipClass() {
+            readClassName();
+        }
+
+        private Class<?> readClass(Class<?> expectedType) {
+            String className = readClassName();
+            if (className == null) {
+                return expectedType;
+            }
+            return classNameToClassMap.computeIfAbsent(className, name -> {
+                try {
+                    return Class.forName(name, false, CompactEntitySerializer.class.getClassLoader());
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalArgumentException(String.format("Unknown class %s in compact entity encoding", name), e);
+                }
+            });
+        }
+    }
+}
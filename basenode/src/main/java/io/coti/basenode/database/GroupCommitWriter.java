@@ -0,0 +1,210 @@
+package io.coti.basenode.database;
+
+import lombok.extern.slf4j.Slf4j;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBatch;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class GroupCommitWriter {
+
+    private final BatchWriter batchWriter;
+    private final int maxGroupSize;
+    private final Deque<WriteRequest> writeRequests = new ArrayDeque<>();
+    private final AtomicLong groupCommits = new AtomicLong(0);
+    private final AtomicLong groupedWrites = new AtomicLong(0);
+    private boolean leaderActive;
+    private volatile boolean running;
+
+    @FunctionalInterface
+    public interface BatchWriter {
+        void write(WriteBatch writeBatch) throws RocksDBException;
+    }
+
+    private static class WriteRequest {
+
+        private final ColumnFamilyHandle columnFamilyHandle;
+        private final byte[] key;
+        private final byte[] value;
+        private final WriteBatch writeBatch;
+        private boolean succeeded;
+        private boolean done;
+        private boolean leader;
+
+        private WriteRequest(ColumnFamilyHandle columnFamilyHandle, byte[] key, byte[] value) {
+            this.columnFamilyHandle = columnFamilyHandle;
+            this.key = key;
+            this.value = value;
+            this.writeBatch = null;
+        }
+
+        private WriteRequest(WriteBatch writeBatch) {
+            this.columnFamilyHandle = null;
+            this.key = null;
+            this.value = null;
+            this.writeBatch = writeBatch;
+        }
+    }
+
+    public GroupCommitWriter(BatchWriter batchWriter, int maxGroupSize) {
+        this.batchWriter = batchWriter;
+        this.maxGroupSize = maxGroupSize;
+    }
+
+    public void start() {
+        running = true;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public boolean put(ColumnFamilyHandle columnFamilyHandle, byte[] key, byte[] value) {
+        return submit(new WriteRequest(columnFamilyHandle, key, value));
+    }
+
+    public boolean write(WriteBatch writeBatch) {
+        return submit(new WriteRequest(writeBatch));
+    }
+
+    private boolean submit(WriteRequest writeRequest) {
+        synchronized (this) {
+            if (!running) {
+                return false;
+            }
+            writeRequests.add(writeRequest);
+            if (leaderActive) {
+                waitForResultOrLeadership(writeRequest);
+                if (writeRequest.done) {
+                    return writeRequest.succeeded;
+                }
+            } else {
+                leaderActive = true;
+            }
+        }
+        return leadGroupCommits(writeRequest);
+    }
+
+    private void waitForResultOrLeadership(WriteRequest writeRequest) {
+        boolean interrupted = false;
+        while (!writeRequest.done && !writeRequest.leader) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean leadGroupCommits(WriteRequest leaderRequest) {
+        List<WriteRequest> group = new ArrayList<>();
+        while (!isDone(leaderRequest)) {
+            synchronized (this) {
+                while (group.size() < maxGroupSize && !writeRequests.isEmpty()) {
+                    group.add(writeRequests.poll());
+                }
+            }
+            commitGroup(group);
+            synchronized (this) {
+                group.forEach(writeRequest -> writeRequest.done = true);
+                notifyAll();
+            }
+            group.clear();
+        }
+        synchronized (this) {
+            WriteRequest nextLeaderRequest = writeRequests.peek();
+            if (nextLeaderRequest != null) {
+                nextLeaderRequest.leader = true;
+            } else {
+                leaderActive = false;
+            }
+            notifyAll();
+            return leaderRequest.succeeded;
+        }
+    }
+
+    private synchronized boolean isDone(WriteRequest writeRequest) {
+        return writeRequest.done;
+    }
+
+    private void commitGroup(List<WriteRequest> group) {
+        List<WriteRequest> pendingPuts = new ArrayList<>();
+        WriteBatch groupBatch = new WriteBatch();
+        try {
+            for (WriteRequest writeRequest : group) {
+                if (writeRequest.writeBatch == null) {
+                    groupBatch.put(writeRequest.columnFamilyHandle, writeRequest.key, writeRequest.value);
+                    pendingPuts.add(writeRequest);
+                } else {
+                    flushPuts(groupBatch, pendingPuts);
+                    writeRequest.succeeded = writeBatch(writeRequest.writeBatch);
+                }
+            }
+            flushPuts(groupBatch, pendingPuts);
+            groupCommits.incrementAndGet();
+            groupedWrites.addAndGet(group.size());
+        } catch (Exception e) {
+            log.error("Error at group commit of {} writes", group.size(), e);
+            group.forEach(writeRequest -> writeRequest.succeeded = false);
+        } finally {
+            groupBatch.close();
+        }
+    }
+
+    private void flushPuts(WriteBatch groupBatch, List<WriteRequest> pendingPuts) throws RocksDBException {
+        if (pendingPuts.isEmpty()) {
+            return;
+        }
+        try {
+            batchWriter.write(groupBatch);
+            pendingPuts.forEach(writeRequest -> writeRequest.succeeded = true);
+        } catch (RocksDBException e) {
+            log.error("Error at group commit of {} puts", pendingPuts.size(), e);
+            pendingPuts.forEach(writeRequest -> writeRequest.succeeded = false);
+        } finally {
+            groupBatch.clear();
+            pendingPuts.clear();
+        }
+    }
+
+    private boolean writeBatch(WriteBatch writeBatch) {
+        try {
+            batchWriter.write(writeBatch);
+            return true;
+        } catch (RocksDBException e) {
+            log.error("Error at putting by batch to db", e);
+            return false;
+        }
+    }
+
+    public void shutdown() {
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            boolean interrupted = false;
+            while (leaderActive) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        long commits = groupCommits.get();
+        log.info("Group commit writer stopped. Commits: {}, writes: {}, average group size: {}", commits, groupedWrites.get(), commits == 0 ? 0 : (double) groupedWrites.get() / commits);
+    }
+}
@@ -0,0 +1,148 @@
+package io.coti.basenode.database;
+
+import com.google.gson.Gson;
+import io.coti.basenode.data.DbCheckpointFileData;
+import io.coti.basenode.data.DbCheckpointManifest;
+import io.coti.basenode.database.interfaces.IBackupStorage;
+import io.coti.basenode.exceptions.DataBaseRecoveryException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class IncrementalCheckpointBackup {
+
+    private static final String SST_FILE_SUFFIX = ".sst";
+    private static final String IDENTITY_FILE_NAME = "IDENTITY";
+    private static final String MANIFEST_FILE_NAME = "manifest.json";
+    private static final String SHARED_FOLDER_NAME = "shared";
+    private static final String CHECKPOINT_FOLDER_PREFIX = "checkpoint-";
+    private static final String UNKNOWN_IDENTITY = "unknown";
+    private final IBackupStorage backupStorage;
+    private final String rootPath;
+    private final Gson gson = new Gson();
+
+    public IncrementalCheckpointBackup(IBackupStorage backupStorage, String rootPath) {
+        this.backupStorage = backupStorage;
+        this.rootPath = rootPath;
+    }
+
+    public DbCheckpointManifest backup(File checkpointDirectory, long timestamp) {
+        File[] checkpointFiles = Optional.ofNullable(checkpointDirectory.listFiles(File::isFile)).orElseThrow(() ->
+                new DataBaseRecoveryException(String.format("Checkpoint directory %s can not be read", checkpointDirectory.getPath())));
+        String identity = getIdentity(checkpointDirectory);
+        Set<String> uploadedSharedFiles = new HashSet<>(backupStorage.list(getSharedPath()));
+        DbCheckpointManifest manifest = new DbCheckpointManifest(timestamp, identity);
+        String checkpointPath = getCheckpointPath(timestamp);
+        for (File checkpointFile : checkpointFiles) {
+            String fileName = checkpointFile.getName();
+            long size = checkpointFile.length();
+            boolean shared = fileName.endsWith(SST_FILE_SUFFIX);
+            String storagePath = shared ? getSharedPath() + "/" + identity + "_" + size + "_" + fileName : checkpointPath + "/" + fileName;
+            if (!shared || !uploadedSharedFiles.contains(storagePath)) {
+                backupStorage.upload(storagePath, checkpointFile);
+                manifest.setUploadedBytes(manifest.getUploadedBytes() + size);
+            }
+            manifest.getFiles().add(new DbCheckpointFileData(fileName, storagePath, size, shared));
+        }
+        uploadManifest(checkpointDirectory.getParentFile(), checkpointPath, manifest);
+        log.info("Checkpoint backup {} finished. Files: {}, uploaded bytes: {}", timestamp, manifest.getFiles().size(), manifest.getUploadedBytes());
+        return manifest;
+    }
+
+    public DbCheckpointManifest restore(File restoreDirectory, Long timestamp) {
+        Long restoreTimestamp = timestamp;
+        if (restoreTimestamp == null) {
+            restoreTimestamp = getCheckpointTimestamps().stream().max(Long::compare).orElseThrow(() ->
+                    new DataBaseRecoveryException(String.format("No checkpoint backups found at %s", rootPath)));
+        }
+        DbCheckpointManifest manifest = getManifest(restoreTimestamp);
+        for (DbCheckpointFileData fileData : manifest.getFiles()) {
+            File destination = new File(restoreDirectory, fileData.getFileName());
+            backupStorage.download(fileData.getStoragePath(), destination);
+            if (destination.length() != fileData.getSize()) {
+                throw new DataBaseRecoveryException(String.format("Restored file %s size %d doesn't match manifest size %d", fileData.getFileName(), destination.length(), fileData.getSize()));
+            }
+        }
+        log.info("Checkpoint backup {} downloaded to {}", restoreTimestamp, restoreDirectory.getPath());
+        return manifest;
+    }
+
+    public List<Long> getCheckpointTimestamps() {
+        String checkpointPathPrefix = rootPath + "/" + CHECKPOINT_FOLDER_PREFIX;
+        return backupStorage.list(rootPath).stream()
+                .filter(storagePath -> storagePath.startsWith(checkpointPathPrefix) && storagePath.endsWith("/" + MANIFEST_FILE_NAME))
+                .map(storagePath -> Long.parseLong(storagePath.substring(checkpointPathPrefix.length(), storagePath.length() - MANIFEST_FILE_NAME.length() - 1)))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    public void retainLatest(int numberOfCheckpoints) {
+        List<Long> checkpointTimestamps = getCheckpointTimestamps();
+        if (checkpointTimestamps.size() <= numberOfCheckpoints) {
+            return;
+        }
+        List<Long> retainedTimestamps = checkpointTimestamps.subList(checkpointTimestamps.size() - numberOfCheckpoints, checkpointTimestamps.size());
+        Set<String> referencedStoragePaths = new HashSet<>();
+        retainedTimestamps.forEach(retainedTimestamp ->
+                getManifest(retainedTimestamp).getFiles().forEach(fileData -> referencedStoragePaths.add(fileData.getStoragePath())));
+
+        List<String> storagePathsToDelete = new ArrayList<>();
+        checkpointTimestamps.subList(0, checkpointTimestamps.size() - numberOfCheckpoints).forEach(removedTimestamp ->
+                storagePathsToDelete.addAll(backupStorage.list(getCheckpointPath(removedTimestamp))));
+        backupStorage.list(getSharedPath()).stream().filter(storagePath -> !referencedStoragePaths.contains(storagePath)).forEach(storagePathsToDelete::add);
+        backupStorage.delete(storagePathsToDelete);
+        log.info("Removed {} checkpoint backups and {} unreferenced backup files", checkpointTimestamps.size() - numberOfCheckpoints, storagePathsToDelete.size());
+    }
+
+    public DbCheckpointManifest getManifest(long timestamp) {
+        File manifestFile = null;
+        try {
+            manifestFile = File.createTempFile(MANIFEST_FILE_NAME, null);
+            backupStorage.download(getCheckpointPath(timestamp) + "/" + MANIFEST_FILE_NAME, manifestFile);
+            return gson.fromJson(FileUtils.readFileToString(manifestFile, StandardCharsets.UTF_8), DbCheckpointManifest.class);
+        } catch (IOException e) {
+            throw new DataBaseRecoveryException(String.format("Read of checkpoint backup manifest %d error.", timestamp), e);
+        } finally {
+            FileUtils.deleteQuietly(manifestFile);
+        }
+    }
+
+    private void uploadManifest(File workingDirectory, String checkpointPath, DbCheckpointManifest manifest) {
+        File manifestFile = new File(workingDirectory, MANIFEST_FILE_NAME);
+        try {
+            FileUtils.writeStringToFile(manifestFile, gson.toJson(manifest), StandardCharsets.UTF_8);
+            backupStorage.upload(checkpointPath + "/" + MANIFEST_FILE_NAME, manifestFile);
+        } catch (IOException e) {
+            throw new DataBaseRecoveryException("Write of checkpoint backup manifest error.", e);
+        } finally {
+            FileUtils.deleteQuietly(manifestFile);
+        }
+    }
+
+    private String getIdentity(File checkpointDirectory) {
+        File identityFile = new File(checkpointDirectory, IDENTITY_FILE_NAME);
+        if (!identityFile.isFile()) {
+            return UNKNOWN_IDENTITY;
+        }
+        try {
+            String identity = FileUtils.readFileToString(identityFile, StandardCharsets.UTF_8).replaceAll("[^A-Za-z0-9-]", "");
+            return identity.isEmpty() ? UNKNOWN_IDENTITY : identity;
+        } catch (IOException e) {
+            throw new DataBaseRecoveryException("Read of database identity error.", e);
+        }
+    }
+
+    private String getSharedPath() {
+        return rootPath + "/" + SHARED_FOLDER_NAME;
+    }
+
+    private String getCheckpointPath(long timestamp) {
+        return rootPath + "/" + CHECKPOINT_FOLDER_PREFIX + timestamp;
+    }
+}
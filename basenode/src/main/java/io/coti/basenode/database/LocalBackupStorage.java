@@ -0,0 +1,61 @@
+package io.coti.basenode.database;
+
+import io.coti.basenode.database.interfaces.IBackupStorage;
+import io.coti.basenode.exceptions.DataBaseRecoveryException;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class LocalBackupStorage implements IBackupStorage {
+
+    private final Path rootPath;
+
+    public LocalBackupStorage(String rootPath) {
+        this.rootPath = new File(rootPath).toPath();
+    }
+
+    @Override
+    public void upload(String storagePath, File file) {
+        try {
+            FileUtils.copyFile(file, rootPath.resolve(storagePath).toFile());
+        } catch (IOException e) {
+            throw new DataBaseRecoveryException(String.format("Upload of %s to local backup storage error.", storagePath), e);
+        }
+    }
+
+    @Override
+    public void download(String storagePath, File destination) {
+        try {
+            FileUtils.copyFile(rootPath.resolve(storagePath).toFile(), destination);
+        } catch (IOException e) {
+            throw new DataBaseRecoveryException(String.format("Download of %s from local backup storage error.", storagePath), e);
+        }
+    }
+
+    @Override
+    public List<String> list(String storagePathPrefix) {
+        Path prefixPath = rootPath.resolve(storagePathPrefix);
+        if (!prefixPath.toFile().exists()) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> paths = Files.walk(prefixPath)) {
+            return paths.filter(Files::isRegularFile)
+                    .map(path -> rootPath.relativize(path).toString().replace(File.separatorChar, '/'))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new DataBaseRecoveryException(String.format("List of %s at local backup storage error.", storagePathPrefix), e);
+        }
+    }
+
+    @Override
+    public void delete(List<String> storagePaths) {
+        storagePaths.forEach(storagePath -> FileUtils.deleteQuietly(rootPath.resolve(storagePath).toFile()));
+    }
+}
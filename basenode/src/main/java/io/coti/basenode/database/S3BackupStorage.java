@@ -0,0 +1,42 @@
+package io.coti.basenode.database;
+
+import com.google.common.collect.Lists;
+import io.coti.basenode.database.interfaces.IBackupStorage;
+import io.coti.basenode.services.interfaces.IAwsService;
+
+import java.io.File;
+import java.util.List;
+
+public class S3BackupStorage implements IBackupStorage {
+
+    private static final int MAX_KEYS_PER_DELETE_REQUEST = 1000;
+    private final IAwsService awsService;
+    private final String bucketName;
+
+    public S3BackupStorage(IAwsService awsService, String bucketName) {
+        this.awsService = awsService;
+        this.bucketName = bucketName;
+    }
+
+    @Override
+    public void upload(String storagePath, File file) {
+        awsService.uploadFileToS3(bucketName, storagePath, file);
+    }
+
+    @Override
+    public void download(String storagePath, File destination) {
+        awsService.downloadFileFromS3(bucketName, storagePath, destination);
+    }
+
+    @Override
+    public List<String> list(String storagePathPrefix) {
+        return awsService.listS3Paths(bucketName, storagePathPrefix);
+    }
+
+    @Override
+    public void delete(List<String> storagePaths) {
+        Lists.partition(storagePaths, MAX_KEYS_PER_DELETE_REQUEST).forEach(storagePathsToDelete ->
+                awsService.deleteFolderAndContentsFromS3(storagePathsToDelete, bucketName)
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package io.coti.basenode.database.interfaces;
+
+import java.io.File;
+import java.util.List;
+
+public interface IBackupStorage {
+
+    void upload(String storagePath, File file);
+
+    void download(String storagePath, File destination);
+
+    List<String> list(String storagePathPrefix);
+
+    void delete(List<String> storagePaths);
+}
@@ -6,12 +6,18 @@ import org.rocksdb.RocksIterator;
 import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
 public interface IDatabaseConnector {
 
     void init();
 
     void generateDataBaseBackup(String backupPath);
 
+    void generateDataBaseCheckpoint(String checkpointPath);
+
     void restoreDataBase(String backupPath);
 
     String getDBPath();
@@ -26,10 +32,22 @@ public interface IDatabaseConnector {
 
     byte[] getByKey(String columnFamilyName, byte[] key);
 
+    Map<byte[], byte[]> getByKeys(String columnFamilyName, List<byte[]> keys);
+
     void delete(String columnFamilyName, byte[] key);
 
+    void deleteRange(String columnFamilyName, byte[] beginKey, byte[] endKey);
+
+    void deleteByPrefix(String columnFamilyName, byte[] prefix);
+
+    void deleteAll(String columnFamilyName);
+
     RocksIterator getIterator(String columnFamilyName);
 
+    void forEach(String columnFamilyName, boolean parallel, boolean keysOnly, BiConsumer<byte[], byte[]> consumer);
+
+    void forEachByPrefix(String columnFamilyName, byte[] prefix, boolean keysOnly, BiConsumer<byte[], byte[]> consumer);
+
     boolean isEmpty(String columnFamilyName);
 
     IEntity get(Class<?> entityClass, Hash key);
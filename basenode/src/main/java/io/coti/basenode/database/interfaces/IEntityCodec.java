@@ -0,0 +1,12 @@
+package io.coti.basenode.database.interfaces;
+
+import io.coti.basenode.data.interfaces.IEntity;
+
+public interface IEntityCodec {
+
+    byte[] serialize(IEntity entity);
+
+    <T extends IEntity> T deserialize(byte[] bytes);
+
+    boolean isMigrationRequired(byte[] bytes);
+}
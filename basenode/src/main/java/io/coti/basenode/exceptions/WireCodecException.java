@@ -0,0 +1,12 @@
+package io.coti.basenode.exceptions;
+
+public class WireCodecException extends CotiRunTimeException {
+
+    public WireCodecException(String message) {
+        super(message);
+    }
+
+    public WireCodecException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,9 @@
+package io.coti.basenode.model;
+
+import io.coti.basenode.data.AccumulatedHashCheckpointData;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AccumulatedHashCheckpoints extends Collection<AccumulatedHashCheckpointData> {
+
+}
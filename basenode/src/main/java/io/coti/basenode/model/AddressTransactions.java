@@ -0,0 +1,75 @@
+package io.coti.basenode.model;
+
+import io.coti.basenode.data.AddressTransactionData;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.interfaces.IEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.rocksdb.WriteBatch;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+@Slf4j
+@Service
+public class AddressTransactions extends Collection<AddressTransactionData> {
+
+    private static final int MIGRATION_BATCH_SIZE = 10000;
+    private static final byte[] EMPTY_VALUE = new byte[0];
+
+    public void put(Hash addressHash, Hash transactionHash) {
+        put(new AddressTransactionData(addressHash, transactionHash));
+    }
+
+    @Override
+    public void put(IEntity entity) {
+        databaseConnector.put(columnFamilyName, entity.getHash().getBytes(), EMPTY_VALUE);
+    }
+
+    @Override
+    public void putBatch(Map<Hash, ? extends IEntity> entities) {
+        WriteBatch writeBatch = new WriteBatch();
+        entities.keySet().forEach(hash -> databaseConnector.put(columnFamilyName, writeBatch, hash.getBytes(), EMPTY_VALUE));
+        databaseConnector.putBatch(writeBatch);
+    }
+
+    @Override
+    public long migrateEntityEncoding() {
+        return 0;
+    }
+
+    public void forEachTransactionHash(Hash addressHash, Consumer<Hash> consumer) {
+        forEachByPrefix(AddressTransactionData.getAddressPrefix(addressHash), addressTransactionData -> consumer.accept(addressTransactionData.getTransactionHash()));
+    }
+
+    public void forEachByPrefix(byte[] prefix, Consumer<AddressTransactionData> consumer) {
+        databaseConnector.forEachByPrefix(columnFamilyName, prefix, true, (key, value) -> {
+            AddressTransactionData addressTransactionData = new AddressTransactionData(null, null);
+            addressTransactionData.setHash(new Hash(key));
+            consumer.accept(addressTransactionData);
+        });
+    }
+
+    public long migrateAddressTransactionsHistories(AddressTransactionsHistories addressTransactionsHistories) {
+        AtomicLong migratedEntries = new AtomicLong(0);
+        Map<Hash, AddressTransactionData> addressTransactionDataMap = new HashMap<>();
+        addressTransactionsHistories.forEach(addressTransactionsHistory ->
+                addressTransactionsHistory.getTransactionsHistory().forEach(transactionHash -> {
+                    AddressTransactionData addressTransactionData = new AddressTransactionData(addressTransactionsHistory.getHash(), transactionHash);
+                    addressTransactionDataMap.put(addressTransactionData.getHash(), addressTransactionData);
+                    if (addressTransactionDataMap.size() >= MIGRATION_BATCH_SIZE) {
+                        putBatch(addressTransactionDataMap);
+                        migratedEntries.addAndGet(addressTransactionDataMap.size());
+                        addressTransactionDataMap.clear();
+                    }
+                })
+        );
+        if (!addressTransactionDataMap.isEmpty()) {
+            putBatch(addressTransactionDataMap);
+            migratedEntries.addAndGet(addressTransactionDataMap.size());
+        }
+        return migratedEntries.get();
+    }
+}
@@ -0,0 +1,9 @@
+package io.coti.basenode.model;
+
+import io.coti.basenode.data.BalanceSnapshotData;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BalanceSnapshots extends Collection<BalanceSnapshotData> {
+
+}
@@ -1,51 +1,106 @@
 package io.coti.basenode.model;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.interfaces.IEntity;
 import io.coti.basenode.database.interfaces.IDatabaseConnector;
+import io.coti.basenode.database.interfaces.IEntityCodec;
 import lombok.extern.slf4j.Slf4j;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.util.SerializationUtils;
+import org.springframework.core.env.Environment;
 
-import java.util.Arrays;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.*;
 import java.util.function.Consumer;
 
 @Slf4j
 public abstract class Collection<T extends IEntity> {
 
     private static final int LOCK_BYTE_ARRAY_SIZE = 2;
+    private static final int MIGRATION_BATCH_SIZE = 10000;
+    private static final String CACHE_SIZE_PROPERTY_PREFIX = "db.collection.cache.";
+    private static final String CACHE_SIZE_PROPERTY_SUFFIX = ".size";
     @Autowired
     public IDatabaseConnector databaseConnector;
+    @Autowired
+    protected IEntityCodec entityCodec;
+    @Autowired
+    private Environment environment;
     protected String columnFamilyName = getClass().getName();
     private Map<Hash, byte[]> lockByteArrayMap;
+    // Encoded bytes are cached rather than entities: callers mutate the returned entities before putting them back,
+    // so every hit decodes a private copy instead of sharing one mutable instance between threads.
+    private Cache<Hash, Optional<byte[]>> entityCache;
 
     public void init() {
         log.info("Collection init running. Class: " + columnFamilyName);
+        initEntityCache();
+    }
+
+    private void initEntityCache() {
+        long cacheSize = getCacheSize();
+        if (cacheSize > 0) {
+            entityCache = CacheBuilder.newBuilder().maximumSize(cacheSize).recordStats().build();
+            log.info("Collection {} cache size: {}", columnFamilyName, cacheSize);
+        } else {
+            entityCache = null;
+        }
+    }
+
+    private long getCacheSize() {
+        if (environment == null) {
+            return 0;
+        }
+        Long cacheSize = environment.getProperty(CACHE_SIZE_PROPERTY_PREFIX + getClass().getSimpleName() + CACHE_SIZE_PROPERTY_SUFFIX, Long.class);
+        return cacheSize != null ? cacheSize : environment.getProperty(CACHE_SIZE_PROPERTY_PREFIX + "default" + CACHE_SIZE_PROPERTY_SUFFIX, Long.class, 0L);
     }
 
     public void put(IEntity entity) {
-        databaseConnector.put(columnFamilyName, entity.getHash().getBytes(), SerializationUtils.serialize(entity));
+        byte[] bytes = entityCodec.serialize(entity);
+        databaseConnector.put(columnFamilyName, entity.getHash().getBytes(), bytes);
+        cacheEntity(entity.getHash(), bytes);
     }
 
     public void put(WriteOptions writeOptions, IEntity entity) {
-        databaseConnector.put(columnFamilyName, writeOptions, entity.getHash().getBytes(), SerializationUtils.serialize(entity));
+        byte[] bytes = entityCodec.serialize(entity);
+        databaseConnector.put(columnFamilyName, writeOptions, entity.getHash().getBytes(), bytes);
+        cacheEntity(entity.getHash(), bytes);
     }
 
     public void putBatch(Map<Hash, ? extends IEntity> entities) {
         WriteBatch writeBatch = new WriteBatch();
-        entities.forEach((hash, entity) ->
-                databaseConnector.put(columnFamilyName, writeBatch, hash.getBytes(), SerializationUtils.serialize(entity))
-        );
+        Map<Hash, byte[]> hashToBytesMap = new HashMap<>();
+        entities.forEach((hash, entity) -> {
+            byte[] bytes = entityCodec.serialize(entity);
+            databaseConnector.put(columnFamilyName, writeBatch, hash.getBytes(), bytes);
+            hashToBytesMap.put(hash, bytes);
+        });
         databaseConnector.putBatch(writeBatch);
+        hashToBytesMap.forEach(this::cacheEntity);
     }
 
     public void delete(IEntity entity) {
-        databaseConnector.delete(columnFamilyName, entity.getHash().getBytes());
+        deleteByHash(entity.getHash());
+    }
+
+    private void cacheEntity(Hash hash, byte[] bytes) {
+        if (entityCache != null) {
+            entityCache.put(hash, Optional.ofNullable(bytes));
+        }
+    }
+
+    public void invalidateCache() {
+        if (entityCache != null) {
+            entityCache.invalidateAll();
+        }
+    }
+
+    public CacheStats getCacheStats() {
+        return entityCache != null ? entityCache.stats() : null;
     }
 
     public T getByHash(String hashStringInHexRepresentation) {
@@ -53,8 +108,60 @@ public abstract class Collection<T extends IEntity> {
     }
 
     public T getByHash(Hash hash) {
-        byte[] bytes = databaseConnector.getByKey(columnFamilyName, hash.getBytes());
-        T deserialized = (T) SerializationUtils.deserialize(bytes);
+        if (entityCache == null) {
+            return getFromDataBase(hash);
+        }
+        Optional<byte[]> cachedBytes = entityCache.getIfPresent(hash);
+        if (cachedBytes == null) {
+            Optional<byte[]> loadedBytes = Optional.ofNullable(databaseConnector.getByKey(columnFamilyName, hash.getBytes()));
+            cachedBytes = entityCache.asMap().putIfAbsent(hash, loadedBytes);
+            if (cachedBytes == null) {
+                cachedBytes = loadedBytes;
+            }
+        }
+        return deserialize(hash, cachedBytes.orElse(null));
+    }
+
+    public Map<Hash, T> getByHashes(List<Hash> hashes) {
+        Map<Hash, T> hashToEntityMap = new HashMap<>();
+        List<Hash> hashesToLoad = new ArrayList<>();
+        hashes.forEach(hash -> {
+            Optional<byte[]> cachedBytes = entityCache != null ? entityCache.getIfPresent(hash) : null;
+            if (cachedBytes == null) {
+                hashesToLoad.add(hash);
+            } else {
+                cachedBytes.map(bytes -> deserialize(hash, bytes)).ifPresent(entity -> hashToEntityMap.put(hash, entity));
+            }
+        });
+        if (hashesToLoad.isEmpty()) {
+            return hashToEntityMap;
+        }
+        List<byte[]> keys = new ArrayList<>(hashesToLoad.size());
+        hashesToLoad.forEach(hash -> keys.add(hash.getBytes()));
+        Map<byte[], byte[]> keyToValueMap = databaseConnector.getByKeys(columnFamilyName, keys);
+        for (int i = 0; i < keys.size(); i++) {
+            Hash hash = hashesToLoad.get(i);
+            byte[] bytes = keyToValueMap.get(keys.get(i));
+            if (entityCache != null) {
+                Optional<byte[]> cachedBytes = entityCache.asMap().putIfAbsent(hash, Optional.ofNullable(bytes));
+                if (cachedBytes != null) {
+                    bytes = cachedBytes.orElse(null);
+                }
+            }
+            T deserialized = deserialize(hash, bytes);
+            if (deserialized != null) {
+                hashToEntityMap.put(hash, deserialized);
+            }
+        }
+        return hashToEntityMap;
+    }
+
+    private T getFromDataBase(Hash hash) {
+        return deserialize(hash, databaseConnector.getByKey(columnFamilyName, hash.getBytes()));
+    }
+
+    private T deserialize(Hash hash, byte[] bytes) {
+        T deserialized = entityCodec.deserialize(bytes);
         if (deserialized instanceof IEntity) {
             deserialized.setHash(hash);
         }
@@ -62,18 +169,27 @@ public abstract class Collection<T extends IEntity> {
     }
 
     public void forEach(Consumer<T> consumer) {
-        RocksIterator iterator = databaseConnector.getIterator(columnFamilyName);
-        try {
-            iterator.seekToFirst();
-            while (iterator.isValid()) {
-                T deserialized = (T) SerializationUtils.deserialize(iterator.value());
-                deserialized.setHash(new Hash(iterator.key()));
-                consumer.accept(deserialized);
-                iterator.next();
-            }
-        } finally {
-            iterator.close();
-        }
+        forEach(false, consumer);
+    }
+
+    public void parallelForEach(Consumer<T> consumer) {
+        forEach(true, consumer);
+    }
+
+    private void forEach(boolean parallel, Consumer<T> consumer) {
+        databaseConnector.forEach(columnFamilyName, parallel, false, (key, value) -> {
+            T deserialized = entityCodec.deserialize(value);
+            deserialized.setHash(new Hash(key));
+            consumer.accept(deserialized);
+        });
+    }
+
+    public void forEachHash(Consumer<Hash> consumer) {
+        databaseConnector.forEach(columnFamilyName, false, true, (key, value) -> consumer.accept(new Hash(key)));
+    }
+
+    public void parallelForEachHash(Consumer<Hash> consumer) {
+        databaseConnector.forEach(columnFamilyName, true, true, (key, value) -> consumer.accept(new Hash(key)));
     }
 
     public void lockAndGetByHash(Hash hash, Consumer<T> consumer) {
@@ -110,19 +226,62 @@ public abstract class Collection<T extends IEntity> {
 
     public void deleteByHash(Hash hash) {
         databaseConnector.delete(columnFamilyName, hash.getBytes());
+        cacheEntity(hash, null);
     }
 
     public void deleteAll() {
+        try {
+            databaseConnector.deleteAll(columnFamilyName);
+        } finally {
+            invalidateCache();
+        }
+    }
+
+    public void deleteByPrefix(byte[] prefix) {
+        try {
+            databaseConnector.deleteByPrefix(columnFamilyName, prefix);
+        } finally {
+            invalidateCache();
+        }
+    }
+
+    public void deleteRange(Hash beginHash, Hash endHash) {
+        try {
+            databaseConnector.deleteRange(columnFamilyName, beginHash.getBytes(), endHash.getBytes());
+        } finally {
+            invalidateCache();
+        }
+    }
+
+    public long migrateEntityEncoding() {
+        long migratedEntities = 0;
         RocksIterator iterator = databaseConnector.getIterator(columnFamilyName);
+        WriteBatch writeBatch = new WriteBatch();
         try {
             iterator.seekToFirst();
             while (iterator.isValid()) {
-                databaseConnector.delete(columnFamilyName, iterator.key());
+                byte[] value = iterator.value();
+                if (entityCodec.isMigrationRequired(value)) {
+                    byte[] migratedValue = entityCodec.serialize(entityCodec.deserialize(value));
+                    if (!entityCodec.isMigrationRequired(migratedValue)) {
+                        databaseConnector.put(columnFamilyName, writeBatch, iterator.key(), migratedValue);
+                        migratedEntities++;
+                    }
+                }
+                if (writeBatch.count() >= MIGRATION_BATCH_SIZE) {
+                    databaseConnector.putBatch(writeBatch);
+                    writeBatch.clear();
+                }
                 iterator.next();
             }
+            if (writeBatch.count() > 0) {
+                databaseConnector.putBatch(writeBatch);
+            }
         } finally {
             iterator.close();
+            writeBatch.close();
         }
+        return migratedEntities;
     }
 
     protected void generateLockObjects() {
@@ -0,0 +1,138 @@
+package io.coti.basenode.services;
+
+import com.google.common.primitives.Longs;
+import io.coti.basenode.data.AccumulatedHashCheckpointData;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionIndexData;
+import io.coti.basenode.model.AccumulatedHashCheckpoints;
+import io.coti.basenode.model.TransactionIndexes;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+public class AccumulatedHashCheckpointService {
+
+    private static final byte[] GENESIS_ACCUMULATED_HASH = "GENESIS".getBytes();
+    @Value("${transaction.index.checkpoint.interval:100000}")
+    private long checkpointInterval;
+    @Value("${transaction.index.verification.threads:0}")
+    private int verificationThreads;
+    @Autowired
+    private AccumulatedHashCheckpoints accumulatedHashCheckpoints;
+    @Autowired
+    private TransactionIndexes transactionIndexes;
+    @Autowired
+    private TransactionIndexService transactionIndexService;
+
+    public long verifyTransactionIndexes(long fromIndex, long toIndex) {
+        long startIndex = Math.max(fromIndex, getLastValidCheckpointIndex(toIndex));
+        if (startIndex >= toIndex) {
+            log.info("Transaction indexes up to {} are already verified", toIndex);
+            return toIndex;
+        }
+        Instant startTime = Instant.now();
+        List<long[]> segments = getSegments(startIndex, toIndex);
+        int numberOfVerificationThreads = verificationThreads > 0 ? verificationThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService verificationExecutor = Executors.newFixedThreadPool(Math.min(numberOfVerificationThreads, segments.size()),
+                runnable -> new Thread(runnable, "Index Verification-" + threadNumber.incrementAndGet()));
+        long verifiedIndex = startIndex;
+        try {
+            List<Future<Long>> segmentFutures = new ArrayList<>();
+            segments.forEach(segment -> segmentFutures.add(verificationExecutor.submit(() -> verifySegment(segment[0], segment[1]))));
+            for (int i = 0; i < segments.size(); i++) {
+                long segmentVerifiedIndex = segmentFutures.get(i).get();
+                if (segmentVerifiedIndex < segments.get(i)[1]) {
+                    verifiedIndex = Math.max(verifiedIndex, segmentVerifiedIndex);
+                    break;
+                }
+                verifiedIndex = segmentVerifiedIndex;
+                addCheckpoint(verifiedIndex);
+            }
+        } catch (InterruptedException e) {
+            log.error("Interrupted transaction index verification");
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Transaction index verification error", e);
+        } finally {
+            verificationExecutor.shutdownNow();
+        }
+        log.info("Verified transaction indexes {} to {} in {} segments in {} ms", startIndex + 1, verifiedIndex, segments.size(),
+                Duration.between(startTime, Instant.now()).toMillis());
+        return verifiedIndex;
+    }
+
+    private List<long[]> getSegments(long startIndex, long toIndex) {
+        List<long[]> segments = new ArrayList<>();
+        long segmentStartIndex = startIndex;
+        while (segmentStartIndex < toIndex) {
+            long segmentEndIndex = Math.min(toIndex, (Math.floorDiv(segmentStartIndex + 1, checkpointInterval) + 1) * checkpointInterval);
+            segments.add(new long[]{segmentStartIndex, segmentEndIndex});
+            segmentStartIndex = segmentEndIndex;
+        }
+        return segments;
+    }
+
+    private long verifySegment(long segmentStartIndex, long segmentEndIndex) {
+        byte[] accumulatedHash = GENESIS_ACCUMULATED_HASH;
+        if (segmentStartIndex >= 0) {
+            TransactionIndexData transactionIndexData = transactionIndexes.getByHash(new Hash(segmentStartIndex));
+            if (transactionIndexData == null) {
+                return segmentStartIndex;
+            }
+            accumulatedHash = transactionIndexData.getAccumulatedHash();
+        }
+        for (long i = segmentStartIndex + 1; i <= segmentEndIndex; i++) {
+            TransactionIndexData transactionIndexData = transactionIndexes.getByHash(new Hash(i));
+            if (transactionIndexData == null) {
+                log.error("Null transaction index data found for index {}", i);
+                return i - 1;
+            }
+            accumulatedHash = transactionIndexService.getAccumulatedHash(accumulatedHash, transactionIndexData.getTransactionHash(), i);
+            if (!Arrays.equals(accumulatedHash, transactionIndexData.getAccumulatedHash())) {
+                log.error("Incorrect accumulated hash for index {}", i);
+                return i - 1;
+            }
+        }
+        return segmentEndIndex;
+    }
+
+    private long getLastValidCheckpointIndex(long toIndex) {
+        List<Long> checkpointIndexes = new ArrayList<>();
+        accumulatedHashCheckpoints.forEachHash(hash -> checkpointIndexes.add(Longs.fromByteArray(hash.getBytes())));
+        checkpointIndexes.sort(Comparator.reverseOrder());
+        for (Long checkpointIndex : checkpointIndexes) {
+            if (checkpointIndex > toIndex) {
+                continue;
+            }
+            AccumulatedHashCheckpointData accumulatedHashCheckpointData = accumulatedHashCheckpoints.getByHash(new Hash(checkpointIndex));
+            TransactionIndexData transactionIndexData = transactionIndexes.getByHash(new Hash(checkpointIndex));
+            if (accumulatedHashCheckpointData != null && transactionIndexData != null &&
+                    Arrays.equals(accumulatedHashCheckpointData.getAccumulatedHash(), transactionIndexData.getAccumulatedHash())) {
+                return checkpointIndex;
+            }
+            log.warn("Accumulated hash checkpoint of index {} is invalid", checkpointIndex);
+            accumulatedHashCheckpoints.deleteByHash(new Hash(checkpointIndex));
+        }
+        return -1;
+    }
+
+    private void addCheckpoint(long index) {
+        TransactionIndexData transactionIndexData = transactionIndexes.getByHash(new Hash(index));
+        if (transactionIndexData != null) {
+            accumulatedHashCheckpoints.put(new AccumulatedHashCheckpointData(transactionIndexData));
+        }
+    }
+}
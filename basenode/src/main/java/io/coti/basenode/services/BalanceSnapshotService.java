@@ -0,0 +1,188 @@
+package io.coti.basenode.services;
+
+import com.google.common.primitives.Longs;
+import io.coti.basenode.crypto.BalanceSnapshotCrypto;
+import io.coti.basenode.crypto.NodeCryptoHelper;
+import io.coti.basenode.data.BalanceSnapshotData;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.data.TransactionIndexData;
+import io.coti.basenode.model.BalanceSnapshots;
+import io.coti.basenode.model.TransactionIndexes;
+import io.coti.basenode.services.interfaces.IBalanceService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class BalanceSnapshotService {
+
+    @Value("${balance.snapshot.enabled:true}")
+    private boolean balanceSnapshotEnabled;
+    @Value("${balance.snapshot.interval:10000}")
+    private long balanceSnapshotInterval;
+    @Value("${balance.snapshot.retained:2}")
+    private int retainedBalanceSnapshots;
+    @Autowired
+    private IBalanceService balanceService;
+    @Autowired
+    private BalanceSnapshots balanceSnapshots;
+    @Autowired
+    private TransactionIndexes transactionIndexes;
+    @Autowired
+    private BalanceSnapshotCrypto balanceSnapshotCrypto;
+    private final Set<Hash> indexedUnconfirmedTransactionHashes = ConcurrentHashMap.newKeySet();
+    private final Set<Long> processedIndexesAhead = new HashSet<>();
+    private volatile long lastProcessedIndex = -1;
+    private long lastBalanceSnapshotIndex = -1;
+    private BalanceSnapshotData loadedBalanceSnapshot;
+    private ExecutorService balanceSnapshotExecutor;
+
+    public void init() {
+        if (balanceSnapshotEnabled) {
+            balanceSnapshotExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "Balance Snapshot"));
+            loadLatestValidBalanceSnapshot();
+        }
+        log.info("{} is up", this.getClass().getSimpleName());
+    }
+
+    private void loadLatestValidBalanceSnapshot() {
+        List<Long> balanceSnapshotIndexes = getBalanceSnapshotIndexes();
+        Collections.reverse(balanceSnapshotIndexes);
+        for (Long balanceSnapshotIndex : balanceSnapshotIndexes) {
+            BalanceSnapshotData balanceSnapshotData = balanceSnapshots.getByHash(new Hash(balanceSnapshotIndex));
+            if (isValidBalanceSnapshot(balanceSnapshotData)) {
+                balanceService.updateBalancesFromSnapshot(balanceSnapshotData.getBalances());
+                indexedUnconfirmedTransactionHashes.addAll(balanceSnapshotData.getUnconfirmedTransactionHashes());
+                lastProcessedIndex = balanceSnapshotData.getIndex();
+                lastBalanceSnapshotIndex = balanceSnapshotData.getIndex();
+                loadedBalanceSnapshot = balanceSnapshotData;
+                log.info("Balance snapshot of index {} created at {} is loaded. Addresses: {}", balanceSnapshotData.getIndex(), balanceSnapshotData.getCreateTime(), balanceSnapshotData.getBalances().size());
+                return;
+            }
+            log.warn("Balance snapshot of index {} is invalid", balanceSnapshotIndex);
+        }
+        log.info("No valid balance snapshot found. Balances will be replayed from the clusterstamp");
+    }
+
+    private boolean isValidBalanceSnapshot(BalanceSnapshotData balanceSnapshotData) {
+        try {
+            if (balanceSnapshotData == null || !NodeCryptoHelper.getNodeHash().equals(balanceSnapshotData.getSignerHash()) || !balanceSnapshotCrypto.verifySignature(balanceSnapshotData)) {
+                return false;
+            }
+            TransactionIndexData transactionIndexData = transactionIndexes.getByHash(new Hash(balanceSnapshotData.getIndex()));
+            return transactionIndexData != null && Arrays.equals(transactionIndexData.getAccumulatedHash(), balanceSnapshotData.getAccumulatedHash());
+        } catch (Exception e) {
+            log.error("Balance snapshot validation error", e);
+            return false;
+        }
+    }
+
+    public Optional<BalanceSnapshotData> getLoadedBalanceSnapshot() {
+        return Optional.ofNullable(loadedBalanceSnapshot);
+    }
+
+    public void releaseLoadedBalanceSnapshot() {
+        loadedBalanceSnapshot = null;
+    }
+
+    public boolean isIncludedInLoadedBalanceSnapshot(TransactionData transactionData) {
+        return loadedBalanceSnapshot != null && transactionData.getDspConsensusResult() != null &&
+                transactionData.getDspConsensusResult().getIndex() <= loadedBalanceSnapshot.getIndex() &&
+                !loadedBalanceSnapshot.getUnconfirmedTransactionHashes().contains(transactionData.getHash());
+    }
+
+    public void addIndexedTransaction(TransactionData transactionData, boolean confirmed) {
+        if (!balanceSnapshotEnabled) {
+            return;
+        }
+        if (!confirmed) {
+            indexedUnconfirmedTransactionHashes.add(transactionData.getHash());
+        }
+        setProcessedIndex(transactionData.getDspConsensusResult().getIndex());
+    }
+
+    public void removeIndexedUnconfirmedTransaction(Hash transactionHash) {
+        if (balanceSnapshotEnabled) {
+            indexedUnconfirmedTransactionHashes.remove(transactionHash);
+        }
+    }
+
+    private synchronized void setProcessedIndex(long index) {
+        if (index <= lastProcessedIndex) {
+            return;
+        }
+        processedIndexesAhead.add(index);
+        long nextIndex = lastProcessedIndex + 1;
+        while (processedIndexesAhead.remove(nextIndex)) {
+            nextIndex++;
+        }
+        lastProcessedIndex = nextIndex - 1;
+    }
+
+    public boolean isBalanceSnapshotRequired() {
+        return balanceSnapshotEnabled && lastProcessedIndex - lastBalanceSnapshotIndex >= balanceSnapshotInterval;
+    }
+
+    public void takeBalanceSnapshotIfRequired() {
+        if (!isBalanceSnapshotRequired()) {
+            return;
+        }
+        TransactionIndexData transactionIndexData = transactionIndexes.getByHash(new Hash(lastProcessedIndex));
+        if (transactionIndexData == null) {
+            return;
+        }
+        BalanceSnapshotData balanceSnapshotData = new BalanceSnapshotData(transactionIndexData, balanceService.getBalances(), indexedUnconfirmedTransactionHashes);
+        lastBalanceSnapshotIndex = balanceSnapshotData.getIndex();
+        balanceSnapshotExecutor.execute(() -> storeBalanceSnapshot(balanceSnapshotData));
+    }
+
+    private void storeBalanceSnapshot(BalanceSnapshotData balanceSnapshotData) {
+        try {
+            Instant startTime = Instant.now();
+            balanceSnapshotCrypto.signMessage(balanceSnapshotData);
+            balanceSnapshots.put(balanceSnapshotData);
+            List<Long> balanceSnapshotIndexes = getBalanceSnapshotIndexes();
+            for (int i = 0; i < balanceSnapshotIndexes.size() - retainedBalanceSnapshots; i++) {
+                balanceSnapshots.deleteByHash(new Hash(balanceSnapshotIndexes.get(i)));
+            }
+            log.info("Balance snapshot of index {} is stored in {} ms. Addresses: {}, unconfirmed indexed transactions: {}", balanceSnapshotData.getIndex(),
+                    Duration.between(startTime, Instant.now()).toMillis(), balanceSnapshotData.getBalances().size(), balanceSnapshotData.getUnconfirmedTransactionHashes().size());
+        } catch (Exception e) {
+            log.error("Error at storing balance snapshot of index {}", balanceSnapshotData.getIndex(), e);
+        }
+    }
+
+    private List<Long> getBalanceSnapshotIndexes() {
+        List<Long> balanceSnapshotIndexes = new ArrayList<>();
+        balanceSnapshots.forEachHash(hash -> balanceSnapshotIndexes.add(Longs.fromByteArray(hash.getBytes())));
+        Collections.sort(balanceSnapshotIndexes);
+        return balanceSnapshotIndexes;
+    }
+
+    public void shutdown() {
+        if (balanceSnapshotExecutor == null) {
+            return;
+        }
+        log.info("Shutting down {}", this.getClass().getSimpleName());
+        balanceSnapshotExecutor.shutdown();
+        try {
+            if (!balanceSnapshotExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.error("Balance snapshot storing didn't finish on time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted shutdown {}", this.getClass().getSimpleName());
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.coti.basenode.data.AddressData;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.RequestedAddressHashData;
+import io.coti.basenode.database.interfaces.IEntityCodec;
 import io.coti.basenode.http.AddressFileRequest;
 import io.coti.basenode.http.CustomGson;
 import io.coti.basenode.http.Response;
@@ -20,11 +21,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.util.SerializationUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
@@ -41,6 +42,10 @@ public class BaseNodeAddressService implements IAddressService {
     private Addresses addresses;
     @Autowired
     private IValidationService validationService;
+    @Autowired
+    private IEntityCodec entityCodec;
+    @Autowired
+    private StreamCompressionService streamCompressionService;
 
     public void init() {
         log.info("{} is up", this.getClass().getSimpleName());
@@ -90,24 +95,22 @@ public class BaseNodeAddressService implements IAddressService {
     @Override
     public void getAddressBatch(HttpServletResponse response) {
         try {
-            PrintWriter output = response.getWriter();
+            PrintWriter output = new PrintWriter(new OutputStreamWriter(streamCompressionService.getResponseOutputStream(response), StandardCharsets.UTF_8));
             output.write("[");
-            output.flush();
 
             RocksIterator iterator = addresses.getIterator();
             iterator.seekToFirst();
             while (iterator.isValid()) {
-                AddressData addressData = (AddressData) SerializationUtils.deserialize(iterator.value());
+                AddressData addressData = entityCodec.deserialize(iterator.value());
                 addressData.setHash(new Hash(iterator.key()));
                 output.write(new CustomGson().getInstance().toJson(new AddressResponseData(addressData)));
                 iterator.next();
                 if (iterator.isValid()) {
                     output.write(",");
                 }
-                output.flush();
             }
             output.write("]");
-            output.flush();
+            output.close();
         } catch (Exception e) {
             log.error("Error at get address batch: " + e);
         }
@@ -106,6 +106,24 @@ public class BaseNodeAwsService implements IAwsService {
         }
     }
 
+    @Override
+    public void uploadFileToS3(String bucketName, String s3Path, File file) {
+        try {
+            s3Client.putObject(new PutObjectRequest(bucketName, s3Path, file));
+        } catch (Exception e) {
+            throw new AwsDataTransferException(String.format("Unable to upload file %s to S3.", s3Path), e);
+        }
+    }
+
+    @Override
+    public void downloadFileFromS3(String bucketName, String s3Path, File destination) {
+        try {
+            s3Client.getObject(new GetObjectRequest(bucketName, s3Path), destination);
+        } catch (Exception e) {
+            throw new AwsDataTransferException(String.format("Unable to download file %s from S3.", s3Path), e);
+        }
+    }
+
     @Override
     public List<String> listS3Paths(String bucketName, String path) {
         try {
@@ -115,9 +133,11 @@ public class BaseNodeAwsService implements IAwsService {
                             .withPrefix(path + "/");
             List<String> keys = new ArrayList<>();
             ObjectListing objects = s3Client.listObjects(listObjectsRequest);
-
-            List<S3ObjectSummary> summaries = objects.getObjectSummaries();
-            summaries.forEach(s -> keys.add(s.getKey()));
+            objects.getObjectSummaries().forEach(s -> keys.add(s.getKey()));
+            while (objects.isTruncated()) {
+                objects = s3Client.listNextBatchOfObjects(objects);
+                objects.getObjectSummaries().forEach(s -> keys.add(s.getKey()));
+            }
             return keys;
         } catch (Exception e) {
             throw new AwsDataTransferException("List S3 paths error.", e);
@@ -12,6 +12,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -116,18 +117,27 @@ public class BaseNodeBalanceService implements IBalanceService {
         preBalanceMap.putAll(balanceMap);
     }
 
+    @Override
+    public void updateBalancesFromSnapshot(Map<Hash, BigDecimal> balances) {
+        balanceMap.clear();
+        balanceMap.putAll(balances);
+        preBalanceMap.clear();
+        preBalanceMap.putAll(balances);
+    }
+
+    @Override
+    public Map<Hash, BigDecimal> getBalances() {
+        return Collections.unmodifiableMap(balanceMap);
+    }
+
     @Override
     public void updateBalance(Hash addressHash, BigDecimal amount) {
-        balanceMap.computeIfPresent(addressHash, (currentHash, currentAmount) ->
-                currentAmount.add(amount));
-        balanceMap.putIfAbsent(addressHash, amount);
+        balanceMap.merge(addressHash, amount, BigDecimal::add);
     }
 
     @Override
     public void updatePreBalance(Hash addressHash, BigDecimal amount) {
-        preBalanceMap.computeIfPresent(addressHash, (currentHash, currentAmount) ->
-                currentAmount.add(amount));
-        preBalanceMap.putIfAbsent(addressHash, amount);
+        preBalanceMap.merge(addressHash, amount, BigDecimal::add);
     }
 
     @Override
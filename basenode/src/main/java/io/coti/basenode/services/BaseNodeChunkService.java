@@ -1,6 +1,7 @@
 package io.coti.basenode.services;
 
 import io.coti.basenode.communication.JacksonSerializer;
+import io.coti.basenode.communication.RecordStreamReader;
 import io.coti.basenode.data.interfaces.IPropagatable;
 import io.coti.basenode.exceptions.ChunkException;
 import io.coti.basenode.services.interfaces.IChunkService;
@@ -10,7 +11,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.ResponseExtractor;
 
 import java.io.PrintWriter;
-import java.util.Arrays;
 import java.util.function.Consumer;
 
 @Service
@@ -41,20 +41,15 @@ public class BaseNodeChunkService implements IChunkService {
     }
 
     @Override
-    public ResponseExtractor getResponseExtractor(Consumer<IPropagatable> consumer, int maxBufferSize) {
+    public ResponseExtractor getResponseExtractor(Consumer<IPropagatable> consumer, int maxRecordSize) {
         return response -> {
             try {
-                byte[] buf = new byte[maxBufferSize];
-                int offset = 0;
-                int n;
-                while ((n = response.getBody().read(buf, offset, buf.length - offset)) > 0) {
-                    IPropagatable chunkedData = jacksonSerializer.deserialize(buf);
+                RecordStreamReader recordStreamReader = new RecordStreamReader(response.getBody(), maxRecordSize);
+                byte[] record;
+                while ((record = recordStreamReader.readRecord()) != null) {
+                    IPropagatable chunkedData = jacksonSerializer.deserialize(record);
                     if (chunkedData != null) {
                         consumer.accept(chunkedData);
-                        Arrays.fill(buf, 0, offset + n, (byte) 0);
-                        offset = 0;
-                    } else {
-                        offset += n;
                     }
                 }
                 return null;
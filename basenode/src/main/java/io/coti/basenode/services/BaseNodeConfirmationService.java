@@ -8,6 +8,7 @@ import io.coti.basenode.services.interfaces.IConfirmationService;
 import io.coti.basenode.services.interfaces.ITransactionHelper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -15,6 +16,7 @@ import java.util.*;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
@@ -31,6 +33,17 @@ public class BaseNodeConfirmationService implements IConfirmationService {
     private TransactionIndexes transactionIndexes;
     @Autowired
     private Transactions transactions;
+    @Autowired
+    private BalanceSnapshotService balanceSnapshotService;
+    @Autowired
+    private AccumulatedHashCheckpointService accumulatedHashCheckpointService;
+    @Autowired
+    private TrustChainConfirmationService trustChainConfirmationService;
+    @Value("${confirmation.apply.workers:4}")
+    private int confirmationApplyWorkers;
+    @Value("${confirmation.apply.queue.size:10000}")
+    private int confirmationApplyQueueSize;
+    private PartitionedWorkerPool confirmationApplyWorkerPool;
     private BlockingQueue<ConfirmationData> confirmationQueue;
     private Map<Long, DspConsensusResult> waitingDspConsensusResults = new ConcurrentHashMap<>();
     private Map<Long, TransactionData> waitingMissingTransactionIndexes = new ConcurrentHashMap<>();
@@ -41,6 +54,10 @@ public class BaseNodeConfirmationService implements IConfirmationService {
 
     public void init() {
         confirmationQueue = new LinkedBlockingQueue<>();
+        if (confirmationApplyWorkers > 0) {
+            confirmationApplyWorkerPool = new PartitionedWorkerPool("Confirmation Apply", confirmationApplyWorkers, confirmationApplyQueueSize);
+            confirmationApplyWorkerPool.start();
+        }
         confirmedTransactionsThread = new Thread(this::updateConfirmedTransactions);
         confirmedTransactionsThread.start();
         log.info("{} is up", this.getClass().getSimpleName());
@@ -49,11 +66,16 @@ public class BaseNodeConfirmationService implements IConfirmationService {
     @Override
     public void setLastDspConfirmationIndex(AtomicLong maxTransactionIndex) {
         log.info("Started to set last dsp confirmation index");
-        byte[] accumulatedHash = "GENESIS".getBytes();
         TransactionIndexData transactionIndexData = new TransactionIndexData(new Hash(-1), -1, "GENESIS".getBytes());
         TransactionIndexData nextTransactionIndexData;
+        Optional<BalanceSnapshotData> optionalBalanceSnapshotData = balanceSnapshotService.getLoadedBalanceSnapshot();
+        if (optionalBalanceSnapshotData.isPresent()) {
+            transactionIndexData = transactionIndexes.getByHash(new Hash(optionalBalanceSnapshotData.get().getIndex()));
+            updateBalanceSnapshotConfirmations(optionalBalanceSnapshotData.get());
+        }
+        long verifiedTransactionIndex = accumulatedHashCheckpointService.verifyTransactionIndexes(transactionIndexData.getIndex(), maxTransactionIndex.get());
         try {
-            for (long i = 0; i <= maxTransactionIndex.get(); i++) {
+            for (long i = transactionIndexData.getIndex() + 1; i <= verifiedTransactionIndex; i++) {
                 nextTransactionIndexData = transactionIndexes.getByHash(new Hash(i));
                 if (nextTransactionIndexData == null) {
                     log.error("Null transaction index data found for index {}", i);
@@ -69,9 +91,8 @@ public class BaseNodeConfirmationService implements IConfirmationService {
                     log.error("Null dsp consensus result found for index {} and transaction {}", i, transactionData.getHash());
                     return;
                 }
-                accumulatedHash = transactionIndexService.getAccumulatedHash(accumulatedHash, transactionData.getHash(), transactionData.getDspConsensusResult().getIndex());
-                if (!Arrays.equals(accumulatedHash, nextTransactionIndexData.getAccumulatedHash())) {
-                    log.error("Incorrect accumulated hash");
+                if (transactionData.getDspConsensusResult().getIndex() != i) {
+                    log.error("Dsp consensus result index {} of transaction {} doesn't match index {}", transactionData.getDspConsensusResult().getIndex(), transactionData.getHash(), i);
                     return;
                 }
                 dspConfirmed.incrementAndGet();
@@ -81,19 +102,38 @@ public class BaseNodeConfirmationService implements IConfirmationService {
                             balanceService.updateBalance(baseTransactionData.getAddressHash(), baseTransactionData.getAmount())
                     );
                 }
+                balanceSnapshotService.addIndexedTransaction(transactionData, transactionData.isTrustChainConsensus());
                 transactionIndexData = nextTransactionIndexData;
             }
         } finally {
+            balanceSnapshotService.releaseLoadedBalanceSnapshot();
             transactionIndexService.setLastTransactionIndexData(transactionIndexData);
             log.info("Finished to set last dsp confirmation index: {}", transactionIndexData.getIndex());
         }
     }
 
+    private void updateBalanceSnapshotConfirmations(BalanceSnapshotData balanceSnapshotData) {
+        long balanceSnapshotTransactionNumber = balanceSnapshotData.getIndex() + 1;
+        dspConfirmed.addAndGet(balanceSnapshotTransactionNumber);
+        totalConfirmed.addAndGet(balanceSnapshotTransactionNumber - balanceSnapshotData.getUnconfirmedTransactionHashes().size());
+        balanceSnapshotData.getUnconfirmedTransactionHashes().forEach(transactionHash -> {
+            TransactionData transactionData = transactions.getByHash(transactionHash);
+            if (transactionData != null && transactionData.isTrustChainConsensus()) {
+                totalConfirmed.incrementAndGet();
+                transactionData.getBaseTransactions().forEach(baseTransactionData ->
+                        balanceService.updateBalance(baseTransactionData.getAddressHash(), baseTransactionData.getAmount())
+                );
+                balanceSnapshotService.removeIndexedUnconfirmedTransaction(transactionHash);
+            }
+        });
+    }
+
     private void updateConfirmedTransactions() {
         while (!Thread.currentThread().isInterrupted()) {
             try {
                 ConfirmationData confirmationData = confirmationQueue.take();
                 updateConfirmedTransactionHandler(confirmationData);
+                takeBalanceSnapshotIfRequired();
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
@@ -106,6 +146,13 @@ public class BaseNodeConfirmationService implements IConfirmationService {
         }
     }
 
+    private void takeBalanceSnapshotIfRequired() throws InterruptedException {
+        if (confirmationApplyWorkerPool != null && balanceSnapshotService.isBalanceSnapshotRequired()) {
+            confirmationApplyWorkerPool.awaitCompletion();
+        }
+        balanceSnapshotService.takeBalanceSnapshotIfRequired();
+    }
+
     private void updateConfirmedTransactionHandler(ConfirmationData confirmationData) {
         transactions.lockAndGetByHash(confirmationData.getHash(), transactionData -> {
             if (confirmationData instanceof TccInfo) {
@@ -122,11 +169,19 @@ public class BaseNodeConfirmationService implements IConfirmationService {
                     continueHandleDSPConfirmedTransaction(transactionData);
                     dspConfirmed.incrementAndGet();
                 }
+                balanceSnapshotService.addIndexedTransaction(transactionData, transactionHelper.isConfirmed(transactionData));
             }
-            if (transactionHelper.isConfirmed(transactionData)) {
+            boolean confirmed = transactionHelper.isConfirmed(transactionData);
+            if (confirmed) {
                 processConfirmedTransaction(transactionData);
             }
             transactions.put(transactionData);
+            if (confirmationData instanceof TccInfo) {
+                trustChainConfirmationService.removeConfirmedTransaction(transactionData.getHash());
+            }
+            if (confirmed) {
+                applyConfirmedTransaction(transactionData);
+            }
         });
 
     }
@@ -157,15 +212,54 @@ public class BaseNodeConfirmationService implements IConfirmationService {
         Instant dspConsensusTime = transactionData.getDspConsensusResult().getIndexingTime();
         Instant transactionConsensusUpdateTime = trustChainConsensusTime.isAfter(dspConsensusTime) ? trustChainConsensusTime : dspConsensusTime;
         transactionData.setTransactionConsensusUpdateTime(transactionConsensusUpdateTime);
-        transactionData.getBaseTransactions().forEach(baseTransactionData -> balanceService.updateBalance(baseTransactionData.getAddressHash(), baseTransactionData.getAmount()));
         totalConfirmed.incrementAndGet();
+        balanceSnapshotService.removeIndexedUnconfirmedTransaction(transactionData.getHash());
+    }
 
-        transactionData.getBaseTransactions().forEach(baseTransactionData -> {
-            Hash addressHash = baseTransactionData.getAddressHash();
-            balanceService.continueHandleBalanceChanges(addressHash);
-        });
+    private void applyConfirmedTransaction(TransactionData transactionData) {
+        if (confirmationApplyWorkerPool == null) {
+            applyBalanceChanges(transactionData.getBaseTransactions());
+            continueHandleAddressHistoryChanges(transactionData);
+            return;
+        }
+        Map<Integer, List<BaseTransactionData>> partitionToBaseTransactionsMap = new LinkedHashMap<>();
+        transactionData.getBaseTransactions().forEach(baseTransactionData ->
+                partitionToBaseTransactionsMap.computeIfAbsent(confirmationApplyWorkerPool.getPartition(baseTransactionData.getAddressHash()), partition -> new ArrayList<>()).add(baseTransactionData)
+        );
+        if (partitionToBaseTransactionsMap.isEmpty()) {
+            continueHandleAddressHistoryChanges(transactionData);
+            return;
+        }
+        AtomicInteger remainingPartitions = new AtomicInteger(partitionToBaseTransactionsMap.size());
+        partitionToBaseTransactionsMap.forEach((partition, baseTransactions) -> executeConfirmationApplyTask(partition, () -> {
+            try {
+                applyBalanceChanges(baseTransactions);
+            } finally {
+                if (remainingPartitions.decrementAndGet() == 0) {
+                    continueHandleAddressHistoryChanges(transactionData);
+                }
+            }
+        }));
+    }
 
-        continueHandleAddressHistoryChanges(transactionData);
+    private void executeConfirmationApplyTask(int partition, Runnable task) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                confirmationApplyWorkerPool.execute(partition, task);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void applyBalanceChanges(List<BaseTransactionData> baseTransactions) {
+        baseTransactions.forEach(baseTransactionData -> balanceService.updateBalance(baseTransactionData.getAddressHash(), baseTransactionData.getAmount()));
+        baseTransactions.forEach(baseTransactionData -> balanceService.continueHandleBalanceChanges(baseTransactionData.getAddressHash()));
     }
 
     protected void continueHandleDSPConfirmedTransaction(TransactionData transactionData) {
@@ -179,14 +273,16 @@ public class BaseNodeConfirmationService implements IConfirmationService {
     @Override
     public void insertSavedTransaction(TransactionData transactionData, AtomicLong maxTransactionIndex) {
         boolean isDspConfirmed = transactionHelper.isDspConfirmed(transactionData);
-        transactionData.getBaseTransactions().forEach(baseTransactionData ->
-                balanceService.updatePreBalance(baseTransactionData.getAddressHash(), baseTransactionData.getAmount())
-        );
+        if (!balanceSnapshotService.isIncludedInLoadedBalanceSnapshot(transactionData)) {
+            transactionData.getBaseTransactions().forEach(baseTransactionData ->
+                    balanceService.updatePreBalance(baseTransactionData.getAddressHash(), baseTransactionData.getAmount())
+            );
+        }
         if (!isDspConfirmed) {
             transactionHelper.addNoneIndexedTransaction(transactionData);
         }
         if (transactionData.getDspConsensusResult() != null) {
-            maxTransactionIndex.set(Math.max(maxTransactionIndex.get(), transactionData.getDspConsensusResult().getIndex()));
+            maxTransactionIndex.accumulateAndGet(transactionData.getDspConsensusResult().getIndex(), Math::max);
         }
 
         if (transactionData.isTrustChainConsensus()) {
@@ -250,6 +346,7 @@ public class BaseNodeConfirmationService implements IConfirmationService {
             transactionData.getBaseTransactions().forEach(baseTransactionData -> balanceService.updateBalance(baseTransactionData.getAddressHash(), baseTransactionData.getAmount()));
             totalConfirmed.incrementAndGet();
         }
+        balanceSnapshotService.addIndexedTransaction(transactionData, transactionData.isTrustChainConsensus());
     }
 
     @Override
@@ -290,6 +387,9 @@ public class BaseNodeConfirmationService implements IConfirmationService {
         confirmedTransactionsThread.interrupt();
         try {
             confirmedTransactionsThread.join();
+            if (confirmationApplyWorkerPool != null) {
+                confirmationApplyWorkerPool.shutdown();
+            }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             log.error("Interrupted shutdown {}", this.getClass().getSimpleName());
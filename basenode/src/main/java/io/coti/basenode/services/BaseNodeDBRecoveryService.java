@@ -5,6 +5,8 @@ import io.coti.basenode.crypto.NodeCryptoHelper;
 import io.coti.basenode.data.DbRestoreSource;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.NetworkNodeData;
+import io.coti.basenode.database.IncrementalCheckpointBackup;
+import io.coti.basenode.database.S3BackupStorage;
 import io.coti.basenode.database.interfaces.IDatabaseConnector;
 import io.coti.basenode.exceptions.CotiRunTimeException;
 import io.coti.basenode.exceptions.DataBaseRecoveryException;
@@ -46,12 +48,19 @@ public class BaseNodeDBRecoveryService implements IDBRecoveryService {
     private static final int INDEX_OF_BACKUP_TIMESTAMP_IN_FOLDER_NAME = 1;
     private static final int ALLOWED_NUMBER_OF_BACKUPS = 2;
     private static final String BACK_UP_FOLDER_PREFIX = "/backup-";
+    private static final String INCREMENTAL_BACKUP_FOLDER = "/incremental";
     @Value("${db.backup}")
     private boolean backup;
+    @Value("${db.backup.incremental:false}")
+    private boolean incrementalBackup;
+    @Value("${db.backup.incremental.retained:7}")
+    private int retainedIncrementalBackups;
     @Value("${db.backup.bucket}")
     private String backupBucket;
     @Value("${db.restore.backup.local}")
     private boolean backupToLocalWhenRestoring;
+    @Value("${db.restore.backup.timestamp:0}")
+    private long restoreBackupTimestamp;
     @Value("${db.backup.time}")
     private String backupTime;
     @Value("${database.folder.name}")
@@ -76,6 +85,7 @@ public class BaseNodeDBRecoveryService implements IDBRecoveryService {
     private RestTemplate restTemplate;
     private String localBackupFolderPath;
     private String remoteBackupFolderPath;
+    private String checkpointFolderPath;
     private String backupS3Path;
     private String restoreS3Path;
 
@@ -85,6 +95,7 @@ public class BaseNodeDBRecoveryService implements IDBRecoveryService {
             String dbPath = dBConnector.getDBPath();
             localBackupFolderPath = dbPath + "/backups/local";
             remoteBackupFolderPath = dbPath + "/backups/remote";
+            checkpointFolderPath = dbPath + "/backups/checkpoint";
             createBackupFolder(localBackupFolderPath);
             createBackupFolder(remoteBackupFolderPath);
             validateInjectedProperties();
@@ -121,7 +132,9 @@ public class BaseNodeDBRecoveryService implements IDBRecoveryService {
 
     @Scheduled(cron = "${db.backup.time}", zone = "UTC")
     private void backupDB() {
-        if (backup) {
+        if (backup && incrementalBackup) {
+            backupDBIncrementally();
+        } else if (backup) {
             try {
                 log.info("Starting DB backup flow");
                 deleteBackup(remoteBackupFolderPath);
@@ -155,6 +168,26 @@ public class BaseNodeDBRecoveryService implements IDBRecoveryService {
         }
     }
 
+    private void backupDBIncrementally() {
+        try {
+            log.info("Starting DB incremental backup flow");
+            FileUtils.deleteQuietly(new File(checkpointFolderPath));
+            dBConnector.generateDataBaseCheckpoint(checkpointFolderPath);
+            IncrementalCheckpointBackup incrementalCheckpointBackup = new IncrementalCheckpointBackup(new S3BackupStorage(awsService, backupBucket), backupS3Path + INCREMENTAL_BACKUP_FOLDER);
+            log.info("Uploading checkpoint backup to S3 bucket");
+            incrementalCheckpointBackup.backup(new File(checkpointFolderPath), Instant.now().toEpochMilli());
+            incrementalCheckpointBackup.retainLatest(retainedIncrementalBackups);
+            log.info("Finished DB incremental backup flow");
+        } catch (CotiRunTimeException e) {
+            log.error("Incremental backup DB error.");
+            e.logMessage();
+        } catch (Exception e) {
+            log.error("Incremental backup DB error.\n{}: {}", e.getClass().getName(), e.getMessage());
+        } finally {
+            FileUtils.deleteQuietly(new File(checkpointFolderPath));
+        }
+    }
+
     private void restoreDB() {
         try {
             log.info("Starting DB restore flow");
@@ -181,6 +214,17 @@ public class BaseNodeDBRecoveryService implements IDBRecoveryService {
         try {
             deleteBackup(remoteBackupFolderPath);
             final String restoreBucket = getBackupBucketFromRestoreNode();
+            IncrementalCheckpointBackup incrementalCheckpointBackup = new IncrementalCheckpointBackup(new S3BackupStorage(awsService, restoreBucket), restoreS3Path + INCREMENTAL_BACKUP_FOLDER);
+            List<Long> checkpointTimestamps = incrementalCheckpointBackup.getCheckpointTimestamps();
+            if (restoreBackupTimestamp > 0 && !checkpointTimestamps.contains(restoreBackupTimestamp)) {
+                throw new DataBaseRestoreException(String.format("Couldn't complete restore. No checkpoint backup %d found at %s/%s", restoreBackupTimestamp, restoreBucket, restoreS3Path));
+            }
+            if (!checkpointTimestamps.isEmpty()) {
+                log.info("Downloading remote checkpoint backup from S3 bucket");
+                incrementalCheckpointBackup.restore(new File(remoteBackupFolderPath), restoreBackupTimestamp > 0 ? restoreBackupTimestamp : null);
+                dBConnector.restoreDataBase(remoteBackupFolderPath);
+                return;
+            }
             List<String> s3BackupFolderAndContents = awsService.listS3Paths(restoreBucket, restoreS3Path);
             if (s3BackupFolderAndContents.isEmpty()) {
                 throw new DataBaseRestoreException(String.format("Couldn't complete restore. No backups found at %s/%s", restoreBucket, restoreS3Path));
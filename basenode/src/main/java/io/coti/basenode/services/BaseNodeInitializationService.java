@@ -1,5 +1,6 @@
 package io.coti.basenode.services;
 
+import io.coti.basenode.communication.WireSerializer;
 import io.coti.basenode.communication.interfaces.IPropagationSubscriber;
 import io.coti.basenode.crypto.GetNodeRegistrationRequestCrypto;
 import io.coti.basenode.crypto.NetworkNodeCrypto;
@@ -27,6 +28,13 @@ import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
@@ -50,6 +58,10 @@ public abstract class BaseNodeInitializationService {
     private String kycServerAddress;
     @Value("${kycserver.public.key}")
     private String kycServerPublicKey;
+    @Value("${init.transaction.replay.threads:0}")
+    private int transactionReplayThreads;
+    @Value("${init.transaction.replay.queue.size:10000}")
+    private int transactionReplayQueueSize;
     @Autowired
     protected INetworkService networkService;
     @Autowired
@@ -57,6 +69,8 @@ public abstract class BaseNodeInitializationService {
     @Autowired
     private IDatabaseConnector databaseConnector;
     @Autowired
+    private WireSerializer wireSerializer;
+    @Autowired
     private IDBRecoveryService dbRecoveryService;
     @Autowired
     private Transactions transactions;
@@ -65,6 +79,8 @@ public abstract class BaseNodeInitializationService {
     @Autowired
     private IBalanceService balanceService;
     @Autowired
+    private BalanceSnapshotService balanceSnapshotService;
+    @Autowired
     private IConfirmationService confirmationService;
     @Autowired
     private IClusterService clusterService;
@@ -115,6 +131,7 @@ public abstract class BaseNodeInitializationService {
         addressService.init();
         balanceService.init();
         clusterStampService.loadClusterStamp();
+        balanceSnapshotService.init();
         confirmationService.init();
         transactionIndexService.init();
         dspVoteService.init();
@@ -135,19 +152,7 @@ public abstract class BaseNodeInitializationService {
         try {
             AtomicLong maxTransactionIndex = new AtomicLong(-1);
             log.info("Starting to read existing transactions");
-            AtomicLong completedExistedTransactionNumber = new AtomicLong(0);
-            Thread monitorExistingTransactions = transactionService.monitorTransactionThread("existing", completedExistedTransactionNumber, null);
-            transactions.forEach(transactionData -> {
-                if (!monitorExistingTransactions.isAlive()) {
-                    monitorExistingTransactions.start();
-                }
-                handleExistingTransaction(maxTransactionIndex, transactionData);
-                completedExistedTransactionNumber.incrementAndGet();
-            });
-            if (monitorExistingTransactions.isAlive()) {
-                monitorExistingTransactions.interrupt();
-                monitorExistingTransactions.join();
-            }
+            replayExistingTransactions(maxTransactionIndex);
             confirmationService.setLastDspConfirmationIndex(maxTransactionIndex);
             log.info("Finished to read existing transactions");
 
@@ -164,6 +169,70 @@ public abstract class BaseNodeInitializationService {
         }
     }
 
+    private void replayExistingTransactions(AtomicLong maxTransactionIndex) throws InterruptedException, ExecutionException {
+        int numberOfReplayThreads = transactionReplayThreads > 0 ? transactionReplayThreads : Runtime.getRuntime().availableProcessors();
+        BlockingQueue<TransactionData> replayQueue = new ArrayBlockingQueue<>(transactionReplayQueueSize);
+        AtomicBoolean readCompleted = new AtomicBoolean(false);
+        AtomicLong readExistedTransactionNumber = new AtomicLong(0);
+        AtomicLong completedExistedTransactionNumber = new AtomicLong(0);
+        AtomicInteger threadNumber = new AtomicInteger(0);
+        ExecutorService replayExecutor = Executors.newFixedThreadPool(numberOfReplayThreads, runnable -> new Thread(runnable, "Transaction Replay-" + threadNumber.incrementAndGet()));
+        List<Future<?>> replayFutures = new ArrayList<>();
+        Thread monitorExistingTransactions = transactionService.monitorTransactionThread("existing", completedExistedTransactionNumber, readExistedTransactionNumber);
+        Instant replayStartTime = Instant.now();
+        monitorExistingTransactions.start();
+        try {
+            for (int i = 0; i < numberOfReplayThreads; i++) {
+                replayFutures.add(replayExecutor.submit(() -> handleReplayQueue(replayQueue, readCompleted, maxTransactionIndex, completedExistedTransactionNumber)));
+            }
+            transactions.parallelForEach(transactionData -> {
+                putToReplayQueue(replayQueue, transactionData, replayFutures);
+                readExistedTransactionNumber.incrementAndGet();
+            });
+            readCompleted.set(true);
+            for (Future<?> replayFuture : replayFutures) {
+                replayFuture.get();
+            }
+        } finally {
+            readCompleted.set(true);
+            replayExecutor.shutdownNow();
+            monitorExistingTransactions.interrupt();
+            monitorExistingTransactions.join();
+        }
+        long replayMillis = Math.max(1, Duration.between(replayStartTime, Instant.now()).toMillis());
+        log.info("Replayed {} existing transactions in {} ms by {} threads, transactions per second: {}", completedExistedTransactionNumber.get(), replayMillis,
+                numberOfReplayThreads, completedExistedTransactionNumber.get() * 1000 / replayMillis);
+    }
+
+    private void putToReplayQueue(BlockingQueue<TransactionData> replayQueue, TransactionData transactionData, List<Future<?>> replayFutures) {
+        try {
+            while (!replayQueue.offer(transactionData, 100, TimeUnit.MILLISECONDS)) {
+                if (replayFutures.stream().anyMatch(Future::isDone)) {
+                    throw new TransactionSyncException("Existing transactions replay stopped unexpectedly");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionSyncException("Existing transactions replay was interrupted", e);
+        }
+    }
+
+    private void handleReplayQueue(BlockingQueue<TransactionData> replayQueue, AtomicBoolean readCompleted, AtomicLong maxTransactionIndex, AtomicLong completedExistedTransactionNumber) {
+        try {
+            while (true) {
+                TransactionData transactionData = replayQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (transactionData != null) {
+                    handleExistingTransaction(maxTransactionIndex, transactionData);
+                    completedExistedTransactionNumber.incrementAndGet();
+                } else if (readCompleted.get() && replayQueue.isEmpty()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private void initCommunication() {
         networkService.setNodeManagerPropagationAddress("tcp://" + nodeManagerIp + ":" + nodeManagerPropagationPort);
 
@@ -187,6 +256,7 @@ public abstract class BaseNodeInitializationService {
     protected void createNetworkNodeData() {
         networkService.init();
         NetworkNodeData networkNodeData = createNodeProperties();
+        networkNodeData.setWireCodecs(wireSerializer.getSupportedWireCodecs());
         NodeRegistrationData nodeRegistrationData = nodeRegistrations.getByHash(networkNodeData.getHash());
         if (nodeRegistrationData != null) {
             networkNodeData.setNodeRegistrationData(nodeRegistrationData);
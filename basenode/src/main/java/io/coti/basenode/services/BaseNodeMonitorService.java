@@ -1,7 +1,11 @@
 package io.coti.basenode.services;
 
 import io.coti.basenode.communication.ZeroMQSubscriberQueue;
+import io.coti.basenode.communication.data.PropagationQueueStatisticsData;
+import io.coti.basenode.communication.interfaces.IPropagationPublisher;
 import io.coti.basenode.communication.interfaces.IPropagationSubscriber;
+import io.coti.basenode.communication.interfaces.IReceiver;
+import io.coti.basenode.communication.interfaces.ISender;
 import io.coti.basenode.services.interfaces.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +13,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
 @Slf4j
 @Service
 public class BaseNodeMonitorService implements IMonitorService {
@@ -25,6 +33,12 @@ public class BaseNodeMonitorService implements IMonitorService {
     private ITransactionService transactionService;
     @Autowired
     private IPropagationSubscriber propagationSubscriber;
+    @Autowired
+    private ISender sender;
+    @Autowired
+    private IPropagationPublisher propagationPublisher;
+    @Autowired
+    private IReceiver receiver;
     @Value("${allow.transaction.monitoring}")
     private boolean allowTransactionMonitoring;
 
@@ -44,6 +58,15 @@ public class BaseNodeMonitorService implements IMonitorService {
                     clusterService.getTotalSources(),
                     transactionService.totalPostponedTransactions(),
                     propagationSubscriber.getMessageQueueSize(ZeroMQSubscriberQueue.TRANSACTION));
+            sender.getSenderStatistics().forEach(senderStatistics ->
+                    log.info("Sender {}: Queue = {}, Sent = {}, Failed = {}, Dropped = {}", senderStatistics.getReceivingAddress(), senderStatistics.getQueueSize(),
+                            senderStatistics.getSentMessages(), senderStatistics.getFailedMessages(), senderStatistics.getDroppedMessages()));
+            List<PropagationQueueStatisticsData> queueStatistics = new ArrayList<>(propagationSubscriber.getQueueStatistics());
+            queueStatistics.add(propagationPublisher.getQueueStatistics());
+            queueStatistics.addAll(receiver.getQueueStatistics());
+            queueStatistics.stream().filter(Objects::nonNull).forEach(queueStatisticsData ->
+                    log.info("Queue {}: Size = {}, HighWaterMark = {}, Enqueued = {}, Dropped = {}, BlockedPuts = {}", queueStatisticsData.getQueueName(), queueStatisticsData.getSize(),
+                            queueStatisticsData.getHighWaterMark(), queueStatisticsData.getEnqueuedMessages(), queueStatisticsData.getDroppedMessages(), queueStatisticsData.getBlockedPuts()));
         }
     }
 }
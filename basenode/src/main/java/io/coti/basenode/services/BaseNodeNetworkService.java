@@ -1,5 +1,6 @@
 package io.coti.basenode.services;
 
+import io.coti.basenode.communication.WireSerializer;
 import io.coti.basenode.communication.ZeroMQSubscriberQueue;
 import io.coti.basenode.communication.interfaces.IPropagationSubscriber;
 import io.coti.basenode.crypto.NetworkNodeCrypto;
@@ -58,6 +59,8 @@ public class BaseNodeNetworkService implements INetworkService {
     private ApplicationContext applicationContext;
     @Autowired
     private IPropagationSubscriber propagationSubscriber;
+    @Autowired
+    private WireSerializer wireSerializer;
     protected Map<NodeType, Map<Hash, NetworkNodeData>> multipleNodeMaps;
     protected Map<NodeType, NetworkNodeData> singleNodeNetworkDataMap;
     protected NetworkNodeData networkNodeData;
@@ -153,7 +156,7 @@ public class BaseNodeNetworkService implements INetworkService {
         } else {
             getMapFromFactory(networkNodeData.getNodeType()).put(networkNodeData.getHash(), networkNodeData);
         }
-
+        wireSerializer.updateActiveWireCodec(getNetworkData());
     }
 
     @Override
@@ -166,6 +169,7 @@ public class BaseNodeNetworkService implements INetworkService {
                 return;
             }
         }
+        wireSerializer.updateActiveWireCodec(getNetworkData());
         log.info("NetworkNode {}  of type {} is deleted", networkNodeData.getNodeHash(), networkNodeData.getNodeType());
     }
 
@@ -385,6 +389,7 @@ public class BaseNodeNetworkService implements INetworkService {
     public void setNetworkData(NetworkData networkData) {
         multipleNodeMaps = networkData.getMultipleNodeMaps();
         singleNodeNetworkDataMap = networkData.getSingleNodeNetworkDataMap();
+        wireSerializer.updateActiveWireCodec(networkData);
     }
 
     @Override
@@ -3,6 +3,7 @@ package io.coti.basenode.services;
 import io.coti.basenode.communication.interfaces.IPropagationPublisher;
 import io.coti.basenode.communication.interfaces.IPropagationSubscriber;
 import io.coti.basenode.communication.interfaces.IReceiver;
+import io.coti.basenode.communication.interfaces.ISender;
 import io.coti.basenode.database.interfaces.IDatabaseConnector;
 import io.coti.basenode.services.interfaces.IConfirmationService;
 import io.coti.basenode.services.interfaces.IShutDownService;
@@ -23,6 +24,10 @@ public class BaseNodeShutDownService implements IShutDownService {
     @Autowired
     protected IReceiver receiver;
     @Autowired
+    protected ISender sender;
+    @Autowired
+    protected BalanceSnapshotService balanceSnapshotService;
+    @Autowired
     protected IDatabaseConnector databaseConnector;
 
     public void shutdown() {
@@ -33,7 +38,9 @@ public class BaseNodeShutDownService implements IShutDownService {
         receiver.shutdown();
         propagationSubscriber.shutdown();
         propagationPublisher.shutdown();
+        sender.shutdown();
         confirmationService.shutdown();
+        balanceSnapshotService.shutdown();
         databaseConnector.shutdown();
     }
 }
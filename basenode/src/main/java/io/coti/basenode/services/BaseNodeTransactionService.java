@@ -1,6 +1,7 @@
 package io.coti.basenode.services;
 
 import io.coti.basenode.communication.JacksonSerializer;
+import io.coti.basenode.communication.RecordStreamWriter;
 import io.coti.basenode.data.DspConsensusResult;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TransactionData;
@@ -9,10 +10,11 @@ import io.coti.basenode.model.Transactions;
 import io.coti.basenode.services.interfaces.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.FluxSink;
 
-import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletResponse;
 import java.util.Map;
 import java.util.Set;
@@ -44,6 +46,12 @@ public class BaseNodeTransactionService implements ITransactionService {
     private JacksonSerializer jacksonSerializer;
     @Autowired
     private TransactionIndexes transactionIndexes;
+    @Autowired
+    private StreamCompressionService streamCompressionService;
+    @Value("${transaction.batch.flush.records:1000}")
+    private int transactionBatchFlushRecords;
+    @Value("${transaction.batch.flush.bytes:1048576}")
+    private long transactionBatchFlushBytes;
     protected Map<TransactionData, Boolean> postponedTransactions = new ConcurrentHashMap<>();  // true/false means new from full node or propagated transaction
 
     @Override
@@ -58,23 +66,23 @@ public class BaseNodeTransactionService implements ITransactionService {
         Thread monitorTransactionBatch = monitorTransactionBatch(Thread.currentThread().getId(), transactionNumber);
 
         try {
-            ServletOutputStream output = response.getOutputStream();
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            RecordStreamWriter output = new RecordStreamWriter(streamCompressionService.getResponseOutputStream(response), transactionBatchFlushRecords, transactionBatchFlushBytes);
 
             monitorTransactionBatch.start();
 
             if (startingIndex <= transactionIndexService.getLastTransactionIndexData().getIndex()) {
                 for (long i = startingIndex; i <= transactionIndexService.getLastTransactionIndexData().getIndex(); i++) {
-                    output.write(jacksonSerializer.serialize(transactions.getByHash(transactionIndexes.getByHash(new Hash(i)).getTransactionHash())));
-                    output.flush();
+                    output.writeRecord(jacksonSerializer.serialize(transactions.getByHash(transactionIndexes.getByHash(new Hash(i)).getTransactionHash())));
                     transactionNumber.incrementAndGet();
                 }
             }
             for (Hash hash : transactionHelper.getNoneIndexedTransactionHashes()) {
-                output.write(jacksonSerializer.serialize(transactions.getByHash(hash)));
-                output.flush();
+                output.writeRecord(jacksonSerializer.serialize(transactions.getByHash(hash)));
                 transactionNumber.incrementAndGet();
 
             }
+            output.close();
 
         } catch (Exception e) {
             log.error("Error sending transaction batch");
@@ -223,6 +231,8 @@ public class BaseNodeTransactionService implements ITransactionService {
 
     public Thread monitorTransactionThread(String type, AtomicLong transactionNumber, AtomicLong receivedTransactionNumber) {
         return new Thread(() -> {
+            long lastTransactionNumber = transactionNumber.get();
+            long lastMonitorTime = System.currentTimeMillis();
             while (!Thread.currentThread().isInterrupted()) {
                 try {
                     Thread.sleep(5000);
@@ -230,10 +240,15 @@ public class BaseNodeTransactionService implements ITransactionService {
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                 }
+                long currentTransactionNumber = transactionNumber.get();
+                long currentMonitorTime = System.currentTimeMillis();
+                long transactionsPerSecond = (currentTransactionNumber - lastTransactionNumber) * 1000 / Math.max(1, currentMonitorTime - lastMonitorTime);
+                lastTransactionNumber = currentTransactionNumber;
+                lastMonitorTime = currentMonitorTime;
                 if (receivedTransactionNumber != null) {
-                    log.info("Received {} transactions: {}, inserted transactions: {}", type, receivedTransactionNumber, transactionNumber);
+                    log.info("Received {} transactions: {}, inserted transactions: {}, transactions per second: {}", type, receivedTransactionNumber, currentTransactionNumber, transactionsPerSecond);
                 } else {
-                    log.info("Inserted {} transactions: {}", type, transactionNumber);
+                    log.info("Inserted {} transactions: {}, transactions per second: {}", type, currentTransactionNumber, transactionsPerSecond);
                 }
             }
         });
@@ -8,36 +8,29 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.LinkedList;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.*;
 import java.util.concurrent.ConcurrentMap;
 
 @Slf4j
 @Service
 public class ClusterHelper implements IClusterHelper {
 
+    private static final int CHILDREN_FETCH_BATCH_SIZE = 1000;
     @Autowired
     private Transactions transactions;
 
     @Override
     public void sortByTopologicalOrder(ConcurrentMap<Hash, TransactionData> trustChainConfirmationCluster, LinkedList<TransactionData> topologicalOrderedGraph) {
-        Map<Hash, TransactionData> childrenToAdd = new ConcurrentHashMap<>();
+        Map<Hash, Hash> missingChildHashToParentHashMap = new LinkedHashMap<>();
         trustChainConfirmationCluster.forEach((hash, transactionData) -> {
             transactionData.setVisit(false);
             transactionData.getChildrenTransactionHashes().forEach(childHash -> {
                 if (!trustChainConfirmationCluster.containsKey(childHash)) {
-                    TransactionData childTransaction = transactions.getByHash(childHash);
-                    if (childTransaction == null) {
-                        log.error("Child {} of transaction {} is not in cluster", childHash, transactionData.getHash());
-                    } else {
-                        childTransaction.setVisit(false);
-                        childrenToAdd.put(childHash, childTransaction);
-                    }
+                    missingChildHashToParentHashMap.putIfAbsent(childHash, hash);
                 }
             });
         });
-        trustChainConfirmationCluster.putAll(childrenToAdd);
+        addMissingChildren(missingChildHashToParentHashMap, trustChainConfirmationCluster);
 
         //loop is for making sure that every vertex is visited since if we select only one random source
         //all vertices might not be reachable from this source
@@ -49,18 +42,43 @@ public class ClusterHelper implements IClusterHelper {
         });
     }
 
-    private void topologicalSortingHelper(TransactionData parentTransactionData, ConcurrentMap<Hash, TransactionData> trustChainConfirmationCluster, LinkedList<TransactionData> topologicalOrderedGraph) {
-        for (Hash transactionDataHash : parentTransactionData.getChildrenTransactionHashes()) {
-            TransactionData childTransactionData = trustChainConfirmationCluster.get(transactionDataHash);
-            if (childTransactionData != null && !childTransactionData.isVisit()) {
-                topologicalSortingHelper(childTransactionData, trustChainConfirmationCluster, topologicalOrderedGraph);
-            }
-
+    private void addMissingChildren(Map<Hash, Hash> missingChildHashToParentHashMap, ConcurrentMap<Hash, TransactionData> trustChainConfirmationCluster) {
+        List<Hash> missingChildHashes = new ArrayList<>(missingChildHashToParentHashMap.keySet());
+        for (int fromIndex = 0; fromIndex < missingChildHashes.size(); fromIndex += CHILDREN_FETCH_BATCH_SIZE) {
+            List<Hash> childHashes = missingChildHashes.subList(fromIndex, Math.min(fromIndex + CHILDREN_FETCH_BATCH_SIZE, missingChildHashes.size()));
+            Map<Hash, TransactionData> childHashToTransactionMap = transactions.getByHashes(childHashes);
+            childHashes.forEach(childHash -> {
+                TransactionData childTransaction = childHashToTransactionMap.get(childHash);
+                if (childTransaction == null) {
+                    log.error("Child {} of transaction {} is not in cluster", childHash, missingChildHashToParentHashMap.get(childHash));
+                } else {
+                    childTransaction.setVisit(false);
+                    trustChainConfirmationCluster.put(childHash, childTransaction);
+                }
+            });
         }
-        //making the vertex visited for future reference
-        parentTransactionData.setVisit(true);
+    }
 
-        //pushing to the stack as departing
-        topologicalOrderedGraph.addLast(parentTransactionData);
+    private void topologicalSortingHelper(TransactionData rootTransactionData, ConcurrentMap<Hash, TransactionData> trustChainConfirmationCluster, LinkedList<TransactionData> topologicalOrderedGraph) {
+        Deque<TransactionData> pathTransactions = new ArrayDeque<>();
+        Deque<Iterator<Hash>> pathChildrenIterators = new ArrayDeque<>();
+        rootTransactionData.setVisit(true);
+        pathTransactions.push(rootTransactionData);
+        pathChildrenIterators.push(rootTransactionData.getChildrenTransactionHashes().iterator());
+        while (!pathTransactions.isEmpty()) {
+            Iterator<Hash> childrenIterator = pathChildrenIterators.peek();
+            if (childrenIterator.hasNext()) {
+                TransactionData childTransactionData = trustChainConfirmationCluster.get(childrenIterator.next());
+                if (childTransactionData != null && !childTransactionData.isVisit()) {
+                    childTransactionData.setVisit(true);
+                    pathTransactions.push(childTransactionData);
+                    pathChildrenIterators.push(childTransactionData.getChildrenTransactionHashes().iterator());
+                }
+            } else {
+                pathChildrenIterators.pop();
+                //pushing to the stack as departing
+                topologicalOrderedGraph.addLast(pathTransactions.pop());
+            }
+        }
     }
 }
@@ -1,6 +1,5 @@
 package io.coti.basenode.services;
 
-import com.google.common.collect.Sets;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TccInfo;
 import io.coti.basenode.data.TransactionData;
@@ -11,20 +10,19 @@ import io.coti.basenode.services.interfaces.ISourceSelector;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.SerializationUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class ClusterService implements IClusterService {
 
-    private List<Set<TransactionData>> sourceListsByTrustScore = new ArrayList<>();
+    private final SourcePool sourcePool = new SourcePool();
     @Autowired
     private Transactions transactions;
     @Autowired
@@ -33,16 +31,13 @@ public class ClusterService implements IClusterService {
     private ISourceSelector sourceSelector;
     @Autowired
     private TrustChainConfirmationService trustChainConfirmationService;
-    private boolean isStarted;
+    private volatile boolean isStarted;
     private ConcurrentHashMap<Hash, TransactionData> trustChainConfirmationCluster;
-    private AtomicLong totalSources = new AtomicLong(0);
+    private final Queue<TccInfo> trustChainConfirmations = new ConcurrentLinkedQueue<>();
 
     @PostConstruct
     public void init() {
         trustChainConfirmationCluster = new ConcurrentHashMap<>();
-        for (int i = 0; i <= 100; i++) {
-            sourceListsByTrustScore.add(Sets.newConcurrentHashSet());
-        }
     }
 
     @Override
@@ -76,23 +71,27 @@ public class ClusterService implements IClusterService {
     @Override
     public void finalizeInit() {
         isStarted = true;
+        setTrustChainConfirmedTransactions();
         log.info("{} is up", this.getClass().getSimpleName());
     }
 
-    @Scheduled(fixedDelay = 3000, initialDelay = 1000)
-    public void checkForTrustChainConfirmedTransaction() {
-        if (!isStarted) {
+    private void addTrustChainConfirmations(List<TccInfo> tccInfos) {
+        if (tccInfos.isEmpty()) {
             return;
         }
+        trustChainConfirmations.addAll(tccInfos);
+        if (isStarted) {
+            setTrustChainConfirmedTransactions();
+        }
+    }
 
-        trustChainConfirmationService.init(trustChainConfirmationCluster);
-        List<TccInfo> transactionConsensusConfirmed = trustChainConfirmationService.getTrustChainConfirmedTransactions();
-
-        transactionConsensusConfirmed.forEach(tccInfo -> {
+    private void setTrustChainConfirmedTransactions() {
+        TccInfo tccInfo;
+        while ((tccInfo = trustChainConfirmations.poll()) != null) {
             trustChainConfirmationCluster.remove(tccInfo.getHash());
             confirmationService.setTccToTrue(tccInfo);
             log.debug("TCC has been reached for transaction {}!!", tccInfo.getHash());
-        });
+        }
     }
 
     @Override
@@ -134,40 +133,33 @@ public class ClusterService implements IClusterService {
     }
 
     private void removeTransactionFromSources(Hash transactionHash) {
-        TransactionData transactionData = transactions.getByHash(transactionHash);
-        if (transactionData != null && sourceListsByTrustScore.get(transactionData.getRoundedSenderTrustScore()).remove(transactionData)) {
-            totalSources.decrementAndGet();
-        }
+        sourcePool.remove(transactionHash);
     }
 
     private void addTransactionToTrustChainConfirmationCluster(TransactionData transactionData) {
         trustChainConfirmationCluster.put(transactionData.getHash(), transactionData);
 
-        if (transactionData.isSource() && sourceListsByTrustScore.get(transactionData.getRoundedSenderTrustScore()).add(transactionData)) {
-            totalSources.incrementAndGet();
+        if (transactionData.isSource()) {
+            sourcePool.add(transactionData);
         }
 
         log.debug("Added New Transaction with hash:{}", transactionData.getHash());
+        addTrustChainConfirmations(trustChainConfirmationService.addTransaction(transactionData));
     }
 
     private void removeTransactionFromTrustChainConfirmationCluster(TransactionData transactionData) {
         trustChainConfirmationCluster.remove(transactionData.getHash());
+        trustChainConfirmationService.removeTransaction(transactionData.getHash());
 
-        if (transactionData.isSource() && sourceListsByTrustScore.get(transactionData.getRoundedSenderTrustScore()).remove(transactionData)) {
-            totalSources.decrementAndGet();
+        if (transactionData.isSource()) {
+            sourcePool.remove(transactionData.getHash());
         }
-
     }
 
     @Override
     public void selectSources(TransactionData transactionData) {
-        List<Set<TransactionData>> trustScoreToTransactionMappingSnapshot =
-                Collections.unmodifiableList(sourceListsByTrustScore);
-
         List<TransactionData> selectedSourcesForAttachment =
-                sourceSelector.selectSourcesForAttachment(
-                        trustScoreToTransactionMappingSnapshot,
-                        transactionData.getSenderTrustScore());
+                sourceSelector.selectSourcesForAttachment(sourcePool, transactionData.getSenderTrustScore());
 
         if (selectedSourcesForAttachment.isEmpty()) {
             return;
@@ -184,7 +176,7 @@ public class ClusterService implements IClusterService {
 
     @Override
     public long getTotalSources() {
-        return totalSources.get();
+        return sourcePool.size();
     }
 
     @Override
@@ -198,8 +190,8 @@ public class ClusterService implements IClusterService {
     }
 
     @Override
-    public List<Set<TransactionData>> getSourceListsByTrustScore() {
-        return Collections.unmodifiableList(sourceListsByTrustScore);
+    public long getSourceCount(int lowTrustScore, int highTrustScore) {
+        return sourcePool.getSourceCount(lowTrustScore, highTrustScore);
     }
 
 }
\ No newline at end of file
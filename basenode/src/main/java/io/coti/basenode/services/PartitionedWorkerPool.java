@@ -0,0 +1,86 @@
+package io.coti.basenode.services;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+@Slf4j
+public class PartitionedWorkerPool {
+
+    private final String name;
+    private final List<BlockingQueue<Runnable>> workerQueues = new ArrayList<>();
+    private final List<Thread> workerThreads = new ArrayList<>();
+
+    public PartitionedWorkerPool(String name, int parallelism, int queueSize) {
+        this.name = name;
+        for (int i = 0; i < parallelism; i++) {
+            BlockingQueue<Runnable> workerQueue = new ArrayBlockingQueue<>(queueSize);
+            workerQueues.add(workerQueue);
+            workerThreads.add(new Thread(() -> handleWorkerQueueTask(workerQueue), name + "-" + i));
+        }
+    }
+
+    public void start() {
+        workerThreads.forEach(Thread::start);
+    }
+
+    public int getPartition(Object partitionKey) {
+        return Math.floorMod(partitionKey.hashCode(), workerQueues.size());
+    }
+
+    public int getParallelism() {
+        return workerQueues.size();
+    }
+
+    public void execute(int partition, Runnable task) throws InterruptedException {
+        workerQueues.get(partition).put(task);
+    }
+
+    public void awaitCompletion() throws InterruptedException {
+        CountDownLatch completionLatch = new CountDownLatch(workerQueues.size());
+        for (BlockingQueue<Runnable> workerQueue : workerQueues) {
+            workerQueue.put(completionLatch::countDown);
+        }
+        completionLatch.await();
+    }
+
+    private void handleWorkerQueueTask(BlockingQueue<Runnable> workerQueue) {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                runTask(workerQueue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        LinkedList<Runnable> remainingTasks = new LinkedList<>();
+        workerQueue.drainTo(remainingTasks);
+        if (!remainingTasks.isEmpty()) {
+            log.info("Please wait to process {} remaining {} task(s)", remainingTasks.size(), name);
+            remainingTasks.forEach(this::runTask);
+        }
+    }
+
+    private void runTask(Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            log.error("{} worker task error", name, e);
+        }
+    }
+
+    public void shutdown() throws InterruptedException {
+        for (Thread workerThread : workerThreads) {
+            workerThread.interrupt();
+        }
+        for (Thread workerThread : workerThreads) {
+            if (workerThread.isAlive()) {
+                workerThread.join();
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package io.coti.basenode.services;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class SourcePool {
+
+    public static final int MAX_TRUST_SCORE = 100;
+    private static final int INITIAL_BUCKET_CAPACITY = 16;
+    private final long timeBase = System.currentTimeMillis();
+    private final Map<Hash, TransactionData> sources = new HashMap<>();
+    private final SourceWeightTree sourceCountTree = new SourceWeightTree(MAX_TRUST_SCORE + 1);
+    private final SourceWeightTree attachedSourceTree = new SourceWeightTree(MAX_TRUST_SCORE + 1);
+    private final SourceBucket[] buckets = new SourceBucket[MAX_TRUST_SCORE + 1];
+    private final PriorityQueue<TransactionData> futureSources = new PriorityQueue<>(Comparator.comparing(TransactionData::getAttachmentTime));
+
+    public SourcePool() {
+        for (int i = 0; i <= MAX_TRUST_SCORE; i++) {
+            buckets[i] = new SourceBucket();
+        }
+    }
+
+    public synchronized boolean add(TransactionData transactionData) {
+        if (sources.putIfAbsent(transactionData.getHash(), transactionData) != null) {
+            return false;
+        }
+        sourceCountTree.update(getTrustScoreBucket(transactionData), 1, 0);
+        if (getTime(transactionData) > getNow()) {
+            futureSources.add(transactionData);
+        } else {
+            addAttachedSource(transactionData);
+        }
+        return true;
+    }
+
+    public synchronized boolean remove(Hash hash) {
+        TransactionData transactionData = sources.remove(hash);
+        if (transactionData == null) {
+            return false;
+        }
+        sourceCountTree.update(getTrustScoreBucket(transactionData), -1, 0);
+        if (!removeAttachedSource(transactionData)) {
+            futureSources.remove(transactionData);
+        }
+        return true;
+    }
+
+    public synchronized int size() {
+        return sources.size();
+    }
+
+    public synchronized long getSourceCount(int lowTrustScore, int highTrustScore) {
+        int lowBucket = getTrustScoreBucket(lowTrustScore);
+        int highBucket = getTrustScoreBucket(highTrustScore);
+        return sourceCountTree.getCount(highBucket + 1) - sourceCountTree.getCount(lowBucket);
+    }
+
+    public synchronized List<TransactionData> selectWeightedSources(int lowTrustScore, int highTrustScore, int numberOfSources) {
+        long now = getNow();
+        attachFutureSources(now);
+        int lowBucket = getTrustScoreBucket(lowTrustScore);
+        int highBucket = getTrustScoreBucket(highTrustScore);
+        long attachedSourceCount = attachedSourceTree.getCount(highBucket + 1) - attachedSourceTree.getCount(lowBucket);
+        List<TransactionData> selectedSources = new ArrayList<>(numberOfSources);
+        if (attachedSourceCount <= numberOfSources) {
+            for (int i = 0; i < attachedSourceCount; i++) {
+                selectedSources.add(getAttachedSource(lowBucket, i));
+            }
+            return selectedSources;
+        }
+        try {
+            while (selectedSources.size() < numberOfSources) {
+                TransactionData selectedSource = selectWeightedSource(lowBucket, highBucket, now);
+                selectedSources.add(selectedSource);
+                removeAttachedSource(selectedSource);
+            }
+        } finally {
+            selectedSources.forEach(this::addAttachedSource);
+        }
+        return selectedSources;
+    }
+
+    private TransactionData selectWeightedSource(int lowBucket, int highBucket, long now) {
+        long lowWeight = attachedSourceTree.getWeight(lowBucket, now);
+        long rangeWeight = attachedSourceTree.getWeight(highBucket + 1, now) - lowWeight;
+        if (rangeWeight <= 0) {
+            long attachedSourceCount = attachedSourceTree.getCount(highBucket + 1) - attachedSourceTree.getCount(lowBucket);
+            return getAttachedSource(lowBucket, ThreadLocalRandom.current().nextLong(attachedSourceCount));
+        }
+        long weight = lowWeight + ThreadLocalRandom.current().nextLong(rangeWeight);
+        int bucket = attachedSourceTree.findByWeight(weight, now);
+        return buckets[bucket].findByWeight(weight - attachedSourceTree.getWeight(bucket, now), now);
+    }
+
+    private TransactionData getAttachedSource(int lowBucket, long index) {
+        long count = attachedSourceTree.getCount(lowBucket) + index;
+        int bucket = attachedSourceTree.findByCount(count);
+        return buckets[bucket].findByCount(count - attachedSourceTree.getCount(bucket));
+    }
+
+    private void attachFutureSources(long now) {
+        while (!futureSources.isEmpty() && getTime(futureSources.peek()) <= now) {
+            addAttachedSource(futureSources.poll());
+        }
+    }
+
+    private void addAttachedSource(TransactionData transactionData) {
+        int bucket = getTrustScoreBucket(transactionData);
+        long time = getTime(transactionData);
+        buckets[bucket].add(transactionData, time);
+        attachedSourceTree.update(bucket, 1, time);
+    }
+
+    private boolean removeAttachedSource(TransactionData transactionData) {
+        int bucket = getTrustScoreBucket(transactionData);
+        if (!buckets[bucket].remove(transactionData.getHash())) {
+            return false;
+        }
+        attachedSourceTree.update(bucket, -1, -getTime(transactionData));
+        return true;
+    }
+
+    private int getTrustScoreBucket(TransactionData transactionData) {
+        return getTrustScoreBucket(transactionData.getRoundedSenderTrustScore());
+    }
+
+    private int getTrustScoreBucket(int trustScore) {
+        return Math.max(0, Math.min(MAX_TRUST_SCORE, trustScore));
+    }
+
+    private long getTime(TransactionData transactionData) {
+        return transactionData.getAttachmentTime().toEpochMilli() - timeBase;
+    }
+
+    private long getNow() {
+        return System.currentTimeMillis() - timeBase;
+    }
+
+    private static class SourceBucket {
+
+        private TransactionData[] slots = new TransactionData[INITIAL_BUCKET_CAPACITY];
+        private long[] slotTimes = new long[INITIAL_BUCKET_CAPACITY];
+        private SourceWeightTree slotTree = new SourceWeightTree(INITIAL_BUCKET_CAPACITY);
+        private final Map<Hash, Integer> hashToSlotMap = new HashMap<>();
+        private final Deque<Integer> freeSlots = new ArrayDeque<>();
+        private int nextSlot;
+
+        private void add(TransactionData transactionData, long time) {
+            Integer slot = freeSlots.poll();
+            if (slot == null) {
+                if (nextSlot == slots.length) {
+                    grow();
+                }
+                slot = nextSlot++;
+            }
+            slots[slot] = transactionData;
+            slotTimes[slot] = time;
+            hashToSlotMap.put(transactionData.getHash(), slot);
+            slotTree.update(slot, 1, time);
+        }
+
+        private boolean remove(Hash hash) {
+            Integer slot = hashToSlotMap.remove(hash);
+            if (slot == null) {
+                return false;
+            }
+            slotTree.update(slot, -1, -slotTimes[slot]);
+            slots[slot] = null;
+            freeSlots.push(slot);
+            return true;
+        }
+
+        private TransactionData findByCount(long count) {
+            return slots[slotTree.findByCount(count)];
+        }
+
+        private TransactionData findByWeight(long weight, long now) {
+            return slots[slotTree.findByWeight(weight, now)];
+        }
+
+        private void grow() {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+            slotTimes = Arrays.copyOf(slotTimes, slots.length);
+            slotTree = new SourceWeightTree(slots.length);
+            for (int slot = 0; slot < nextSlot; slot++) {
+                if (slots[slot] != null) {
+                    slotTree.update(slot, 1, slotTimes[slot]);
+                }
+            }
+        }
+    }
+}
@@ -6,115 +6,48 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.time.Duration;
-import java.time.Instant;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
-
-import static java.util.stream.Collectors.toList;
 
 @Slf4j
 @Component
 public class SourceSelector implements ISourceSelector {
 
+    private static final int NUMBER_OF_SOURCES_FOR_ATTACHMENT = 2;
     @Value("${min.source.percentage}")
     private int minSourcePercentage;
     @Value("${max.neighbourhood.radius}")
     private int maxNeighbourhoodRadius;
 
     @Override
-    public List<TransactionData> selectSourcesForAttachment(
-            List<Set<TransactionData>> trustScoreToTransactionMapping,
-            double transactionTrustScore) {
-
-        List<TransactionData> neighbourSources = getNeighbourSources(
-                trustScoreToTransactionMapping,
-                transactionTrustScore);
-
-        return selectTwoOptimalSources(neighbourSources);
-    }
-
-    private List<TransactionData> getNeighbourSources(
-            List<Set<TransactionData>> trustScoreToSourceListMapping,
-            double transactionTrustScore) {
-
-        List<TransactionData> neighbourSources = new LinkedList<>();
+    public List<TransactionData> selectSourcesForAttachment(SourcePool sourcePool, double transactionTrustScore) {
 
         int roundedTrustScore = (int) Math.round(transactionTrustScore);
-        int numberOfSources = getNumberOfSources(trustScoreToSourceListMapping);
-        if (numberOfSources > 0) {
-            int lowIndex = roundedTrustScore - 1;
-            int highIndex = roundedTrustScore + 1;
-
-            neighbourSources.addAll(trustScoreToSourceListMapping.get(roundedTrustScore));
-
-            for (int trustScoreDifference = 0; trustScoreDifference < maxNeighbourhoodRadius; trustScoreDifference++) {
-                if (lowIndex >= 0) {
-                    neighbourSources.addAll(trustScoreToSourceListMapping.get(lowIndex));
-                }
-                if (highIndex <= 100) {
-                    neighbourSources.addAll(trustScoreToSourceListMapping.get(highIndex));
-                }
-                if ((double) neighbourSources.size() / numberOfSources > (double) minSourcePercentage / 100) {
-                    break;
-                }
-                lowIndex--;
-                highIndex++;
-            }
+        int numberOfSources = sourcePool.size();
+        if (numberOfSources == 0) {
+            return new ArrayList<>();
         }
-        return neighbourSources;
-    }
+        int neighbourhoodRadius = getNeighbourhoodRadius(sourcePool, roundedTrustScore, numberOfSources);
 
-    private int getNumberOfSources(List<Set<TransactionData>> trustScoreToSourceListMapping) {
-        int numberOfSources = 0;
-        for (int i = 0; i < trustScoreToSourceListMapping.size(); i++) {
-            if (trustScoreToSourceListMapping.get(i) != null) {
-                numberOfSources += trustScoreToSourceListMapping.get(i).size();
-            }
-        }
-        return numberOfSources;
+        return sourcePool.selectWeightedSources(roundedTrustScore - neighbourhoodRadius, roundedTrustScore + neighbourhoodRadius, NUMBER_OF_SOURCES_FOR_ATTACHMENT);
     }
 
-    public List<TransactionData> selectTwoOptimalSources(List<TransactionData> transactions) {
-
-        Instant now = Instant.now();
-        List<TransactionData> olderSources =
-                transactions.stream().
-                        filter(s -> !s.getAttachmentTime().isAfter(now)).collect(toList());
-
-        if (olderSources.size() <= 2) {
-            return olderSources;
-        }
-
-        // Calculate total timestamp differences from the transaction's timestamp
-        long totalWeight =
-                olderSources.stream().
-                        map(s -> Duration.between(s.getAttachmentTime(), now).toMillis()).mapToLong(Long::longValue).sum();
-
-        // Now choose sources, randomly weighted by timestamp difference ("older" transactions have a bigger chance to be selected)
-        List<TransactionData> randomWeightedSources = new LinkedList<>();
-        while (randomWeightedSources.size() < 2) {
-
-            int randomIndex = -1;
-            double random = Math.random() * totalWeight;
-            for (int i = 0; i < olderSources.size(); ++i) {
-                random -= Duration.between(olderSources.get(i).getAttachmentTime(), now).toMillis();
-                if (random < 0.0d) {
-                    randomIndex = i;
-                    break;
-                }
-            }
-
-            TransactionData randomSource = olderSources.get(randomIndex);
-
-            if (randomWeightedSources.isEmpty() || (randomWeightedSources.size() == 1 && randomSource != randomWeightedSources.iterator().next())) {
-                randomWeightedSources.add(randomSource);
+    private int getNeighbourhoodRadius(SourcePool sourcePool, int roundedTrustScore, int numberOfSources) {
+        int lowRadius = Math.min(1, maxNeighbourhoodRadius);
+        int highRadius = maxNeighbourhoodRadius;
+        while (lowRadius < highRadius) {
+            int radius = (lowRadius + highRadius) >>> 1;
+            if (isEnoughSources(sourcePool.getSourceCount(roundedTrustScore - radius, roundedTrustScore + radius), numberOfSources)) {
+                highRadius = radius;
+            } else {
+                lowRadius = radius + 1;
             }
         }
+        return lowRadius;
+    }
 
-        return randomWeightedSources;
-
+    private boolean isEnoughSources(long neighbourSources, int numberOfSources) {
+        return (double) neighbourSources / numberOfSources > (double) minSourcePercentage / 100;
     }
 
 }
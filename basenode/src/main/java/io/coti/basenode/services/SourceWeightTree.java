@@ -0,0 +1,68 @@
+package io.coti.basenode.services;
+
+class SourceWeightTree {
+
+    private final int capacity;
+    private final long[] countTree;
+    private final long[] timeTree;
+
+    SourceWeightTree(int capacity) {
+        this.capacity = capacity;
+        countTree = new long[capacity + 1];
+        timeTree = new long[capacity + 1];
+    }
+
+    void update(int position, long count, long time) {
+        for (int i = position + 1; i <= capacity; i += i & -i) {
+            countTree[i] += count;
+            timeTree[i] += time;
+        }
+    }
+
+    long getCount(int toPosition) {
+        long count = 0;
+        for (int i = Math.min(toPosition, capacity); i > 0; i -= i & -i) {
+            count += countTree[i];
+        }
+        return count;
+    }
+
+    long getWeight(int toPosition, long now) {
+        long count = 0;
+        long time = 0;
+        for (int i = Math.min(toPosition, capacity); i > 0; i -= i & -i) {
+            count += countTree[i];
+            time += timeTree[i];
+        }
+        return count * now - time;
+    }
+
+    int findByCount(long count) {
+        int position = 0;
+        long remainingCount = count;
+        for (int step = Integer.highestOneBit(capacity); step > 0; step >>= 1) {
+            int nextPosition = position + step;
+            if (nextPosition <= capacity && countTree[nextPosition] <= remainingCount) {
+                position = nextPosition;
+                remainingCount -= countTree[nextPosition];
+            }
+        }
+        return position;
+    }
+
+    int findByWeight(long weight, long now) {
+        int position = 0;
+        long remainingWeight = weight;
+        for (int step = Integer.highestOneBit(capacity); step > 0; step >>= 1) {
+            int nextPosition = position + step;
+            if (nextPosition <= capacity) {
+                long stepWeight = countTree[nextPosition] * now - timeTree[nextPosition];
+                if (stepWeight <= remainingWeight) {
+                    position = nextPosition;
+                    remainingWeight -= stepWeight;
+                }
+            }
+        }
+        return position;
+    }
+}
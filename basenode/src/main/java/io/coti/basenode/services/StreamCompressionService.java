@@ -0,0 +1,63 @@
+package io.coti.basenode.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Service
+public class StreamCompressionService {
+
+    private static final String GZIP_ENCODING = "gzip";
+    private static final int BUFFER_SIZE = 65536;
+    @Value("${http.stream.compression.enabled:false}")
+    private boolean responseCompressionEnabled;
+    @Value("${http.stream.compression.request:false}")
+    private boolean requestCompression;
+
+    public OutputStream getResponseOutputStream(HttpServletResponse response) throws IOException {
+        if (responseCompressionEnabled && isCompressionAccepted()) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+            return new GZIPOutputStream(response.getOutputStream(), BUFFER_SIZE, true);
+        }
+        return response.getOutputStream();
+    }
+
+    private boolean isCompressionAccepted() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (!(requestAttributes instanceof ServletRequestAttributes)) {
+            return false;
+        }
+        String acceptEncoding = ((ServletRequestAttributes) requestAttributes).getRequest().getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains(GZIP_ENCODING);
+    }
+
+    public RequestCallback getRequestCallback() {
+        return request -> {
+            if (requestCompression) {
+                request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, GZIP_ENCODING);
+            }
+        };
+    }
+
+    public InputStream getResponseInputStream(ClientHttpResponse response) throws IOException {
+        String contentEncoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+        if (contentEncoding != null && contentEncoding.toLowerCase().contains(GZIP_ENCODING)) {
+            return new GZIPInputStream(response.getBody(), BUFFER_SIZE);
+        }
+        return response.getBody();
+    }
+}
@@ -5,7 +5,7 @@ import io.coti.basenode.crypto.ExpandedTransactionTrustScoreCrypto;
 import io.coti.basenode.crypto.TransactionCrypto;
 import io.coti.basenode.data.*;
 import io.coti.basenode.data.interfaces.ITrustScoreNodeValidatable;
-import io.coti.basenode.model.AddressTransactionsHistories;
+import io.coti.basenode.model.AddressTransactions;
 import io.coti.basenode.model.TransactionIndexes;
 import io.coti.basenode.model.Transactions;
 import io.coti.basenode.services.interfaces.IBalanceService;
@@ -32,7 +32,7 @@ public class TransactionHelper implements ITransactionHelper {
 
     public static final int CURRENCY_SCALE = 8;
     @Autowired
-    private AddressTransactionsHistories addressTransactionsHistories;
+    private AddressTransactions addressTransactions;
     @Autowired
     private TransactionCrypto transactionCrypto;
     @Autowired
@@ -91,35 +91,15 @@ public class TransactionHelper implements ITransactionHelper {
 
     @Override
     public void updateAddressTransactionHistory(TransactionData transactionData) {
-        transactionData.getBaseTransactions().forEach(baseTransactionData -> {
-            AddressTransactionsHistory addressHistory = addressTransactionsHistories.getByHash(baseTransactionData.getAddressHash());
-
-            if (addressHistory == null) {
-                addressHistory = new AddressTransactionsHistory(baseTransactionData.getAddressHash());
-            }
-            if (!addressHistory.addTransactionHashToHistory(transactionData.getHash())) {
-                log.debug("Transaction {} is already in history of address {}", transactionData.getHash(), baseTransactionData.getAddressHash());
-            }
-            addressTransactionsHistories.put(addressHistory);
-        });
+        Map<Hash, AddressTransactionData> addressTransactionDataMap = new HashMap<>();
+        updateAddressTransactionHistory(addressTransactionDataMap, transactionData);
+        addressTransactions.putBatch(addressTransactionDataMap);
     }
 
-    public void updateAddressTransactionHistory(Map<Hash, AddressTransactionsHistory> addressToTransactionsHistoryMap, TransactionData transactionData) {
-
+    public void updateAddressTransactionHistory(Map<Hash, AddressTransactionData> addressTransactionDataMap, TransactionData transactionData) {
         transactionData.getBaseTransactions().forEach(baseTransactionData -> {
-            AddressTransactionsHistory addressHistory;
-            if (!addressToTransactionsHistoryMap.containsKey(baseTransactionData.getAddressHash())) {
-                addressHistory = addressTransactionsHistories.getByHash(baseTransactionData.getAddressHash());
-                if (addressHistory == null) {
-                    addressHistory = new AddressTransactionsHistory(baseTransactionData.getAddressHash());
-                }
-            } else {
-                addressHistory = addressToTransactionsHistoryMap.get(baseTransactionData.getAddressHash());
-            }
-            if (!addressHistory.addTransactionHashToHistory(transactionData.getHash())) {
-                log.debug("Transaction {} is already in history of address {}", transactionData.getHash(), baseTransactionData.getAddressHash());
-            }
-            addressToTransactionsHistoryMap.put(baseTransactionData.getAddressHash(), addressHistory);
+            AddressTransactionData addressTransactionData = new AddressTransactionData(baseTransactionData.getAddressHash(), transactionData.getHash());
+            addressTransactionDataMap.put(addressTransactionData.getHash(), addressTransactionData);
         });
     }
 
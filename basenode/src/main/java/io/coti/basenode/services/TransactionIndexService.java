@@ -1,13 +1,16 @@
 package io.coti.basenode.services;
 
 import io.coti.basenode.crypto.CryptoHelper;
+import io.coti.basenode.data.AccumulatedHashCheckpointData;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TransactionData;
 import io.coti.basenode.data.TransactionIndexData;
+import io.coti.basenode.model.AccumulatedHashCheckpoints;
 import io.coti.basenode.model.TransactionIndexes;
 import io.coti.basenode.services.interfaces.ITransactionHelper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.nio.ByteBuffer;
@@ -22,6 +25,10 @@ public class TransactionIndexService {
     private ITransactionHelper transactionHelper;
     @Autowired
     private TransactionIndexes transactionIndexes;
+    @Autowired
+    private AccumulatedHashCheckpoints accumulatedHashCheckpoints;
+    @Value("${transaction.index.checkpoint.interval:100000}")
+    private long checkpointInterval;
     private TransactionIndexData lastTransactionIndexData;
 
     public void init() {
@@ -41,6 +48,9 @@ public class TransactionIndexService {
             log.debug("Inserting new transaction {} with index: {}", transactionData.getHash(), lastTransactionIndexData.getIndex() + 1);
             lastTransactionIndexData = getNextIndexData(lastTransactionIndexData, transactionData);
             transactionIndexes.put(lastTransactionIndexData);
+            if (lastTransactionIndexData.getIndex() % checkpointInterval == 0) {
+                accumulatedHashCheckpoints.put(new AccumulatedHashCheckpointData(lastTransactionIndexData));
+            }
             transactionHelper.removeNoneIndexedTransaction(transactionData);
             return Optional.of(Boolean.TRUE);
         } else {
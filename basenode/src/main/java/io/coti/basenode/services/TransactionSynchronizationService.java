@@ -1,11 +1,12 @@
 package io.coti.basenode.services;
 
 import io.coti.basenode.communication.JacksonSerializer;
-import io.coti.basenode.data.AddressTransactionsHistory;
+import io.coti.basenode.communication.RecordStreamReader;
+import io.coti.basenode.data.AddressTransactionData;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TransactionData;
 import io.coti.basenode.exceptions.TransactionSyncException;
-import io.coti.basenode.model.AddressTransactionsHistories;
+import io.coti.basenode.model.AddressTransactions;
 import io.coti.basenode.services.interfaces.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,7 +26,8 @@ public class TransactionSynchronizationService implements ITransactionSynchroniz
 
     private static final String RECOVERY_NODE_GET_BATCH_ENDPOINT = "/transaction_batch";
     private static final String STARTING_INDEX_URL_PARAM_ENDPOINT = "?starting_index=";
-    private static final long MAXIMUM_BUFFER_SIZE = 300000;
+    private static final int MAXIMUM_RECORD_SIZE = 64 * 1024 * 1024;
+    private static final int ADDRESS_TRANSACTIONS_BATCH_SIZE = 10000;
     @Autowired
     private ITransactionHelper transactionHelper;
     @Autowired
@@ -35,11 +37,13 @@ public class TransactionSynchronizationService implements ITransactionSynchroniz
     @Autowired
     private INetworkService networkService;
     @Autowired
-    private AddressTransactionsHistories addressTransactionsHistories;
+    private AddressTransactions addressTransactions;
     @Autowired
     private JacksonSerializer jacksonSerializer;
     @Autowired
     private RestTemplate restTemplate;
+    @Autowired
+    private StreamCompressionService streamCompressionService;
 
     public void requestMissingTransactions(long firstMissingTransactionIndex) {
         try {
@@ -52,32 +56,26 @@ public class TransactionSynchronizationService implements ITransactionSynchroniz
             Thread monitorMissingTransactionThread = transactionService.monitorTransactionThread("missing", completedMissingTransactionNumber, receivedMissingTransactionNumber);
             Thread insertMissingTransactionThread = insertMissingTransactionThread(missingTransactions, trustChainUnconfirmedExistingTransactionHashes, completedMissingTransactionNumber, monitorMissingTransactionThread, finishedToReceive);
             ResponseExtractor responseExtractor = response -> {
-                byte[] buf = new byte[Math.toIntExact(MAXIMUM_BUFFER_SIZE)];
-                int offset = 0;
-                int n;
-                while ((n = response.getBody().read(buf, offset, buf.length - offset)) > 0) {
-                    try {
-                        TransactionData missingTransaction = jacksonSerializer.deserialize(buf);
+                try {
+                    RecordStreamReader recordStreamReader = new RecordStreamReader(streamCompressionService.getResponseInputStream(response), MAXIMUM_RECORD_SIZE);
+                    byte[] record;
+                    while ((record = recordStreamReader.readRecord()) != null) {
+                        TransactionData missingTransaction = jacksonSerializer.deserialize(record);
                         if (missingTransaction != null) {
                             missingTransactions.add(missingTransaction);
                             receivedMissingTransactionNumber.incrementAndGet();
                             if (!insertMissingTransactionThread.isAlive()) {
                                 insertMissingTransactionThread.start();
                             }
-                            Arrays.fill(buf, 0, offset + n, (byte) 0);
-                            offset = 0;
-                        } else {
-                            offset += n;
                         }
-
-                    } catch (Exception e) {
-                        throw new TransactionSyncException("Error at getting chunks", e);
                     }
+                } catch (Exception e) {
+                    throw new TransactionSyncException("Error at getting chunks", e);
                 }
                 return null;
             };
             restTemplate.execute(networkService.getRecoveryServerAddress() + RECOVERY_NODE_GET_BATCH_ENDPOINT
-                    + STARTING_INDEX_URL_PARAM_ENDPOINT + firstMissingTransactionIndex, HttpMethod.GET, null, responseExtractor);
+                    + STARTING_INDEX_URL_PARAM_ENDPOINT + firstMissingTransactionIndex, HttpMethod.GET, streamCompressionService.getRequestCallback(), responseExtractor);
             if (insertMissingTransactionThread.isAlive()) {
                 log.info("Received all {} missing transactions from recovery server", receivedMissingTransactionNumber);
                 synchronized (finishedToReceive) {
@@ -96,7 +94,7 @@ public class TransactionSynchronizationService implements ITransactionSynchroniz
 
     private Thread insertMissingTransactionThread(List<TransactionData> missingTransactions, Set<Hash> trustChainUnconfirmedExistingTransactionHashes, AtomicLong completedMissingTransactionNumber, Thread monitorMissingTransactionThread, AtomicBoolean finishedToReceive) {
         return new Thread(() -> {
-            Map<Hash, AddressTransactionsHistory> addressToTransactionsHistoryMap = new ConcurrentHashMap<>();
+            Map<Hash, AddressTransactionData> addressTransactionDataMap = new ConcurrentHashMap<>();
             int offset = 0;
             int nextOffSet;
             int missingTransactionsSize;
@@ -108,14 +106,18 @@ public class TransactionSynchronizationService implements ITransactionSynchroniz
                     for (int i = offset; i < nextOffSet; i++) {
                         TransactionData transactionData = missingTransactions.get(i);
                         transactionService.handleMissingTransaction(transactionData, trustChainUnconfirmedExistingTransactionHashes);
-                        transactionHelper.updateAddressTransactionHistory(addressToTransactionsHistoryMap, transactionData);
+                        transactionHelper.updateAddressTransactionHistory(addressTransactionDataMap, transactionData);
+                        if (addressTransactionDataMap.size() >= ADDRESS_TRANSACTIONS_BATCH_SIZE) {
+                            addressTransactions.putBatch(addressTransactionDataMap);
+                            addressTransactionDataMap.clear();
+                        }
                         missingTransactions.set(i, null);
                         completedMissingTransactionNumber.incrementAndGet();
                     }
                     offset = nextOffSet;
                 }
             }
-            addressTransactionsHistories.putBatch(addressToTransactionsHistoryMap);
+            addressTransactions.putBatch(addressTransactionDataMap);
             monitorMissingTransactionThread.interrupt();
             synchronized (finishedToReceive) {
                 finishedToReceive.notify();
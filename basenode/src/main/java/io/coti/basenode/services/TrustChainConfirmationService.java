@@ -3,7 +3,8 @@ package io.coti.basenode.services;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TccInfo;
 import io.coti.basenode.data.TransactionData;
-import io.coti.basenode.services.interfaces.IClusterHelper;
+import io.coti.basenode.data.TrustChainNodeData;
+import io.coti.basenode.model.Transactions;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Configurable;
@@ -11,11 +12,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.*;
 
 @Slf4j
 @Service
@@ -24,53 +21,85 @@ public class TrustChainConfirmationService {
 
     @Value("${cluster.trust.chain.threshold}")
     private int threshold;
-    private ConcurrentMap<Hash, TransactionData> trustChainConfirmationCluster;
-    private LinkedList<TransactionData> topologicalOrderedGraph;
+    private final Map<Hash, TrustChainNodeData> hashToTrustChainNodeMap = new HashMap<>();
+    private final Map<Hash, Double> confirmedHashToTrustChainTrustScoreMap = new HashMap<>();
     @Autowired
-    private IClusterHelper clusterHelper;
+    private Transactions transactions;
 
-    public void init(ConcurrentMap<Hash, TransactionData> trustChainConfirmationCluster) {
-        this.trustChainConfirmationCluster = new ConcurrentHashMap<>(trustChainConfirmationCluster);
-        topologicalOrderedGraph = new LinkedList<>();
-        clusterHelper.sortByTopologicalOrder(trustChainConfirmationCluster, topologicalOrderedGraph);
+    public synchronized List<TccInfo> addTransaction(TransactionData transactionData) {
+        if (hashToTrustChainNodeMap.containsKey(transactionData.getHash())) {
+            return Collections.emptyList();
+        }
+        TrustChainNodeData trustChainNodeData = new TrustChainNodeData(transactionData);
+        double maxChildrenTrustChainTrustScore = 0;
+        for (Hash childHash : transactionData.getChildrenTransactionHashes()) {
+            maxChildrenTrustChainTrustScore = Math.max(maxChildrenTrustChainTrustScore, getTrustChainTrustScore(childHash));
+        }
+        updateTrustChainTrustScore(trustChainNodeData, maxChildrenTrustChainTrustScore);
+        hashToTrustChainNodeMap.put(trustChainNodeData.getHash(), trustChainNodeData);
+
+        LinkedList<TccInfo> trustChainConfirmations = new LinkedList<>();
+        checkTrustChainConfirmation(trustChainNodeData, trustChainConfirmations);
+        updateAncestors(trustChainNodeData, trustChainConfirmations);
+        trustChainConfirmations.forEach(tccInfo -> {
+            hashToTrustChainNodeMap.remove(tccInfo.getHash());
+            confirmedHashToTrustChainTrustScoreMap.put(tccInfo.getHash(), tccInfo.getTrustChainTrustScore());
+        });
+        return trustChainConfirmations;
+    }
+
+    private double getTrustChainTrustScore(Hash transactionHash) {
+        TrustChainNodeData trustChainNodeData = hashToTrustChainNodeMap.get(transactionHash);
+        if (trustChainNodeData != null) {
+            return trustChainNodeData.getTrustChainTrustScore();
+        }
+        Double confirmedTrustChainTrustScore = confirmedHashToTrustChainTrustScoreMap.get(transactionHash);
+        if (confirmedTrustChainTrustScore != null) {
+            return confirmedTrustChainTrustScore;
+        }
+        TransactionData transactionData = transactions.getByHash(transactionHash);
+        return transactionData != null ? transactionData.getTrustChainTrustScore() : 0;
     }
 
-    private void setTotalTrustScore(TransactionData parent) {
-        double maxSonsTotalTrustScore = 0;
+    private boolean updateTrustChainTrustScore(TrustChainNodeData trustChainNodeData, double maxChildrenTrustChainTrustScore) {
+        if (trustChainNodeData.getTrustChainTrustScore() < trustChainNodeData.getSenderTrustScore() + maxChildrenTrustChainTrustScore) {
+            trustChainNodeData.setTrustChainTrustScore(trustChainNodeData.getSenderTrustScore() + maxChildrenTrustChainTrustScore);
+            return true;
+        }
+        return false;
+    }
 
-        for (Hash transactionHash : parent.getChildrenTransactionHashes()) {
-            try {
-                TransactionData child = trustChainConfirmationCluster.get(transactionHash);
-                if (child != null && child.getTrustChainTrustScore()
-                        > maxSonsTotalTrustScore) {
-                    maxSonsTotalTrustScore = trustChainConfirmationCluster.get(transactionHash).getTrustChainTrustScore();
+    private void updateAncestors(TrustChainNodeData trustChainNodeData, LinkedList<TccInfo> trustChainConfirmations) {
+        Deque<TrustChainNodeData> updatedNodes = new ArrayDeque<>();
+        updatedNodes.add(trustChainNodeData);
+        while (!updatedNodes.isEmpty()) {
+            TrustChainNodeData child = updatedNodes.poll();
+            for (Hash parentHash : child.getParentHashes()) {
+                TrustChainNodeData parent = hashToTrustChainNodeMap.get(parentHash);
+                if (parent != null && updateTrustChainTrustScore(parent, child.getTrustChainTrustScore())) {
+                    checkTrustChainConfirmation(parent, trustChainConfirmations);
+                    updatedNodes.add(parent);
                 }
-            } catch (Exception e) {
-                log.error("in setTotalSumScore: parent: {} child: {}", parent.getHash(), transactionHash);
-                throw e;
             }
         }
+    }
 
-        // updating parent trustChainTrustScore
-        if (parent.getTrustChainTrustScore() < parent.getSenderTrustScore() + maxSonsTotalTrustScore) {
-            parent.setTrustChainTrustScore(parent.getSenderTrustScore() + maxSonsTotalTrustScore);
+    private void checkTrustChainConfirmation(TrustChainNodeData trustChainNodeData, LinkedList<TccInfo> trustChainConfirmations) {
+        if (trustChainNodeData.getTrustChainTrustScore() >= threshold && !trustChainNodeData.isTrustChainConsensus()) {
+            trustChainNodeData.setTrustChainConsensus(true);
+            Instant trustScoreConsensusTime = Optional.ofNullable(trustChainNodeData.getTrustChainConsensusTime()).orElse(Instant.now());
+            trustChainConfirmations.addFirst(new TccInfo(trustChainNodeData.getHash(), trustChainNodeData.getTrustChainTrustScore(), trustScoreConsensusTime));
+            log.debug("transaction with hash:{} is confirmed with trustScore: {} and totalTrustScore:{} ", trustChainNodeData.getHash(), trustChainNodeData.getSenderTrustScore(), trustChainNodeData.getTrustChainTrustScore());
         }
-
     }
 
-    public List<TccInfo> getTrustChainConfirmedTransactions() {
-        LinkedList<TccInfo> trustChainConfirmations = new LinkedList<>();
-        for (TransactionData transactionData : topologicalOrderedGraph) {
-            setTotalTrustScore(transactionData);
-            if (transactionData.getTrustChainTrustScore() >= threshold && !transactionData.isTrustChainConsensus()) {
-                Instant trustScoreConsensusTime = Optional.ofNullable(transactionData.getTrustChainConsensusTime()).orElse(Instant.now());
-                TccInfo tccInfo = new TccInfo(transactionData.getHash(), transactionData.getTrustChainTrustScore(), trustScoreConsensusTime);
-                trustChainConfirmations.addFirst(tccInfo);
-                log.debug("transaction with hash:{} is confirmed with trustScore: {} and totalTrustScore:{} ", transactionData.getHash(), transactionData.getSenderTrustScore(), transactionData.getTrustChainTrustScore());
-            }
-        }
+    public synchronized void removeTransaction(Hash transactionHash) {
+        hashToTrustChainNodeMap.remove(transactionHash);
+        confirmedHashToTrustChainTrustScoreMap.remove(transactionHash);
+    }
 
-        return trustChainConfirmations;
+    public synchronized void removeConfirmedTransaction(Hash transactionHash) {
+        confirmedHashToTrustChainTrustScoreMap.remove(transactionHash);
     }
 
 }
@@ -14,6 +14,10 @@ public interface IAwsService {
 
     void downloadFolderAndContents(String bucketName, String s3folderPath, String directoryToDownload);
 
+    void uploadFileToS3(String bucketName, String s3Path, File file);
+
+    void downloadFileFromS3(String bucketName, String s3Path, File destination);
+
     List<String> listS3Paths(String bucketName, String path);
 
     void downloadFile(String filePathAndName, String bucketName) throws IOException;
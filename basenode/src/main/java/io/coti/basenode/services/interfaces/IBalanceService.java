@@ -9,6 +9,7 @@ import org.springframework.http.ResponseEntity;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 public interface IBalanceService {
 
@@ -28,6 +29,10 @@ public interface IBalanceService {
 
     void updatePreBalanceFromClusterStamp();
 
+    void updateBalancesFromSnapshot(Map<Hash, BigDecimal> balances);
+
+    Map<Hash, BigDecimal> getBalances();
+
     void updateBalance(Hash addressHash, BigDecimal amount);
 
     void updatePreBalance(Hash addressHash, BigDecimal amount);
@@ -3,7 +3,6 @@ package io.coti.basenode.services.interfaces;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TransactionData;
 
-import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -25,5 +24,5 @@ public interface IClusterService {
 
     ConcurrentHashMap<Hash, TransactionData> getCopyTrustChainConfirmationCluster();
 
-    List<Set<TransactionData>> getSourceListsByTrustScore();
+    long getSourceCount(int lowTrustScore, int highTrustScore);
 }
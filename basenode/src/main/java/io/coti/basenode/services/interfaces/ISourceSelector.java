@@ -1,13 +1,11 @@
 package io.coti.basenode.services.interfaces;
 
 import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.services.SourcePool;
 
 import java.util.List;
-import java.util.Set;
 
 public interface ISourceSelector {
 
-    List<TransactionData> selectSourcesForAttachment(
-            List<Set<TransactionData>> trustScoreToTransactionMapping,
-            double transactionTrustScore);
+    List<TransactionData> selectSourcesForAttachment(SourcePool sourcePool, double transactionTrustScore);
 }
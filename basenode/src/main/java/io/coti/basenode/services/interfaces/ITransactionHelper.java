@@ -18,7 +18,7 @@ public interface ITransactionHelper {
 
     void updateAddressTransactionHistory(TransactionData transactionData);
 
-    void updateAddressTransactionHistory(Map<Hash, AddressTransactionsHistory> addressToTransactionsHistoryMap, TransactionData transactionData);
+    void updateAddressTransactionHistory(Map<Hash, AddressTransactionData> addressTransactionDataMap, TransactionData transactionData);
 
     boolean validateTransactionCrypto(TransactionData transactionData);
 
@@ -0,0 +1,112 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.data.*;
+import io.coti.basenode.exceptions.WireCodecException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class BinaryWireCodecTest {
+
+    private final BinaryWireCodec binaryWireCodec = new BinaryWireCodec();
+
+    @Test
+    public void encode_transactionWithConsensusResult_decodesToEqualFields() {
+        TransactionData transactionData = createTransaction();
+
+        byte[] bytes = binaryWireCodec.encode(transactionData);
+        TransactionData decodedTransactionData = binaryWireCodec.decode(bytes);
+
+        Assert.assertTrue(BinaryWireCodec.isBinaryMessage(bytes));
+        Assert.assertEquals(transactionData.getHash(), decodedTransactionData.getHash());
+        Assert.assertEquals(transactionData.getAmount(), decodedTransactionData.getAmount());
+        Assert.assertEquals(transactionData.getType(), decodedTransactionData.getType());
+        Assert.assertEquals(transactionData.getLeftParentHash(), decodedTransactionData.getLeftParentHash());
+        Assert.assertNull(decodedTransactionData.getRightParentHash());
+        Assert.assertEquals(transactionData.getCreateTime(), decodedTransactionData.getCreateTime());
+        Assert.assertEquals(transactionData.getSenderSignature(), decodedTransactionData.getSenderSignature());
+        Assert.assertEquals(transactionData.getNodeSignature(), decodedTransactionData.getNodeSignature());
+        Assert.assertEquals(transactionData.getTrustScoreResults(), decodedTransactionData.getTrustScoreResults());
+        Assert.assertArrayEquals(transactionData.getNonces(), decodedTransactionData.getNonces());
+        Assert.assertEquals(transactionData.getValid(), decodedTransactionData.getValid());
+        Assert.assertEquals(transactionData.getDspConsensusResult(), decodedTransactionData.getDspConsensusResult());
+        Assert.assertEquals(transactionData.getBaseTransactions().size(), decodedTransactionData.getBaseTransactions().size());
+        for (int i = 0; i < transactionData.getBaseTransactions().size(); i++) {
+            BaseTransactionData baseTransactionData = transactionData.getBaseTransactions().get(i);
+            BaseTransactionData decodedBaseTransactionData = decodedTransactionData.getBaseTransactions().get(i);
+            Assert.assertEquals(baseTransactionData.getClass(), decodedBaseTransactionData.getClass());
+            Assert.assertEquals(baseTransactionData.getAddressHash(), decodedBaseTransactionData.getAddressHash());
+            Assert.assertEquals(baseTransactionData.getAmount(), decodedBaseTransactionData.getAmount());
+            Assert.assertEquals(baseTransactionData.getSignatureData(), decodedBaseTransactionData.getSignatureData());
+        }
+        Assert.assertEquals(((NetworkFeeData) transactionData.getBaseTransactions().get(2)).getTrustScoreNodeResult(),
+                ((NetworkFeeData) decodedTransactionData.getBaseTransactions().get(2)).getTrustScoreNodeResult());
+    }
+
+    @Test
+    public void encode_transactionDspVote_decodesToEqualVote() {
+        TransactionDspVote transactionDspVote = new TransactionDspVote(new Hash("aa11"), true);
+        transactionDspVote.setVoterDspHash(new Hash("bb22"));
+        transactionDspVote.setSignature(new SignatureData("0abc", "ABCD"));
+
+        TransactionDspVote decodedTransactionDspVote = binaryWireCodec.decode(binaryWireCodec.encode(transactionDspVote));
+
+        Assert.assertEquals(transactionDspVote.getTransactionHash(), decodedTransactionDspVote.getTransactionHash());
+        Assert.assertTrue(decodedTransactionDspVote.isValidTransaction());
+        Assert.assertEquals(transactionDspVote.getVoterDspHash(), decodedTransactionDspVote.getVoterDspHash());
+        Assert.assertEquals(transactionDspVote.getSignature(), decodedTransactionDspVote.getSignature());
+    }
+
+    @Test(expected = WireCodecException.class)
+    public void decode_truncatedMessage_throwsException() {
+        byte[] bytes = binaryWireCodec.encode(createTransaction());
+
+        binaryWireCodec.decode(Arrays.copyOf(bytes, bytes.length - 5));
+    }
+
+    @Test
+    public void isBinaryMessage_jsonMessage_returnsFalse() {
+        Assert.assertFalse(BinaryWireCodec.isBinaryMessage("{\"@class\":\"io.coti.basenode.data.AddressData\"}".getBytes()));
+    }
+
+    private TransactionData createTransaction() {
+        Instant createTime = Instant.ofEpochSecond(1570000000L, 123456789);
+        List<BaseTransactionData> baseTransactions = new ArrayList<>();
+        InputBaseTransactionData inputBaseTransactionData = new InputBaseTransactionData(new Hash("01ab"), new BigDecimal("-10.50"), createTime);
+        inputBaseTransactionData.setHash(new Hash("0101"));
+        inputBaseTransactionData.setSignatureData(new SignatureData("1f2e3d", "4c5b6a"));
+        baseTransactions.add(inputBaseTransactionData);
+        FullNodeFeeData fullNodeFeeData = new FullNodeFeeData(new Hash("02ab"), new BigDecimal("0.5"), new BigDecimal("0.5"), createTime);
+        fullNodeFeeData.setHash(new Hash("0202"));
+        baseTransactions.add(fullNodeFeeData);
+        NetworkFeeData networkFeeData = new NetworkFeeData(new Hash("03ab"), new BigDecimal("1"), new BigDecimal("1"), new BigDecimal("1"), createTime);
+        TrustScoreNodeResultData trustScoreNodeResultData = new TrustScoreNodeResultData(new Hash("0404"), true);
+        trustScoreNodeResultData.setSignature(new SignatureData("ab", "cd"));
+        networkFeeData.setTrustScoreNodeResult(Collections.singletonList(trustScoreNodeResultData));
+        baseTransactions.add(networkFeeData);
+        baseTransactions.add(new ReceiverBaseTransactionData(new Hash("05ab"), new BigDecimal("9"), new BigDecimal("9"), createTime));
+
+        TransactionData transactionData = new TransactionData(baseTransactions, new Hash("ff00ff"), "description", 83.5, createTime, TransactionType.Payment);
+        transactionData.setLeftParentHash(new Hash("0aff"));
+        transactionData.setSenderHash(new Hash("0bff"));
+        transactionData.setSenderSignature(new SignatureData("123abc", "456def"));
+        transactionData.setNodeSignature(new SignatureData("789", "0fed"));
+        transactionData.setNonces(new int[]{1, -2, Integer.MAX_VALUE});
+        TransactionTrustScoreData transactionTrustScoreData = new TransactionTrustScoreData(83.5);
+        transactionTrustScoreData.setTrustScoreNodeHash(new Hash("0cff"));
+        transactionData.setTrustScoreResults(Collections.singletonList(transactionTrustScoreData));
+        DspConsensusResult dspConsensusResult = new DspConsensusResult(transactionData.getHash());
+        dspConsensusResult.setIndex(42);
+        dspConsensusResult.setDspConsensus(true);
+        dspConsensusResult.setDspVotes(Collections.singletonList(new DspVote(new TransactionDspVote(transactionData.getHash(), true))));
+        transactionData.setDspConsensusResult(dspConsensusResult);
+        transactionData.setValid(true);
+        return transactionData;
+    }
+}
@@ -0,0 +1,63 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.data.AddressData;
+import io.coti.basenode.data.DspConsensusResult;
+import io.coti.basenode.data.PublisherHeartBeatData;
+import io.coti.basenode.data.TransactionData;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class PropagationQueueTest {
+
+    @Test
+    public void take_mixedPriorities_returnsHigherPriorityFirst() throws InterruptedException {
+        PropagationQueue<Class<?>> propagationQueue = createQueue(10, QueueOverflowPolicy.BLOCK);
+        propagationQueue.put(AddressData.class);
+        propagationQueue.put(TransactionData.class);
+        propagationQueue.put(DspConsensusResult.class);
+        propagationQueue.put(PublisherHeartBeatData.class);
+
+        Assert.assertEquals(PublisherHeartBeatData.class, propagationQueue.take());
+        Assert.assertEquals(TransactionData.class, propagationQueue.take());
+        Assert.assertEquals(DspConsensusResult.class, propagationQueue.take());
+        Assert.assertEquals(AddressData.class, propagationQueue.take());
+    }
+
+    @Test
+    public void put_fullLaneWithDropNewest_dropsMessageAndKeepsOtherLanes() throws InterruptedException {
+        PropagationQueue<Class<?>> propagationQueue = createQueue(1, QueueOverflowPolicy.DROP_NEWEST);
+        Assert.assertTrue(propagationQueue.put(TransactionData.class));
+
+        Assert.assertFalse(propagationQueue.put(TransactionData.class));
+        Assert.assertTrue(propagationQueue.put(PublisherHeartBeatData.class));
+        Assert.assertEquals(2, propagationQueue.size());
+        Assert.assertEquals(1, propagationQueue.getStatistics().getDroppedMessages());
+    }
+
+    @Test
+    public void put_fullLaneWithBlock_waitsForTake() throws InterruptedException {
+        PropagationQueue<Class<?>> propagationQueue = createQueue(1, QueueOverflowPolicy.BLOCK);
+        propagationQueue.put(TransactionData.class);
+        Thread producer = new Thread(() -> {
+            try {
+                propagationQueue.put(TransactionData.class);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        producer.join(200);
+        Assert.assertTrue(producer.isAlive());
+
+        Assert.assertEquals(TransactionData.class, propagationQueue.poll(1, TimeUnit.SECONDS));
+        producer.join(1000);
+        Assert.assertFalse(producer.isAlive());
+        Assert.assertEquals(1, propagationQueue.getStatistics().getBlockedPuts());
+    }
+
+    private PropagationQueue<Class<?>> createQueue(int capacity, QueueOverflowPolicy overflowPolicy) {
+        return new PropagationQueue<>("TEST", capacity, overflowPolicy, PropagationPriority::getByMessageType);
+    }
+}
@@ -0,0 +1,50 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.data.Hash;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PropagationSeenSetTest {
+
+    @Test
+    public void add_duplicateWithinWindow_returnsFalse() {
+        PropagationSeenSet seenSet = new PropagationSeenSet(1000, 10);
+
+        Assert.assertTrue(seenSet.add(new Hash("aa01"), 0));
+        Assert.assertFalse(seenSet.add(new Hash("aa01"), 999));
+        Assert.assertTrue(seenSet.add(new Hash("aa01"), 1000));
+    }
+
+    @Test
+    public void add_removedHash_returnsTrue() {
+        PropagationSeenSet seenSet = new PropagationSeenSet(1000, 10);
+
+        seenSet.add(new Hash("aa01"), 0);
+        seenSet.remove(new Hash("aa01"));
+
+        Assert.assertTrue(seenSet.add(new Hash("aa01"), 1));
+    }
+
+    @Test
+    public void add_aboveCapacity_evictsEldestHash() {
+        PropagationSeenSet seenSet = new PropagationSeenSet(1000, 2);
+
+        seenSet.add(new Hash("aa01"), 0);
+        seenSet.add(new Hash("aa02"), 1);
+        seenSet.add(new Hash("aa03"), 2);
+
+        Assert.assertEquals(2, seenSet.size());
+        Assert.assertTrue(seenSet.add(new Hash("aa01"), 3));
+    }
+
+    @Test
+    public void getHash_headerAdded_returnsHashAndMessage() {
+        byte[] message = "{\"hash\":\"aa01\"}".getBytes();
+        byte[] frame = PropagationFrameHeader.addHeader(new Hash("aa01"), message);
+
+        Assert.assertTrue(PropagationFrameHeader.hasHeader(frame));
+        Assert.assertFalse(PropagationFrameHeader.hasHeader(message));
+        Assert.assertEquals(new Hash("aa01"), PropagationFrameHeader.getHash(frame));
+        Assert.assertArrayEquals(message, PropagationFrameHeader.getMessage(frame));
+    }
+}
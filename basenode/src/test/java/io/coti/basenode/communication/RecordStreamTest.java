@@ -0,0 +1,51 @@
+package io.coti.basenode.communication;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+public class RecordStreamTest {
+
+    @Test
+    public void readRecord_writtenRecords_returnsRecordsThenNull() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        RecordStreamWriter recordStreamWriter = new RecordStreamWriter(outputStream, 2, 1024);
+        byte[] largeRecord = new byte[500000];
+        Arrays.fill(largeRecord, (byte) 7);
+        recordStreamWriter.writeRecord("first".getBytes());
+        Assert.assertEquals(0, outputStream.size());
+        recordStreamWriter.writeRecord(new byte[0]);
+        Assert.assertEquals(13, outputStream.size());
+        recordStreamWriter.writeRecord(largeRecord);
+        recordStreamWriter.flush();
+
+        RecordStreamReader recordStreamReader = new RecordStreamReader(new ByteArrayInputStream(outputStream.toByteArray()), largeRecord.length);
+        Assert.assertArrayEquals("first".getBytes(), recordStreamReader.readRecord());
+        Assert.assertArrayEquals(new byte[0], recordStreamReader.readRecord());
+        Assert.assertArrayEquals(largeRecord, recordStreamReader.readRecord());
+        Assert.assertNull(recordStreamReader.readRecord());
+    }
+
+    @Test(expected = EOFException.class)
+    public void readRecord_truncatedRecord_throwsEOFException() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        RecordStreamWriter recordStreamWriter = new RecordStreamWriter(outputStream, 1, 1024);
+        recordStreamWriter.writeRecord("truncated".getBytes());
+        byte[] stream = outputStream.toByteArray();
+
+        new RecordStreamReader(new ByteArrayInputStream(Arrays.copyOf(stream, stream.length - 1)), 1024).readRecord();
+    }
+
+    @Test(expected = IOException.class)
+    public void readRecord_recordAboveMaximumSize_throwsIOException() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new RecordStreamWriter(outputStream, 1, 1024).writeRecord(new byte[10]);
+
+        new RecordStreamReader(new ByteArrayInputStream(outputStream.toByteArray()), 9).readRecord();
+    }
+}
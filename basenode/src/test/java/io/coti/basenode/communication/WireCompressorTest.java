@@ -0,0 +1,40 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.exceptions.WireCodecException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class WireCompressorTest {
+
+    private final WireCompressor wireCompressor = new WireCompressor(1);
+
+    @Test
+    public void decompress_compressedMessage_returnsOriginalMessage() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 200; i++) {
+            json.append("{\"addressHash\":\"a1b2c3d4e5f6\",\"amount\":").append(i).append("},");
+        }
+        byte[] message = json.append("{}]").toString().getBytes(StandardCharsets.UTF_8);
+
+        byte[] compressedMessage = wireCompressor.compress(message);
+
+        Assert.assertTrue(WireCompressor.isCompressedMessage(compressedMessage));
+        Assert.assertTrue(compressedMessage.length < message.length);
+        Assert.assertArrayEquals(message, wireCompressor.decompress(compressedMessage));
+    }
+
+    @Test
+    public void isCompressedMessage_jsonMessage_returnsFalse() {
+        Assert.assertFalse(WireCompressor.isCompressedMessage("{\"hash\":\"00\"}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test(expected = WireCodecException.class)
+    public void decompress_truncatedMessage_throwsWireCodecException() {
+        byte[] compressedMessage = wireCompressor.compress(new byte[4096]);
+
+        wireCompressor.decompress(Arrays.copyOf(compressedMessage, compressedMessage.length - 2));
+    }
+}
@@ -0,0 +1,47 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.data.TransactionDspVote;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class ZeroMQReceiverWorkerPoolTest {
+
+    private static final int KEYS = 8;
+    private static final int MESSAGES_PER_KEY = 500;
+
+    @Test
+    public void put_orderedMessages_keepsOrderPerKeyAcrossWorkers() throws InterruptedException {
+        Map<Integer, List<Integer>> keyToHandledMessagesMap = new ConcurrentHashMap<>();
+        Map<Integer, String> keyToWorkerMap = new ConcurrentHashMap<>();
+        CountDownLatch handledMessages = new CountDownLatch(KEYS * MESSAGES_PER_KEY);
+        ZeroMQReceiverWorkerPool workerPool = new ZeroMQReceiverWorkerPool(TransactionDspVote.class.getName(), message -> {
+            int[] keyAndSequence = (int[]) message;
+            keyToHandledMessagesMap.computeIfAbsent(keyAndSequence[0], key -> new CopyOnWriteArrayList<>()).add(keyAndSequence[1]);
+            Assert.assertEquals(keyToWorkerMap.computeIfAbsent(keyAndSequence[0], key -> Thread.currentThread().getName()), Thread.currentThread().getName());
+            handledMessages.countDown();
+        }, message -> ((int[]) message)[0], 4, 100, QueueOverflowPolicy.BLOCK);
+        workerPool.start();
+
+        for (int sequence = 0; sequence < MESSAGES_PER_KEY; sequence++) {
+            for (int key = 0; key < KEYS; key++) {
+                workerPool.put(new int[]{key, sequence});
+            }
+        }
+
+        Assert.assertTrue(handledMessages.await(10, TimeUnit.SECONDS));
+        workerPool.shutdown();
+        keyToHandledMessagesMap.values().forEach(handledSequences -> {
+            for (int sequence = 0; sequence < MESSAGES_PER_KEY; sequence++) {
+                Assert.assertEquals(sequence, (int) handledSequences.get(sequence));
+            }
+        });
+        Assert.assertEquals(4, workerPool.getQueueStatistics().size());
+    }
+}
@@ -0,0 +1,112 @@
+package io.coti.basenode.database;
+
+import io.coti.basenode.data.*;
+import io.coti.basenode.utils.HashTestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.SerializationUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class CompactEntitySerializerTest {
+
+    private final CompactEntitySerializer compactEntitySerializer = new CompactEntitySerializer();
+
+    @Test
+    public void testTransactionRoundTrip() {
+        TransactionData transactionData = generateTransactionData();
+
+        byte[] bytes = compactEntitySerializer.serialize(transactionData);
+
+        TransactionData deserialized = (TransactionData) compactEntitySerializer.deserialize(bytes);
+
+        Assert.assertTrue(compactEntitySerializer.isCompactEncoding(bytes));
+        Assert.assertEquals(transactionData.getHash(), deserialized.getHash());
+        Assert.assertEquals(transactionData.getBaseTransactions(), deserialized.getBaseTransactions());
+        Assert.assertEquals(transactionData.getAttachmentTime(), deserialized.getAttachmentTime());
+        Assert.assertEquals(transactionData.getSenderSignature(), deserialized.getSenderSignature());
+        Assert.assertEquals(transactionData.getChildrenTransactionHashes(), deserialized.getChildrenTransactionHashes());
+        Assert.assertArrayEquals(transactionData.getNonces(), deserialized.getNonces());
+        Assert.assertEquals(transactionData.getDspConsensusResult(), deserialized.getDspConsensusResult());
+        Assert.assertEquals(transactionData.getSenderTrustScore(), deserialized.getSenderTrustScore(), 0);
+    }
+
+    @Test
+    public void testCompactEncodingIsSmallerThanJavaSerialization() {
+        TransactionData transactionData = generateTransactionData();
+
+        Assert.assertTrue(compactEntitySerializer.serialize(transactionData).length < SerializationUtils.serialize(transactionData).length);
+    }
+
+    @Test
+    public void testAddressTransactionsHistoryRoundTrip() {
+        AddressTransactionsHistory addressTransactionsHistory = new AddressTransactionsHistory(HashTestUtils.generateRandomAddressHash());
+        HashTestUtils.generateListOfRandomHashes(20).forEach(addressTransactionsHistory::addTransactionHashToHistory);
+
+        AddressTransactionsHistory deserialized = (AddressTransactionsHistory) compactEntitySerializer.deserialize(compactEntitySerializer.serialize(addressTransactionsHistory));
+
+        Assert.assertEquals(addressTransactionsHistory.getHash(), deserialized.getHash());
+        Assert.assertEquals(addressTransactionsHistory.getTransactionsHistory(), deserialized.getTransactionsHistory());
+    }
+
+    @Test
+    public void testConcurrentSetKeepsItsClass() {
+        AddressTransactionsHistory addressTransactionsHistory = new AddressTransactionsHistory(HashTestUtils.generateRandomAddressHash());
+        HashTestUtils.generateListOfRandomHashes(5).forEach(addressTransactionsHistory::addTransactionHashToHistory);
+
+        AddressTransactionsHistory deserialized = (AddressTransactionsHistory) compactEntitySerializer.deserialize(compactEntitySerializer.serialize(addressTransactionsHistory));
+
+        Assert.assertEquals(addressTransactionsHistory.getTransactionsHistory().getClass(), deserialized.getTransactionsHistory().getClass());
+    }
+
+    @Test
+    public void testUnmodifiableListKeepsItsClass() {
+        TransactionData transactionData = generateTransactionData();
+        transactionData.setChildrenTransactionHashes(Collections.unmodifiableList(new ArrayList<>(transactionData.getChildrenTransactionHashes())));
+
+        TransactionData deserialized = (TransactionData) compactEntitySerializer.deserialize(compactEntitySerializer.serialize(transactionData));
+
+        Assert.assertEquals(transactionData.getChildrenTransactionHashes().getClass(), deserialized.getChildrenTransactionHashes().getClass());
+        Assert.assertEquals(transactionData.getChildrenTransactionHashes(), deserialized.getChildrenTransactionHashes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPrimitiveFieldTypeMismatchThrows() throws NoSuchFieldException {
+        ReflectionTestUtils.invokeMethod(compactEntitySerializer, "setField", TransactionData.class.getDeclaredField("senderTrustScore"), generateTransactionData(), "score");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testObjectFieldTypeMismatchThrows() throws NoSuchFieldException {
+        ReflectionTestUtils.invokeMethod(compactEntitySerializer, "setField", TransactionData.class.getDeclaredField("attachmentTime"), generateTransactionData(), 1L);
+    }
+
+    @Test
+    public void testJavaSerializationIsNotCompactEncoding() {
+        Assert.assertFalse(compactEntitySerializer.isCompactEncoding(SerializationUtils.serialize(generateTransactionData())));
+    }
+
+    private TransactionData generateTransactionData() {
+        Instant createTime = Instant.now();
+        List<BaseTransactionData> baseTransactions = new ArrayList<>();
+        baseTransactions.add(new InputBaseTransactionData(HashTestUtils.generateRandomAddressHash(), new BigDecimal("-10.5"), createTime));
+        baseTransactions.add(new ReceiverBaseTransactionData(HashTestUtils.generateRandomAddressHash(), new BigDecimal("10.5"), new BigDecimal("10.5"), createTime));
+        baseTransactions.forEach(baseTransactionData -> baseTransactionData.setHash(HashTestUtils.generateRandomHash()));
+        TransactionData transactionData = new TransactionData(baseTransactions, HashTestUtils.generateRandomHash(), "test", 80.2, createTime, TransactionType.Transfer);
+        transactionData.setAttachmentTime(createTime);
+        transactionData.setSenderHash(HashTestUtils.generateRandomHash());
+        transactionData.setSenderSignature(new SignatureData("r", "s"));
+        transactionData.setChildrenTransactionHashes(new ArrayList<>(Arrays.asList(HashTestUtils.generateRandomHash(), HashTestUtils.generateRandomHash())));
+        transactionData.setNonces(new int[]{1, 2, 3});
+        DspConsensusResult dspConsensusResult = new DspConsensusResult(transactionData.getHash());
+        dspConsensusResult.setIndex(7);
+        dspConsensusResult.setDspConsensus(true);
+        transactionData.setDspConsensusResult(dspConsensusResult);
+        return transactionData;
+    }
+}
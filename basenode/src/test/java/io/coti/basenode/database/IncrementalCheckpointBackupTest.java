@@ -0,0 +1,87 @@
+package io.coti.basenode.database;
+
+import io.coti.basenode.data.DbCheckpointManifest;
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+public class IncrementalCheckpointBackupTest {
+
+    private static final String ROOT_PATH = "network/node/incremental";
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private LocalBackupStorage backupStorage;
+    private IncrementalCheckpointBackup incrementalCheckpointBackup;
+
+    @Before
+    public void init() throws IOException {
+        backupStorage = new LocalBackupStorage(temporaryFolder.newFolder("storage").getPath());
+        incrementalCheckpointBackup = new IncrementalCheckpointBackup(backupStorage, ROOT_PATH);
+    }
+
+    @Test
+    public void backup_secondCheckpoint_uploadsOnlyNewTableFiles() throws IOException {
+        File firstCheckpoint = createCheckpoint("first", "000001.sst", "000002.sst");
+        DbCheckpointManifest firstManifest = incrementalCheckpointBackup.backup(firstCheckpoint, 1);
+        File secondCheckpoint = createCheckpoint("second", "000001.sst", "000002.sst", "000003.sst");
+        DbCheckpointManifest secondManifest = incrementalCheckpointBackup.backup(secondCheckpoint, 2);
+
+        long newFilesSize = new File(secondCheckpoint, "000003.sst").length() + new File(secondCheckpoint, "MANIFEST-000001").length()
+                + new File(secondCheckpoint, "CURRENT").length() + new File(secondCheckpoint, "IDENTITY").length();
+        Assert.assertEquals(5, firstManifest.getFiles().size());
+        Assert.assertEquals(6, secondManifest.getFiles().size());
+        Assert.assertEquals(newFilesSize, secondManifest.getUploadedBytes());
+        Assert.assertEquals(3, backupStorage.list(ROOT_PATH + "/shared").size());
+        Assert.assertEquals(Arrays.asList(1L, 2L), incrementalCheckpointBackup.getCheckpointTimestamps());
+    }
+
+    @Test
+    public void restore_latestCheckpoint_reproducesCheckpointFiles() throws IOException {
+        incrementalCheckpointBackup.backup(createCheckpoint("first", "000001.sst"), 1);
+        File secondCheckpoint = createCheckpoint("second", "000001.sst", "000002.sst");
+        incrementalCheckpointBackup.backup(secondCheckpoint, 2);
+        File restoreDirectory = temporaryFolder.newFolder("restore");
+
+        incrementalCheckpointBackup.restore(restoreDirectory, null);
+
+        for (File checkpointFile : secondCheckpoint.listFiles()) {
+            Assert.assertTrue(FileUtils.contentEquals(checkpointFile, new File(restoreDirectory, checkpointFile.getName())));
+        }
+        Assert.assertEquals(secondCheckpoint.listFiles().length, restoreDirectory.listFiles().length);
+    }
+
+    @Test
+    public void retainLatest_removesOldCheckpointsAndUnreferencedTableFiles() throws IOException {
+        incrementalCheckpointBackup.backup(createCheckpoint("first", "000001.sst", "000002.sst"), 1);
+        incrementalCheckpointBackup.backup(createCheckpoint("second", "000002.sst", "000003.sst"), 2);
+        incrementalCheckpointBackup.backup(createCheckpoint("third", "000003.sst", "000004.sst"), 3);
+
+        incrementalCheckpointBackup.retainLatest(2);
+
+        List<String> sharedFiles = backupStorage.list(ROOT_PATH + "/shared");
+        Assert.assertEquals(Arrays.asList(2L, 3L), incrementalCheckpointBackup.getCheckpointTimestamps());
+        Assert.assertEquals(3, sharedFiles.size());
+        Assert.assertTrue(sharedFiles.stream().noneMatch(sharedFile -> sharedFile.endsWith("000001.sst")));
+        Assert.assertTrue(backupStorage.list(ROOT_PATH + "/checkpoint-1").isEmpty());
+    }
+
+    private File createCheckpoint(String name, String... tableFileNames) throws IOException {
+        File checkpointDirectory = temporaryFolder.newFolder(name);
+        for (String tableFileName : tableFileNames) {
+            FileUtils.writeStringToFile(new File(checkpointDirectory, tableFileName), "table " + tableFileName, StandardCharsets.UTF_8);
+        }
+        FileUtils.writeStringToFile(new File(checkpointDirectory, "MANIFEST-000001"), "manifest " + name, StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(checkpointDirectory, "CURRENT"), "MANIFEST-000001\n", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(checkpointDirectory, "IDENTITY"), "8f3a1c52-7d4e-4b1a-9c7e-2f1d5e6a7b8c\n", StandardCharsets.UTF_8);
+        return checkpointDirectory;
+    }
+}
@@ -0,0 +1,135 @@
+package io.coti.basenode.services;
+
+import io.coti.basenode.data.AccumulatedHashCheckpointData;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionIndexData;
+import io.coti.basenode.data.interfaces.IEntity;
+import io.coti.basenode.model.AccumulatedHashCheckpoints;
+import io.coti.basenode.model.TransactionIndexes;
+import io.coti.basenode.utils.HashTestUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+public class AccumulatedHashCheckpointServiceTest {
+
+    private static final long CHECKPOINT_INTERVAL = 10;
+    private static final int CHAIN_SIZE = 30;
+    private final Map<Hash, TransactionIndexData> transactionIndexMap = new HashMap<>();
+    private final Map<Hash, AccumulatedHashCheckpointData> checkpointMap = new HashMap<>();
+    private final Set<Hash> readTransactionIndexHashes = Collections.synchronizedSet(new HashSet<>());
+    private final TransactionIndexService transactionIndexService = new TransactionIndexService();
+    private AccumulatedHashCheckpointService accumulatedHashCheckpointService;
+
+    @Before
+    public void setUp() {
+        accumulatedHashCheckpointService = new AccumulatedHashCheckpointService();
+        ReflectionTestUtils.setField(accumulatedHashCheckpointService, "checkpointInterval", CHECKPOINT_INTERVAL);
+        ReflectionTestUtils.setField(accumulatedHashCheckpointService, "verificationThreads", 2);
+        ReflectionTestUtils.setField(accumulatedHashCheckpointService, "transactionIndexService", transactionIndexService);
+        ReflectionTestUtils.setField(accumulatedHashCheckpointService, "transactionIndexes", new TransactionIndexes() {
+            @Override
+            public TransactionIndexData getByHash(Hash hash) {
+                readTransactionIndexHashes.add(hash);
+                return transactionIndexMap.get(hash);
+            }
+        });
+        ReflectionTestUtils.setField(accumulatedHashCheckpointService, "accumulatedHashCheckpoints", new AccumulatedHashCheckpoints() {
+            @Override
+            public AccumulatedHashCheckpointData getByHash(Hash hash) {
+                return checkpointMap.get(hash);
+            }
+
+            @Override
+            public void put(IEntity entity) {
+                checkpointMap.put(entity.getHash(), (AccumulatedHashCheckpointData) entity);
+            }
+
+            @Override
+            public void forEachHash(Consumer<Hash> consumer) {
+                new ArrayList<>(checkpointMap.keySet()).forEach(consumer);
+            }
+
+            @Override
+            public void deleteByHash(Hash hash) {
+                checkpointMap.remove(hash);
+            }
+        });
+        createTransactionIndexChain();
+    }
+
+    @Test
+    public void getSegments_fromGenesis_endsAtCheckpointBoundaries() {
+        List<long[]> segments = ReflectionTestUtils.invokeMethod(accumulatedHashCheckpointService, "getSegments", -1L, 25L);
+
+        Assert.assertEquals(3, segments.size());
+        Assert.assertArrayEquals(new long[]{-1, 10}, segments.get(0));
+        Assert.assertArrayEquals(new long[]{10, 20}, segments.get(1));
+        Assert.assertArrayEquals(new long[]{20, 25}, segments.get(2));
+    }
+
+    @Test
+    public void getSegments_fromCheckpoint_startsNextSegmentAtFollowingBoundary() {
+        List<long[]> segments = ReflectionTestUtils.invokeMethod(accumulatedHashCheckpointService, "getSegments", 10L, 20L);
+
+        Assert.assertEquals(1, segments.size());
+        Assert.assertArrayEquals(new long[]{10, 20}, segments.get(0));
+    }
+
+    @Test
+    public void verifyTransactionIndexes_validChain_addsCheckpointPerSegment() {
+        long verifiedIndex = accumulatedHashCheckpointService.verifyTransactionIndexes(-1, CHAIN_SIZE - 1);
+
+        Assert.assertEquals(CHAIN_SIZE - 1, verifiedIndex);
+        Assert.assertEquals(new HashSet<>(Arrays.asList(new Hash(10L), new Hash(20L), new Hash(CHAIN_SIZE - 1L))), checkpointMap.keySet());
+    }
+
+    @Test
+    public void verifyTransactionIndexes_validCheckpoint_skipsVerifiedIndexes() {
+        addCheckpoint(20, transactionIndexMap.get(new Hash(20L)).getAccumulatedHash());
+
+        long verifiedIndex = accumulatedHashCheckpointService.verifyTransactionIndexes(-1, CHAIN_SIZE - 1);
+
+        Assert.assertEquals(CHAIN_SIZE - 1, verifiedIndex);
+        Assert.assertFalse(readTransactionIndexHashes.contains(new Hash(5L)));
+        Assert.assertFalse(readTransactionIndexHashes.contains(new Hash(19L)));
+    }
+
+    @Test
+    public void verifyTransactionIndexes_staleCheckpoint_deletesCheckpointAndVerifiesFromGenesis() {
+        addCheckpoint(25, HashTestUtils.generateRandomHash().getBytes());
+
+        long verifiedIndex = accumulatedHashCheckpointService.verifyTransactionIndexes(-1, CHAIN_SIZE - 1);
+
+        Assert.assertEquals(CHAIN_SIZE - 1, verifiedIndex);
+        Assert.assertFalse(checkpointMap.containsKey(new Hash(25L)));
+        Assert.assertTrue(readTransactionIndexHashes.contains(new Hash(0L)));
+    }
+
+    @Test
+    public void verifyTransactionIndexes_mismatchInMiddleSegment_stopsBeforeMismatch() {
+        transactionIndexMap.get(new Hash(15L)).setAccumulatedHash(HashTestUtils.generateRandomHash().getBytes());
+
+        long verifiedIndex = accumulatedHashCheckpointService.verifyTransactionIndexes(-1, CHAIN_SIZE - 1);
+
+        Assert.assertEquals(14, verifiedIndex);
+        Assert.assertEquals(Collections.singleton(new Hash(10L)), checkpointMap.keySet());
+    }
+
+    private void createTransactionIndexChain() {
+        byte[] accumulatedHash = "GENESIS".getBytes();
+        for (long i = 0; i < CHAIN_SIZE; i++) {
+            Hash transactionHash = HashTestUtils.generateRandomHash();
+            accumulatedHash = transactionIndexService.getAccumulatedHash(accumulatedHash, transactionHash, i);
+            transactionIndexMap.put(new Hash(i), new TransactionIndexData(transactionHash, i, accumulatedHash));
+        }
+    }
+
+    private void addCheckpoint(long index, byte[] accumulatedHash) {
+        checkpointMap.put(new Hash(index), new AccumulatedHashCheckpointData(new TransactionIndexData(new Hash(index), index, accumulatedHash)));
+    }
+}
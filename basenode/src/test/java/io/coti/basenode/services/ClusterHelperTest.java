@@ -0,0 +1,200 @@
+package io.coti.basenode.services;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.data.TransactionType;
+import io.coti.basenode.model.Transactions;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class ClusterHelperTest {
+
+    private static final int[] BENCHMARK_CLUSTER_SIZES = {10_000, 100_000, 1_000_000};
+    private static final int BENCHMARK_PARENT_WINDOW = 50;
+    private static final double BENCHMARK_CONFIRMED_TRANSACTIONS_RATIO = 0.1;
+    private final Map<Hash, TransactionData> storedTransactions = new HashMap<>();
+    private final AtomicInteger databaseReads = new AtomicInteger();
+    private ClusterHelper clusterHelper;
+
+    @Before
+    public void setUp() {
+        clusterHelper = new ClusterHelper();
+        ReflectionTestUtils.setField(clusterHelper, "transactions", new Transactions() {
+            @Override
+            public Map<Hash, TransactionData> getByHashes(List<Hash> hashes) {
+                databaseReads.incrementAndGet();
+                Map<Hash, TransactionData> hashToTransactionMap = new HashMap<>();
+                hashes.forEach(hash -> Optional.ofNullable(storedTransactions.get(hash)).ifPresent(transactionData -> hashToTransactionMap.put(hash, transactionData)));
+                return hashToTransactionMap;
+            }
+        });
+    }
+
+    @Test
+    public void sortByTopologicalOrder_diamond_matchesRecursiveOrder() {
+        List<TransactionData> transactionDataList = createTransactions(4);
+        addChild(transactionDataList.get(0), transactionDataList.get(1));
+        addChild(transactionDataList.get(0), transactionDataList.get(2));
+        addChild(transactionDataList.get(1), transactionDataList.get(3));
+        addChild(transactionDataList.get(2), transactionDataList.get(3));
+        ConcurrentMap<Hash, TransactionData> cluster = createCluster(transactionDataList);
+
+        List<TransactionData> topologicalOrderedGraph = sortByTopologicalOrder(cluster);
+
+        Assert.assertEquals(sortByRecursiveTopologicalOrder(cluster), topologicalOrderedGraph);
+        assertChildrenBeforeParents(cluster, topologicalOrderedGraph);
+    }
+
+    @Test
+    public void sortByTopologicalOrder_deepDag_matchesRecursiveOrder() {
+        Random random = new Random(1);
+        List<TransactionData> transactionDataList = createTransactions(2000);
+        for (int i = 1; i < transactionDataList.size(); i++) {
+            addChild(transactionDataList.get(i - 1), transactionDataList.get(i));
+            addChild(transactionDataList.get(random.nextInt(i)), transactionDataList.get(i));
+        }
+        ConcurrentMap<Hash, TransactionData> cluster = createCluster(transactionDataList);
+
+        List<TransactionData> topologicalOrderedGraph = sortByTopologicalOrder(cluster);
+
+        Assert.assertEquals(sortByRecursiveTopologicalOrder(cluster), topologicalOrderedGraph);
+        assertChildrenBeforeParents(cluster, topologicalOrderedGraph);
+    }
+
+    @Test
+    public void sortByTopologicalOrder_veryLongChain_sortsEveryTransaction() {
+        List<TransactionData> transactionDataList = createTransactions(100_000);
+        for (int i = 1; i < transactionDataList.size(); i++) {
+            addChild(transactionDataList.get(i - 1), transactionDataList.get(i));
+        }
+        ConcurrentMap<Hash, TransactionData> cluster = createCluster(transactionDataList);
+
+        List<TransactionData> topologicalOrderedGraph = sortByTopologicalOrder(cluster);
+
+        Assert.assertEquals(transactionDataList.size(), topologicalOrderedGraph.size());
+        assertChildrenBeforeParents(cluster, topologicalOrderedGraph);
+    }
+
+    @Test
+    public void sortByTopologicalOrder_childOutsideCluster_addsStoredChild() {
+        List<TransactionData> transactionDataList = createTransactions(3);
+        addChild(transactionDataList.get(0), transactionDataList.get(1));
+        addChild(transactionDataList.get(1), transactionDataList.get(2));
+        storedTransactions.put(transactionDataList.get(2).getHash(), transactionDataList.get(2));
+        ConcurrentMap<Hash, TransactionData> cluster = createCluster(transactionDataList.subList(0, 2));
+
+        List<TransactionData> topologicalOrderedGraph = sortByTopologicalOrder(cluster);
+
+        Assert.assertEquals(Arrays.asList(transactionDataList.get(2), transactionDataList.get(1), transactionDataList.get(0)), topologicalOrderedGraph);
+    }
+
+    @Ignore("benchmark")
+    @Test
+    public void sortByTopologicalOrder_benchmark() {
+        for (int clusterSize : BENCHMARK_CLUSTER_SIZES) {
+            runBenchmark("random", clusterSize, BENCHMARK_PARENT_WINDOW);
+            runBenchmark("chain", clusterSize, 1);
+        }
+    }
+
+    private void runBenchmark(String dagType, int clusterSize, int parentWindow) {
+        storedTransactions.clear();
+        databaseReads.set(0);
+        Random random = new Random(clusterSize);
+        List<TransactionData> transactionDataList = createTransactions(clusterSize);
+        ConcurrentMap<Hash, TransactionData> cluster = new ConcurrentHashMap<>();
+        for (int i = 0; i < clusterSize; i++) {
+            TransactionData transactionData = transactionDataList.get(i);
+            if (i > 0) {
+                addChild(transactionDataList.get(Math.max(0, i - 1 - random.nextInt(parentWindow))), transactionData);
+                addChild(transactionDataList.get(Math.max(0, i - 1 - random.nextInt(parentWindow))), transactionData);
+            }
+            if (i > clusterSize / 2 && random.nextDouble() < BENCHMARK_CONFIRMED_TRANSACTIONS_RATIO) {
+                storedTransactions.put(transactionData.getHash(), transactionData);
+            } else {
+                cluster.put(transactionData.getHash(), transactionData);
+            }
+        }
+
+        int unconfirmedTransactions = cluster.size();
+        long startTime = System.nanoTime();
+        List<TransactionData> topologicalOrderedGraph = sortByTopologicalOrder(cluster);
+        long durationInMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        log.info("{} DAG of {} transactions: sorted {} transactions in {} ms with {} database reads", dagType, clusterSize, topologicalOrderedGraph.size(),
+                durationInMillis, databaseReads.get());
+        Assert.assertTrue(topologicalOrderedGraph.size() >= unconfirmedTransactions);
+    }
+
+    private List<TransactionData> sortByTopologicalOrder(ConcurrentMap<Hash, TransactionData> cluster) {
+        LinkedList<TransactionData> topologicalOrderedGraph = new LinkedList<>();
+        clusterHelper.sortByTopologicalOrder(cluster, topologicalOrderedGraph);
+        return topologicalOrderedGraph;
+    }
+
+    private List<TransactionData> sortByRecursiveTopologicalOrder(ConcurrentMap<Hash, TransactionData> cluster) {
+        LinkedList<TransactionData> topologicalOrderedGraph = new LinkedList<>();
+        cluster.values().forEach(transactionData -> transactionData.setVisit(false));
+        cluster.values().forEach(transactionData -> {
+            if (!transactionData.isVisit()) {
+                recursiveTopologicalSortingHelper(transactionData, cluster, topologicalOrderedGraph);
+            }
+        });
+        return topologicalOrderedGraph;
+    }
+
+    private void recursiveTopologicalSortingHelper(TransactionData parentTransactionData, ConcurrentMap<Hash, TransactionData> cluster, LinkedList<TransactionData> topologicalOrderedGraph) {
+        for (Hash childHash : parentTransactionData.getChildrenTransactionHashes()) {
+            TransactionData childTransactionData = cluster.get(childHash);
+            if (childTransactionData != null && !childTransactionData.isVisit()) {
+                recursiveTopologicalSortingHelper(childTransactionData, cluster, topologicalOrderedGraph);
+            }
+        }
+        parentTransactionData.setVisit(true);
+        topologicalOrderedGraph.addLast(parentTransactionData);
+    }
+
+    private void assertChildrenBeforeParents(ConcurrentMap<Hash, TransactionData> cluster, List<TransactionData> topologicalOrderedGraph) {
+        Map<Hash, Integer> hashToPositionMap = new HashMap<>();
+        for (int i = 0; i < topologicalOrderedGraph.size(); i++) {
+            hashToPositionMap.put(topologicalOrderedGraph.get(i).getHash(), i);
+        }
+        Assert.assertEquals(cluster.keySet(), hashToPositionMap.keySet());
+        cluster.forEach((hash, transactionData) -> transactionData.getChildrenTransactionHashes().forEach(childHash ->
+                Assert.assertTrue(hashToPositionMap.get(childHash) < hashToPositionMap.get(hash))
+        ));
+    }
+
+    private List<TransactionData> createTransactions(int numberOfTransactions) {
+        List<TransactionData> transactionDataList = new ArrayList<>();
+        for (int i = 0; i < numberOfTransactions; i++) {
+            TransactionData transactionData = new TransactionData(new ArrayList<>(), new Hash(i), "test", 1, Instant.now(), TransactionType.Payment);
+            transactionData.setChildrenTransactionHashes(new ArrayList<>());
+            transactionDataList.add(transactionData);
+        }
+        return transactionDataList;
+    }
+
+    private ConcurrentMap<Hash, TransactionData> createCluster(List<TransactionData> transactionDataList) {
+        ConcurrentMap<Hash, TransactionData> cluster = new ConcurrentHashMap<>();
+        transactionDataList.forEach(transactionData -> cluster.put(transactionData.getHash(), transactionData));
+        return cluster;
+    }
+
+    private void addChild(TransactionData parentTransactionData, TransactionData childTransactionData) {
+        if (!parentTransactionData.getChildrenTransactionHashes().contains(childTransactionData.getHash())) {
+            parentTransactionData.getChildrenTransactionHashes().add(childTransactionData.getHash());
+        }
+    }
+}
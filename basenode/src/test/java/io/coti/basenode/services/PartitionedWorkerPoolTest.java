@@ -0,0 +1,38 @@
+package io.coti.basenode.services;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class PartitionedWorkerPoolTest {
+
+    @Test
+    public void execute_samePartition_keepsTaskOrder() throws InterruptedException {
+        PartitionedWorkerPool workerPool = new PartitionedWorkerPool("Test", 4, 100);
+        List<List<Integer>> partitionResults = new ArrayList<>();
+        for (int i = 0; i < workerPool.getParallelism(); i++) {
+            partitionResults.add(Collections.synchronizedList(new ArrayList<>()));
+        }
+        workerPool.start();
+
+        for (int i = 0; i < 1000; i++) {
+            int task = i;
+            int partition = workerPool.getPartition(task);
+            workerPool.execute(partition, () -> partitionResults.get(partition).add(task));
+        }
+        workerPool.awaitCompletion();
+
+        int totalTasks = 0;
+        for (List<Integer> partitionResult : partitionResults) {
+            for (int i = 1; i < partitionResult.size(); i++) {
+                Assert.assertTrue(partitionResult.get(i - 1) < partitionResult.get(i));
+            }
+            totalTasks += partitionResult.size();
+        }
+        Assert.assertEquals(1000, totalTasks);
+        workerPool.shutdown();
+    }
+}
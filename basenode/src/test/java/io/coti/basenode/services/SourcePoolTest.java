@@ -0,0 +1,64 @@
+package io.coti.basenode.services;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.data.TransactionType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SourcePoolTest {
+
+    @Test
+    public void getSourceCount_sourcesInRange_returnsRangeCount() {
+        SourcePool sourcePool = new SourcePool();
+        for (int i = 0; i < 100; i++) {
+            sourcePool.add(createSource(i, i, Instant.now()));
+        }
+        sourcePool.remove(new Hash(50));
+
+        Assert.assertEquals(99, sourcePool.size());
+        Assert.assertEquals(10, sourcePool.getSourceCount(40, 50));
+        Assert.assertEquals(2, sourcePool.getSourceCount(-10, 1));
+    }
+
+    @Test
+    public void selectWeightedSources_manySources_returnsDistinctSourcesInRange() {
+        SourcePool sourcePool = new SourcePool();
+        Instant now = Instant.now();
+        for (int i = 0; i < 1000; i++) {
+            sourcePool.add(createSource(i, i % 101, now.minusMillis(i + 1L)));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            List<TransactionData> sources = sourcePool.selectWeightedSources(20, 30, 2);
+
+            Assert.assertEquals(2, sources.size());
+            Assert.assertNotEquals(sources.get(0), sources.get(1));
+            sources.forEach(source -> Assert.assertTrue(source.getRoundedSenderTrustScore() >= 20 && source.getRoundedSenderTrustScore() <= 30));
+        }
+        Assert.assertEquals(1000, sourcePool.size());
+    }
+
+    @Test
+    public void selectWeightedSources_futureSource_isNotSelected() {
+        SourcePool sourcePool = new SourcePool();
+        sourcePool.add(createSource(1, 50, Instant.now().minusMillis(1000)));
+        sourcePool.add(createSource(2, 50, Instant.now().plusSeconds(3600)));
+
+        List<TransactionData> sources = sourcePool.selectWeightedSources(0, 100, 2);
+
+        Assert.assertEquals(1, sources.size());
+        Assert.assertEquals(new Hash(1), sources.get(0).getHash());
+        Assert.assertEquals(2, sourcePool.getSourceCount(50, 50));
+    }
+
+    private TransactionData createSource(int index, double trustScore, Instant attachmentTime) {
+        TransactionData transactionData = new TransactionData(new ArrayList<>(), new Hash(index), "source", trustScore, Instant.now(), TransactionType.Payment);
+        transactionData.setAttachmentTime(attachmentTime);
+        return transactionData;
+    }
+}
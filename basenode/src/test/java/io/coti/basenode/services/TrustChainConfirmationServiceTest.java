@@ -0,0 +1,121 @@
+package io.coti.basenode.services;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TccInfo;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.data.TransactionType;
+import io.coti.basenode.model.Transactions;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.*;
+
+public class TrustChainConfirmationServiceTest {
+
+    private static final int THRESHOLD = 100;
+    private final Map<Hash, TransactionData> storedTransactions = new HashMap<>();
+
+    @Test
+    public void addTransaction_childConfirmedBeforeParentAdded_confirmsParent() {
+        TransactionData parent = createTransaction(0, 10);
+        TransactionData child = createTransaction(1, 100);
+        addChild(parent, child);
+        TrustChainConfirmationService trustChainConfirmationService = createTrustChainConfirmationService();
+
+        List<TccInfo> childConfirmations = trustChainConfirmationService.addTransaction(child);
+        List<TccInfo> parentConfirmations = trustChainConfirmationService.addTransaction(parent);
+
+        Assert.assertEquals(Collections.singletonList(child.getHash()), getHashes(childConfirmations));
+        Assert.assertEquals(Collections.singletonList(parent.getHash()), getHashes(parentConfirmations));
+        Assert.assertEquals(110, parentConfirmations.get(0).getTrustChainTrustScore(), 0);
+    }
+
+    @Test
+    public void addTransaction_confirmedChildPersisted_readsScoreFromDatabase() {
+        TransactionData parent = createTransaction(0, 10);
+        TransactionData child = createTransaction(1, 100);
+        addChild(parent, child);
+        TrustChainConfirmationService trustChainConfirmationService = createTrustChainConfirmationService();
+
+        TccInfo childConfirmation = trustChainConfirmationService.addTransaction(child).get(0);
+        child.setTrustChainConsensus(true);
+        child.setTrustChainTrustScore(childConfirmation.getTrustChainTrustScore());
+        trustChainConfirmationService.removeConfirmedTransaction(child.getHash());
+
+        Assert.assertEquals(Collections.singletonList(parent.getHash()), getHashes(trustChainConfirmationService.addTransaction(parent)));
+    }
+
+    @Test
+    public void addTransaction_shuffledInsertionOrder_confirmsSameTransactions() {
+        Random random = new Random(1);
+        List<TransactionData> transactionDataList = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            TransactionData transactionData = createTransaction(i, random.nextInt(20) + 1);
+            if (i > 0) {
+                addChild(transactionDataList.get(Math.max(0, i - 1 - random.nextInt(10))), transactionData);
+                addChild(transactionDataList.get(Math.max(0, i - 1 - random.nextInt(10))), transactionData);
+            }
+            transactionDataList.add(transactionData);
+        }
+        List<TransactionData> childrenFirstTransactions = new ArrayList<>(transactionDataList);
+        Collections.reverse(childrenFirstTransactions);
+        Set<Hash> expectedConfirmedHashes = addTransactions(childrenFirstTransactions);
+
+        Assert.assertFalse(expectedConfirmedHashes.isEmpty());
+        Assert.assertTrue(expectedConfirmedHashes.size() < transactionDataList.size());
+        for (int i = 0; i < 10; i++) {
+            List<TransactionData> shuffledTransactions = new ArrayList<>(transactionDataList);
+            Collections.shuffle(shuffledTransactions, random);
+            Assert.assertEquals(expectedConfirmedHashes, addTransactions(shuffledTransactions));
+        }
+    }
+
+    private Set<Hash> addTransactions(List<TransactionData> transactionDataList) {
+        TrustChainConfirmationService trustChainConfirmationService = createTrustChainConfirmationService();
+        Set<Hash> confirmedHashes = new HashSet<>();
+        transactionDataList.forEach(transactionData -> {
+            List<Hash> hashes = getHashes(trustChainConfirmationService.addTransaction(transactionData));
+            hashes.forEach(hash -> Assert.assertTrue(confirmedHashes.add(hash)));
+        });
+        return confirmedHashes;
+    }
+
+    private TrustChainConfirmationService createTrustChainConfirmationService() {
+        TrustChainConfirmationService trustChainConfirmationService = new TrustChainConfirmationService();
+        ReflectionTestUtils.setField(trustChainConfirmationService, "threshold", THRESHOLD);
+        ReflectionTestUtils.setField(trustChainConfirmationService, "transactions", new Transactions() {
+            @Override
+            public TransactionData getByHash(Hash hash) {
+                return storedTransactions.get(hash);
+            }
+        });
+        return trustChainConfirmationService;
+    }
+
+    private TransactionData createTransaction(int index, double senderTrustScore) {
+        TransactionData transactionData = new TransactionData(new ArrayList<>(), new Hash(index), "test", senderTrustScore, Instant.now(), TransactionType.Payment);
+        transactionData.setChildrenTransactionHashes(new ArrayList<>());
+        storedTransactions.put(transactionData.getHash(), transactionData);
+        return transactionData;
+    }
+
+    private void addChild(TransactionData parentTransactionData, TransactionData childTransactionData) {
+        if (parentTransactionData.getChildrenTransactionHashes().contains(childTransactionData.getHash())) {
+            return;
+        }
+        parentTransactionData.getChildrenTransactionHashes().add(childTransactionData.getHash());
+        if (childTransactionData.getLeftParentHash() == null) {
+            childTransactionData.setLeftParentHash(parentTransactionData.getHash());
+        } else {
+            childTransactionData.setRightParentHash(parentTransactionData.getHash());
+        }
+    }
+
+    private List<Hash> getHashes(List<TccInfo> tccInfos) {
+        List<Hash> hashes = new ArrayList<>();
+        tccInfos.forEach(tccInfo -> hashes.add(tccInfo.getHash()));
+        return hashes;
+    }
+}
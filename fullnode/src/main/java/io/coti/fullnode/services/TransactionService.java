@@ -3,7 +3,6 @@ package io.coti.fullnode.services;
 import com.dictiography.collections.IndexedNavigableSet;
 import com.dictiography.collections.IndexedTreeSet;
 import io.coti.basenode.crypto.TransactionCrypto;
-import io.coti.basenode.data.AddressTransactionsHistory;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.ReducedTransactionData;
 import io.coti.basenode.data.TransactionData;
@@ -17,7 +16,7 @@ import io.coti.basenode.http.data.TransactionResponseData;
 import io.coti.basenode.http.data.TransactionStatus;
 import io.coti.basenode.http.data.interfaces.ITransactionResponseData;
 import io.coti.basenode.http.interfaces.IResponse;
-import io.coti.basenode.model.AddressTransactionsHistories;
+import io.coti.basenode.model.AddressTransactions;
 import io.coti.basenode.model.Transactions;
 import io.coti.basenode.services.BaseNodeTransactionService;
 import io.coti.basenode.services.interfaces.IChunkService;
@@ -62,7 +61,7 @@ public class TransactionService extends BaseNodeTransactionService {
     @Autowired
     private IClusterService clusterService;
     @Autowired
-    private AddressTransactionsHistories addressTransactionHistories;
+    private AddressTransactions addressTransactions;
     @Autowired
     private Transactions transactions;
     @Autowired
@@ -293,13 +292,9 @@ public class TransactionService extends BaseNodeTransactionService {
 
     public ResponseEntity<IResponse> getAddressTransactions(Hash addressHash) {
         List<TransactionData> transactionsDataList = new ArrayList<>();
-        AddressTransactionsHistory addressTransactionsHistory = addressTransactionHistories.getByHash(addressHash);
 
         try {
-            if (addressTransactionsHistory == null) {
-                return ResponseEntity.status(HttpStatus.OK).body(new GetAddressTransactionHistoryResponse(transactionsDataList));
-            }
-            addressTransactionsHistory.getTransactionsHistory().forEach(transactionHash -> {
+            addressTransactions.forEachTransactionHash(addressHash, transactionHash -> {
                 TransactionData transactionData = transactions.getByHash(transactionHash);
                 transactionsDataList.add(transactionData);
             });
@@ -320,14 +315,11 @@ public class TransactionService extends BaseNodeTransactionService {
             chunkService.startOfChunk(output);
 
             AtomicBoolean firstTransactionSent = new AtomicBoolean(false);
-            addressHashList.forEach(addressHash -> {
-                AddressTransactionsHistory addressTransactionsHistory = addressTransactionHistories.getByHash(addressHash);
-                if (addressTransactionsHistory != null) {
-                    addressTransactionsHistory.getTransactionsHistory().forEach(transactionHash ->
+            addressHashList.forEach(addressHash ->
+                    addressTransactions.forEachTransactionHash(addressHash, transactionHash ->
                             sendTransactionResponse(transactionHash, firstTransactionSent, output, addressHash, reduced)
-                    );
-                }
-            });
+                    )
+            );
             chunkService.endOfChunk(output);
         } catch (Exception e) {
             log.error("Error sending address transaction batch");
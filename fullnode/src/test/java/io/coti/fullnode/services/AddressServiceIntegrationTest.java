@@ -5,6 +5,7 @@ import io.coti.basenode.crypto.GetHistoryAddressesRequestCrypto;
 import io.coti.basenode.crypto.GetHistoryAddressesResponseCrypto;
 import io.coti.basenode.crypto.NodeCryptoHelper;
 import io.coti.basenode.data.*;
+import io.coti.basenode.database.BaseNodeEntityCodec;
 import io.coti.basenode.database.interfaces.IDatabaseConnector;
 import io.coti.basenode.http.HttpJacksonSerializer;
 import io.coti.basenode.model.Addresses;
@@ -33,7 +34,7 @@ import static org.mockito.Mockito.when;
 
 @ContextConfiguration(classes = {AddressService.class, IDatabaseConnector.class,
         HttpJacksonSerializer.class, GetHistoryAddressesRequestCrypto.class, CryptoHelper.class, NodeCryptoHelper.class,
-        GetHistoryAddressesResponseCrypto.class, IDatabaseConnector.class, RocksDBConnector.class,
+        GetHistoryAddressesResponseCrypto.class, IDatabaseConnector.class, RocksDBConnector.class, BaseNodeEntityCodec.class,
         /*IPropagationPublisher.class, ZeroMQPropagationPublisher.class, ISerializer.class, JacksonSerializer.class, CommunicationService.class,
         IReceiver.class*/})
 @TestPropertySource(locations = "classpath:test.properties")
@@ -18,7 +18,7 @@ import java.util.function.Consumer;
 @Slf4j
 public class ChunkService extends BaseNodeChunkService {
 
-    private static final int MAXIMUM_BUFFER_SIZE = 50000;
+    private static final int MAXIMUM_RECORD_SIZE = 64 * 1024 * 1024;
 
     public void transactionHandler(Consumer<ResponseExtractor> extractorConsumer, PrintWriter output) {
         try {
@@ -43,7 +43,7 @@ public class ChunkService extends BaseNodeChunkService {
                 } catch (Exception e) {
                     throw new ChunkException(e.getMessage());
                 }
-            }, MAXIMUM_BUFFER_SIZE));
+            }, MAXIMUM_RECORD_SIZE));
         } catch (Exception e) {
             log.error("{}: {}", e.getClass().getName(), e.getMessage());
         }
@@ -39,7 +39,7 @@ import static io.coti.basenode.http.BaseNodeHttpStringConstants.STATUS_ERROR;
 @Service
 public class TransactionService extends BaseNodeTransactionService {
 
-    private static final String END_POINT_RETRIEVE = "/transactions/reactive";
+    private static final String END_POINT_RETRIEVE = "/transactions";
     @Value("${storage.server.address}")
     protected String storageServerAddress;
     @Autowired
@@ -1,16 +1,21 @@
 package io.coti.historynode.services;
 
 import io.coti.basenode.communication.JacksonSerializer;
+import io.coti.basenode.crypto.BalanceSnapshotCrypto;
 import io.coti.basenode.crypto.ExpandedTransactionTrustScoreCrypto;
 import io.coti.basenode.crypto.NodeCryptoHelper;
 import io.coti.basenode.crypto.TransactionCrypto;
 import io.coti.basenode.crypto.TransactionSenderCrypto;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.database.BaseNodeEntityCodec;
 import io.coti.basenode.database.BaseNodeRocksDBConnector;
 import io.coti.basenode.database.interfaces.IDatabaseConnector;
 import io.coti.basenode.http.HttpJacksonSerializer;
+import io.coti.basenode.model.AddressTransactions;
 import io.coti.basenode.model.AddressTransactionsHistories;
+import io.coti.basenode.model.AccumulatedHashCheckpoints;
+import io.coti.basenode.model.BalanceSnapshots;
 import io.coti.basenode.model.TransactionIndexes;
 import io.coti.basenode.model.Transactions;
 import io.coti.basenode.services.*;
@@ -58,14 +63,15 @@ import static utils.TransactionTestUtils.generateRandomHash;
 @ContextConfiguration(classes = {TransactionService.class,
         Transactions.class,
         AddressTransactionsByDates.class, AddressTransactionsByAddresses.class,
-        IDatabaseConnector.class, BaseNodeRocksDBConnector.class, TransactionService.class,
+        IDatabaseConnector.class, BaseNodeRocksDBConnector.class, BaseNodeEntityCodec.class, TransactionService.class,
         GetTransactionsByAddressRequestCrypto.class, TransactionHelper.class, StorageConnector.class,
-        AddressTransactionsHistories.class, TransactionCrypto.class, NodeCryptoHelper.class, BaseNodeBalanceService.class,
+        AddressTransactionsHistories.class, AddressTransactions.class, TransactionCrypto.class, NodeCryptoHelper.class, BaseNodeBalanceService.class,
         BaseNodeConfirmationService.class, LiveViewService.class, TransactionIndexService.class, TransactionIndexes.class,
         ClusterService.class, JacksonSerializer.class, ChunkService.class, HttpJacksonSerializer.class, NodeCryptoHelper.class,
         ExpandedTransactionTrustScoreCrypto.class, BaseNodeValidationService.class, TransactionSenderCrypto.class, BaseNodePotService.class,
         LiveViewService.class, ClusterService.class, SimpMessagingTemplate.class, MessageChannel.class, SourceSelector.class,
-        TrustChainConfirmationService.class, ClusterHelper.class
+        TrustChainConfirmationService.class, ClusterHelper.class, BalanceSnapshotService.class, BalanceSnapshots.class, BalanceSnapshotCrypto.class,
+        AccumulatedHashCheckpointService.class, AccumulatedHashCheckpoints.class
 })
 @TestPropertySource(locations = "classpath:test.properties")
 @RunWith(SpringRunner.class)
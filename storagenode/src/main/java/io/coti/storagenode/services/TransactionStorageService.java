@@ -1,5 +1,6 @@
 package io.coti.storagenode.services;
 
+import io.coti.basenode.communication.RecordStreamWriter;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TransactionData;
 import io.coti.basenode.http.GetHistoryTransactionsRequest;
@@ -10,12 +11,13 @@ import io.coti.storagenode.data.enums.ElasticSearchData;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.ListUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.FluxSink;
 
 import javax.annotation.PostConstruct;
 import javax.servlet.http.HttpServletResponse;
-import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
@@ -28,6 +30,10 @@ public class TransactionStorageService extends EntityStorageService {
     private static final int POOL_MAX_SIZE = 20;
     @Autowired
     private BaseNodeValidationService validationService;
+    @Value("${transaction.batch.flush.records:1000}")
+    private int transactionBatchFlushRecords;
+    @Value("${transaction.batch.flush.bytes:1048576}")
+    private long transactionBatchFlushBytes;
 
     @PostConstruct
     public void init() {
@@ -76,18 +82,19 @@ public class TransactionStorageService extends EntityStorageService {
 
             int uncompletedTransactionCounter = transactionHashes.size();
 
-            OutputStream output = response.getOutputStream();
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            RecordStreamWriter output = new RecordStreamWriter(response.getOutputStream(), transactionBatchFlushRecords, transactionBatchFlushBytes);
 
             while (!Thread.currentThread().isInterrupted() && uncompletedTransactionCounter > 0) {
                 try {
                     GetHashToPropagatable<TransactionData> getHashToTransactionData = retrievedTransactionQueue.take();
-                    output.write(jacksonSerializer.serialize(getHashToTransactionData));
-                    output.flush();
+                    output.writeRecord(jacksonSerializer.serialize(getHashToTransactionData));
                     uncompletedTransactionCounter--;
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                 }
             }
+            output.flush();
 
             executorPool.shutdown();
             try {
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TransactionData;
 import io.coti.basenode.data.TransactionType;
+import io.coti.basenode.database.BaseNodeEntityCodec;
 import io.coti.basenode.database.BaseNodeRocksDBConnector;
 import io.coti.trustscore.data.Buckets.BucketTransactionEventsData;
 import io.coti.trustscore.data.Enums.UserType;
@@ -40,7 +41,7 @@ import static io.coti.trustscore.utils.MathCalculation.ifTwoNumbersAreEqualOrAlm
 @SpringBootTest
 @ContextConfiguration(classes = {BucketTransactionService.class,
         BucketTransactionsCalculator.class,
-        BaseNodeRocksDBConnector.class,
+        BaseNodeRocksDBConnector.class, BaseNodeEntityCodec.class,
         BucketTransactionService.class,
         BucketTransactionEvents.class
 })
@@ -1,5 +1,6 @@
 package io.coti.trustscore;
 
+import io.coti.basenode.database.BaseNodeEntityCodec;
 import io.coti.basenode.database.BaseNodeRocksDBConnector;
 import io.coti.trustscore.config.rules.RulesData;
 import io.coti.trustscore.config.rules.TransactionEventsScore;
@@ -27,7 +28,7 @@ import static io.coti.trustscore.testutils.GeneralUtilsFunctions.isTrustScoreVal
 
 @ContextConfiguration(classes = {
         BucketTransactionsCalculator.class,
-        BaseNodeRocksDBConnector.class,
+        BaseNodeRocksDBConnector.class, BaseNodeEntityCodec.class,
         BucketTransactionService.class,
 })
 @TestPropertySource(locations = "classpath:test.properties")
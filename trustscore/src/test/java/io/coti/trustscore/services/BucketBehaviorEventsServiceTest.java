@@ -1,5 +1,6 @@
 package io.coti.trustscore.services;
 
+import io.coti.basenode.database.BaseNodeEntityCodec;
 import io.coti.basenode.database.BaseNodeRocksDBConnector;
 import io.coti.trustscore.data.Buckets.BucketBehaviorEventsData;
 import io.coti.trustscore.data.Enums.BehaviorEventsScoreType;
@@ -30,7 +31,7 @@ import static io.coti.trustscore.utils.DatesCalculation.decreaseTodayDateByDays;
 @RunWith(SpringRunner.class)
 @SpringBootTest
 @ContextConfiguration(classes = {BucketBehaviorEventsService.class,
-        BaseNodeRocksDBConnector.class
+        BaseNodeRocksDBConnector.class, BaseNodeEntityCodec.class
 })
 public class BucketBehaviorEventsServiceTest {
 
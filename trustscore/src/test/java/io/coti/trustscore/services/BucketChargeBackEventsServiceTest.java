@@ -3,6 +3,7 @@ package io.coti.trustscore.services;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TransactionData;
 import io.coti.basenode.data.TransactionType;
+import io.coti.basenode.database.BaseNodeEntityCodec;
 import io.coti.basenode.database.BaseNodeRocksDBConnector;
 import io.coti.trustscore.data.Buckets.BucketChargeBackEventsData;
 import io.coti.trustscore.data.Enums.EventType;
@@ -34,7 +35,7 @@ import static io.coti.trustscore.utils.DatesCalculation.decreaseTodayDateByDays;
 @RunWith(SpringRunner.class)
 @SpringBootTest
 @ContextConfiguration(classes = {BucketChargeBackEventsService.class,
-        BaseNodeRocksDBConnector.class
+        BaseNodeRocksDBConnector.class, BaseNodeEntityCodec.class
 })
 
 @Slf4j
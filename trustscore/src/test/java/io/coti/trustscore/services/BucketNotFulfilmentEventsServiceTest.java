@@ -1,5 +1,6 @@
 package io.coti.trustscore.services;
 
+import io.coti.basenode.database.BaseNodeEntityCodec;
 import io.coti.basenode.database.BaseNodeRocksDBConnector;
 import io.coti.trustscore.data.Buckets.BucketNotFulfilmentEventsData;
 import io.coti.trustscore.data.Enums.CompensableEventScoreType;
@@ -24,7 +25,7 @@ import static io.coti.trustscore.testutils.GeneralUtilsFunctions.generateRandomH
 @RunWith(SpringRunner.class)
 @SpringBootTest
 @ContextConfiguration(classes = {BucketNotFulfilmentEventsService.class,
-        BaseNodeRocksDBConnector.class
+        BaseNodeRocksDBConnector.class, BaseNodeEntityCodec.class
 })
 public class BucketNotFulfilmentEventsServiceTest {
 
@@ -15,8 +15,6 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
 import java.util.LinkedList;
-import java.util.List;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
@@ -60,17 +58,9 @@ public class SourceStarvationService {
             }
         }
 
-        List<Set<TransactionData>> sourceListsByTrustScore = clusterService.getSourceListsByTrustScore();
-        boolean isTrustScoreRangeContainsSource = false;
-        for (int i = 1; i <= 100; i++) {
-            if (!sourceListsByTrustScore.get(i).isEmpty()) {
-                isTrustScoreRangeContainsSource = true;
-            }
-            if (i % 10 == 0) {
-                if (!isTrustScoreRangeContainsSource) {
-                    transactionCreationService.createNewGenesisZeroSpendTransaction(i);
-                }
-                isTrustScoreRangeContainsSource = false;
+        for (int i = 10; i <= 100; i += 10) {
+            if (clusterService.getSourceCount(i - 9, i) == 0) {
+                transactionCreationService.createNewGenesisZeroSpendTransaction(i);
             }
         }
     }